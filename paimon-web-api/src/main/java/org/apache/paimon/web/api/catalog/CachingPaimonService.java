@@ -0,0 +1,425 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.api.catalog;
+
+import org.apache.paimon.schema.SchemaManager;
+import org.apache.paimon.table.FileStoreTable;
+import org.apache.paimon.table.Table;
+import org.apache.paimon.web.api.table.TableChange;
+import org.apache.paimon.web.api.table.metadata.TableMetadata;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PaimonService} that serves the listings of databases and tables, the existence of tables
+ * and the tables from memory.
+ *
+ * <p>Every cached listing expires after the ttl, and the least recently used entries are evicted
+ * when the cache holds more than the max size. DDL done through this service invalidates the
+ * entries it affects, so reads between DDL are served from memory. Changes made by other clients of
+ * the catalog are visible once the entries expired.
+ *
+ * <p>A cached table remembers the schema id and the latest snapshot id it was loaded with. Once it
+ * is older than the revalidate interval, it is revalidated by listing the schema ids and reading
+ * the latest snapshot hint of the table, and only reloaded from the catalog when either changed. A
+ * system table is revalidated by the ids of its data table. Cached tables expire when they were not
+ * accessed for the ttl.
+ */
+public class CachingPaimonService extends PaimonService {
+
+    private static final String SYSTEM_TABLE_SPLITTER = "$";
+
+    private final Cache<CacheKey, Object> cache;
+
+    private final Cache<CacheKey, TableHandle> tables;
+
+    private final long revalidateIntervalNanos;
+
+    private final Ticker ticker;
+
+    /** Incremented by every invalidation, a value loaded across an invalidation is not cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachingPaimonService(PaimonService service, Duration ttl, long maxSize) {
+        this(service, ttl, maxSize, Duration.ofSeconds(1));
+    }
+
+    public CachingPaimonService(
+            PaimonService service, Duration ttl, long maxSize, Duration revalidateInterval) {
+        this(service, ttl, maxSize, revalidateInterval, Ticker.systemTicker());
+    }
+
+    CachingPaimonService(
+            PaimonService service,
+            Duration ttl,
+            long maxSize,
+            Duration revalidateInterval,
+            Ticker ticker) {
+        super(service.catalog(), service.catalogName());
+        Preconditions.checkArgument(maxSize > 0, "Max size must be positive.");
+        this.cache =
+                CacheBuilder.newBuilder()
+                        .expireAfterWrite(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                        .maximumSize(maxSize)
+                        .ticker(ticker)
+                        .build();
+        this.tables =
+                CacheBuilder.newBuilder()
+                        .expireAfterAccess(ttl.toNanos(), TimeUnit.NANOSECONDS)
+                        .maximumSize(maxSize)
+                        .ticker(ticker)
+                        .build();
+        this.revalidateIntervalNanos = revalidateInterval.toNanos();
+        this.ticker = ticker;
+    }
+
+    @Override
+    public List<String> listDatabases() {
+        return get(CacheKey.databases(), () -> ImmutableList.copyOf(super.listDatabases()));
+    }
+
+    @Override
+    public List<String> listTables(String databaseName) {
+        Preconditions.checkNotNull(databaseName, "Database name cannot be null.");
+        return get(
+                CacheKey.tables(databaseName),
+                () -> ImmutableList.copyOf(super.listTables(databaseName)));
+    }
+
+    @Override
+    public boolean tableExists(String databaseName, String tableName) {
+        Preconditions.checkNotNull(databaseName, "Database name cannot be null.");
+        Preconditions.checkNotNull(tableName, "Table name cannot be null.");
+        return get(
+                CacheKey.tableExists(databaseName, tableName),
+                () -> super.tableExists(databaseName, tableName));
+    }
+
+    @Override
+    public Table getTable(String databaseName, String tableName) {
+        Preconditions.checkNotNull(databaseName, "Database name cannot be null.");
+        Preconditions.checkNotNull(tableName, "Table name cannot be null.");
+        return getTableHandle(databaseName, tableName).table;
+    }
+
+    @Override
+    public void createDatabase(String databaseName) {
+        try {
+            super.createDatabase(databaseName);
+        } finally {
+            invalidate(CacheKey.databases());
+        }
+    }
+
+    @Override
+    public void createDatabase(String databaseName, boolean ignoreIfExists) {
+        try {
+            super.createDatabase(databaseName, ignoreIfExists);
+        } finally {
+            invalidate(CacheKey.databases());
+        }
+    }
+
+    @Override
+    public void dropDatabase(String databaseName) {
+        try {
+            super.dropDatabase(databaseName);
+        } finally {
+            invalidateDatabase(databaseName);
+        }
+    }
+
+    @Override
+    public void dropDatabase(String databaseName, boolean ignoreIfNotExists) {
+        try {
+            super.dropDatabase(databaseName, ignoreIfNotExists);
+        } finally {
+            invalidateDatabase(databaseName);
+        }
+    }
+
+    @Override
+    public void dropDatabase(String databaseName, boolean ignoreIfNotExists, boolean cascade) {
+        try {
+            super.dropDatabase(databaseName, ignoreIfNotExists, cascade);
+        } finally {
+            invalidateDatabase(databaseName);
+        }
+    }
+
+    @Override
+    public void createTable(String databaseName, String tableName, TableMetadata tableMetadata) {
+        try {
+            super.createTable(databaseName, tableName, tableMetadata);
+        } finally {
+            invalidateTable(databaseName, tableName);
+        }
+    }
+
+    @Override
+    public void dropTable(String databaseName, String tableName) {
+        try {
+            super.dropTable(databaseName, tableName);
+        } finally {
+            invalidateTable(databaseName, tableName);
+        }
+    }
+
+    @Override
+    public void renameTable(String databaseName, String fromTable, String toTable) {
+        try {
+            super.renameTable(databaseName, fromTable, toTable);
+        } finally {
+            invalidateTable(databaseName, fromTable);
+            invalidateTable(databaseName, toTable);
+        }
+    }
+
+    @Override
+    public void alterTable(String databaseName, String tableName, List<TableChange> tableChanges) {
+        try {
+            super.alterTable(databaseName, tableName, tableChanges);
+        } finally {
+            invalidateTable(databaseName, tableName);
+        }
+    }
+
+    /** Drops all cached entries. */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        tables.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        tables.cleanUp();
+        return cache.size() + tables.size();
+    }
+
+    private TableHandle getTableHandle(String databaseName, String tableName) {
+        CacheKey key = CacheKey.table(databaseName, tableName);
+        TableHandle handle = tables.getIfPresent(key);
+        long now = ticker.read();
+        if (handle != null) {
+            if (now - handle.validatedAt < revalidateIntervalNanos) {
+                return handle;
+            }
+            TableVersion version = currentVersion(databaseName, tableName, handle.table);
+            if (version != null && version.equals(handle.version)) {
+                handle.validatedAt = now;
+                return handle;
+            }
+        }
+
+        long loadGeneration = generation.get();
+        Table table = super.getTable(databaseName, tableName);
+        TableHandle loaded =
+                new TableHandle(table, loadedVersion(databaseName, tableName, table), now);
+        if (loadGeneration == generation.get()) {
+            tables.put(key, loaded);
+        }
+        return loaded;
+    }
+
+    /** The version of a table that was just loaded, null if it cannot be revalidated. */
+    private TableVersion loadedVersion(String databaseName, String tableName, Table table) {
+        try {
+            if (table instanceof FileStoreTable) {
+                FileStoreTable dataTable = (FileStoreTable) table;
+                return new TableVersion(
+                        dataTable.schema().id(), dataTable.snapshotManager().latestSnapshotId());
+            }
+            return systemTableVersion(databaseName, tableName);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** The current version of a cached table in the warehouse, null if it cannot be determined. */
+    private TableVersion currentVersion(String databaseName, String tableName, Table table) {
+        try {
+            if (table instanceof FileStoreTable) {
+                FileStoreTable dataTable = (FileStoreTable) table;
+                List<Long> schemaIds =
+                        new SchemaManager(dataTable.fileIO(), dataTable.location()).listAllIds();
+                return schemaIds.isEmpty()
+                        ? null
+                        : new TableVersion(
+                                Collections.max(schemaIds),
+                                dataTable.snapshotManager().latestSnapshotId());
+            }
+            return systemTableVersion(databaseName, tableName);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private TableVersion systemTableVersion(String databaseName, String tableName) {
+        int separator = tableName.indexOf(SYSTEM_TABLE_SPLITTER);
+        if (separator <= 0) {
+            return null;
+        }
+        return getTableHandle(databaseName, tableName.substring(0, separator)).version;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(CacheKey key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long loadGeneration = generation.get();
+        T value = loader.get();
+        if (value != null && loadGeneration == generation.get()) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    private void invalidate(CacheKey key) {
+        generation.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    private void invalidateTable(String databaseName, String tableName) {
+        generation.incrementAndGet();
+        cache.invalidate(CacheKey.tables(databaseName));
+        cache.invalidate(CacheKey.tableExists(databaseName, tableName));
+        tables.asMap()
+                .keySet()
+                .removeIf(
+                        key ->
+                                Objects.equals(key.database, databaseName)
+                                        && (key.table.equals(tableName)
+                                                || key.table.startsWith(
+                                                        tableName + SYSTEM_TABLE_SPLITTER)));
+    }
+
+    private void invalidateDatabase(String databaseName) {
+        generation.incrementAndGet();
+        cache.invalidate(CacheKey.databases());
+        cache.asMap().keySet().removeIf(key -> Objects.equals(key.database, databaseName));
+        tables.asMap().keySet().removeIf(key -> Objects.equals(key.database, databaseName));
+    }
+
+    /** The schema id and latest snapshot id of a table. */
+    private static class TableVersion {
+
+        private final long schemaId;
+        private final Long snapshotId;
+
+        private TableVersion(long schemaId, Long snapshotId) {
+            this.schemaId = schemaId;
+            this.snapshotId = snapshotId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TableVersion that = (TableVersion) o;
+            return schemaId == that.schemaId && Objects.equals(snapshotId, that.snapshotId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(schemaId, snapshotId);
+        }
+    }
+
+    /** A cached table with the version it was loaded with. */
+    private static class TableHandle {
+
+        private final Table table;
+        private final TableVersion version;
+        private volatile long validatedAt;
+
+        private TableHandle(Table table, TableVersion version, long validatedAt) {
+            this.table = table;
+            this.version = version;
+            this.validatedAt = validatedAt;
+        }
+    }
+
+    /** The key of a cached entry. */
+    private static class CacheKey {
+
+        private final String kind;
+        private final String database;
+        private final String table;
+
+        private CacheKey(String kind, String database, String table) {
+            this.kind = kind;
+            this.database = database;
+            this.table = table;
+        }
+
+        private static CacheKey databases() {
+            return new CacheKey("databases", null, null);
+        }
+
+        private static CacheKey tables(String database) {
+            return new CacheKey("tables", database, null);
+        }
+
+        private static CacheKey tableExists(String database, String table) {
+            return new CacheKey("table-exists", database, table);
+        }
+
+        private static CacheKey table(String database, String table) {
+            return new CacheKey("table", database, table);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return kind.equals(that.kind)
+                    && Objects.equals(database, that.database)
+                    && Objects.equals(table, that.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, database, table);
+        }
+    }
+}
@@ -40,7 +40,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /** Paimon service. */
-public class PaimonService {
+public class PaimonService implements AutoCloseable {
     private final Catalog catalog;
 
     private final String name;
@@ -58,6 +58,15 @@ public class PaimonService {
         return name;
     }
 
+    /**
+     * Closes the underlying catalog and releases the resources it holds, such as the file io or the
+     * hive metastore client.
+     */
+    @Override
+    public void close() throws Exception {
+        catalog.close();
+    }
+
     public List<String> listDatabases() {
         return catalog.listDatabases();
     }
@@ -237,10 +246,6 @@ public class PaimonService {
         Preconditions.checkNotNull(databaseName, "Database name cannot be null.");
         Preconditions.checkNotNull(tableName, "Table name cannot be null.");
 
-        if (!tableExists(databaseName, tableName)) {
-            return;
-        }
-
         Identifier identifier = Identifier.create(databaseName, tableName);
 
         List<SchemaChange> changes = new ArrayList<>();
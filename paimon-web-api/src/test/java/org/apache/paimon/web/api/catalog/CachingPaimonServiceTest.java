@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.api.catalog;
+
+import org.apache.paimon.data.BinaryString;
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.table.Table;
+import org.apache.paimon.table.sink.BatchTableCommit;
+import org.apache.paimon.table.sink.BatchTableWrite;
+import org.apache.paimon.table.sink.BatchWriteBuilder;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.web.api.exception.TableException;
+import org.apache.paimon.web.api.table.TableChange;
+import org.apache.paimon.web.api.table.metadata.ColumnMetadata;
+import org.apache.paimon.web.api.table.metadata.TableMetadata;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/** The test class of {@link CachingPaimonService}. */
+public class CachingPaimonServiceTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private static final Duration REVALIDATE_INTERVAL = Duration.ofSeconds(1);
+
+    private final String db = "test_default_db";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @TempDir private Path tempFile;
+
+    private PaimonService other;
+
+    private CachingPaimonService service;
+
+    @BeforeEach
+    public void before() {
+        String warehouse = tempFile.toUri().toString();
+        other =
+                PaimonServiceFactory.createFileSystemCatalogService(
+                        "paimon", warehouse, new HashMap<>());
+        Ticker ticker =
+                new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanos.get();
+                    }
+                };
+        service =
+                new CachingPaimonService(
+                        PaimonServiceFactory.createFileSystemCatalogService(
+                                "paimon", warehouse, new HashMap<>()),
+                        TTL,
+                        100,
+                        REVALIDATE_INTERVAL,
+                        ticker);
+        service.createDatabase(db);
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        service.close();
+        other.close();
+    }
+
+    @Test
+    public void testReadsServedFromCache() {
+        createTable(service, "tb1");
+        assertThat(service.listTables(db)).containsExactly("tb1");
+        Table table = service.getTable(db, "tb1");
+
+        // Changes of other clients are not visible before the entries expire.
+        createTable(other, "tb2");
+        assertThat(service.listTables(db)).containsExactly("tb1");
+
+        nanos.addAndGet(TTL.toNanos());
+        assertThat(service.listTables(db)).containsExactlyInAnyOrder("tb1", "tb2");
+    }
+
+    @Test
+    public void testRevalidateTable() throws Exception {
+        createTable(service, "tb1");
+        Table table = service.getTable(db, "tb1");
+        Table snapshots = service.getTable(db, "tb1$snapshots");
+
+        // An unchanged table stays cached after revalidation.
+        nanos.addAndGet(REVALIDATE_INTERVAL.toNanos());
+        assertThat(service.getTable(db, "tb1")).isSameAs(table);
+        assertThat(service.getTable(db, "tb1$snapshots")).isSameAs(snapshots);
+
+        // A new snapshot is seen after the revalidate interval.
+        write(other.getTable(db, "tb1"));
+        assertThat(service.getTable(db, "tb1")).isSameAs(table);
+        nanos.addAndGet(REVALIDATE_INTERVAL.toNanos());
+        Table written = service.getTable(db, "tb1");
+        assertThat(written).isNotSameAs(table);
+        assertThat(service.getTable(db, "tb1$snapshots")).isNotSameAs(snapshots);
+
+        // So is a new schema.
+        other.alterTable(
+                db,
+                "tb1",
+                Collections.singletonList(TableChange.set("snapshot.num-retained.max", "50")));
+        nanos.addAndGet(REVALIDATE_INTERVAL.toNanos());
+        Table altered = service.getTable(db, "tb1");
+        assertThat(altered).isNotSameAs(written);
+        assertThat(altered.options()).containsEntry("snapshot.num-retained.max", "50");
+    }
+
+    @Test
+    public void testInvalidateByTableDdl() {
+        assertThat(service.tableExists(db, "tb1")).isFalse();
+        assertThat(service.listTables(db)).isEmpty();
+
+        createTable(service, "tb1");
+        assertThat(service.tableExists(db, "tb1")).isTrue();
+        assertThat(service.listTables(db)).containsExactly("tb1");
+
+        Table table = service.getTable(db, "tb1");
+        service.alterTable(
+                db,
+                "tb1",
+                Collections.singletonList(TableChange.set("snapshot.num-retained.max", "50")));
+        Table altered = service.getTable(db, "tb1");
+        assertThat(altered).isNotSameAs(table);
+        assertThat(altered.options()).containsEntry("snapshot.num-retained.max", "50");
+
+        service.renameTable(db, "tb1", "tb2");
+        assertThat(service.tableExists(db, "tb1")).isFalse();
+        assertThat(service.listTables(db)).containsExactly("tb2");
+
+        service.dropTable(db, "tb2");
+        assertThat(service.tableExists(db, "tb2")).isFalse();
+        assertThat(service.listTables(db)).isEmpty();
+    }
+
+    @Test
+    public void testAlterTableCreatedByOtherClient() {
+        assertThat(service.tableExists(db, "tb1")).isFalse();
+        createTable(other, "tb1");
+
+        service.alterTable(
+                db,
+                "tb1",
+                Collections.singletonList(TableChange.set("snapshot.num-retained.max", "50")));
+        assertThat(service.tableExists(db, "tb1")).isTrue();
+        assertThat(other.getTable(db, "tb1").options())
+                .containsEntry("snapshot.num-retained.max", "50");
+    }
+
+    @Test
+    public void testAlterTableDroppedByOtherClient() {
+        createTable(service, "tb1");
+        assertThat(service.tableExists(db, "tb1")).isTrue();
+        other.dropTable(db, "tb1");
+
+        assertThatExceptionOfType(TableException.TableNotExistException.class)
+                .isThrownBy(
+                        () ->
+                                service.alterTable(
+                                        db,
+                                        "tb1",
+                                        Collections.singletonList(
+                                                TableChange.set("snapshot.num-retained.max", "50"))));
+        assertThat(service.tableExists(db, "tb1")).isFalse();
+    }
+
+    @Test
+    public void testInvalidateByDatabaseDdl() {
+        assertThat(service.listDatabases()).containsExactly(db);
+        service.createDatabase("db1");
+        assertThat(service.listDatabases()).containsExactlyInAnyOrder(db, "db1");
+
+        createTable(service, "tb1");
+        assertThat(service.tableExists(db, "tb1")).isTrue();
+        service.dropDatabase(db, false, true);
+        assertThat(service.listDatabases()).containsExactly("db1");
+        assertThat(service.tableExists(db, "tb1")).isFalse();
+    }
+
+    @Test
+    public void testSizeBound() {
+        for (int i = 0; i < 200; i++) {
+            service.tableExists(db, "tb" + i);
+        }
+        assertThat(service.size()).isLessThanOrEqualTo(100);
+    }
+
+    private void write(Table table) throws Exception {
+        BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+        try (BatchTableWrite write = writeBuilder.newWrite();
+                BatchTableCommit commit = writeBuilder.newCommit()) {
+            write.write(GenericRow.of(1, BinaryString.fromString("a")));
+            commit.commit(write.prepareCommit());
+        }
+    }
+
+    private void createTable(PaimonService paimonService, String tableName) {
+        List<ColumnMetadata> columns = new ArrayList<>();
+        columns.add(new ColumnMetadata("id", DataTypes.INT()));
+        columns.add(new ColumnMetadata("name", DataTypes.STRING()));
+        TableMetadata tableMetadata = TableMetadata.builder().columns(columns).build();
+        paimonService.createTable(db, tableName, tableMetadata);
+    }
+}
@@ -273,6 +273,10 @@ public class PaimonServiceTest {
         Table tb1 = service.getTable(db, "tb1");
         String bucket = tb1.options().get("bucket");
         assertThat(bucket).isEqualTo("2");
+
+        assertThatExceptionOfType(TableException.TableNotExistException.class)
+                .isThrownBy(() -> service.alterTable(db, "tb2", tableChanges))
+                .withMessage("The table 'tb2' does not exist in the database.");
     }
 
     @Test
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.executor;
+
+/**
+ * Listener of the progress of a script submitted with {@link Executor#executeSqlAsync(String,
+ * ExecutionListener)}. Statements are identified by their index in the script, the callbacks may be
+ * invoked from any thread.
+ */
+public interface ExecutionListener {
+
+    /** A listener ignoring all progress. */
+    ExecutionListener NOOP = new ExecutionListener() {};
+
+    /**
+     * Called when a statement was accepted by the engine.
+     *
+     * @param index The index of the statement in the script.
+     * @param total The number of statements of the script.
+     * @param statement The statement.
+     */
+    default void onStatementSubmitted(int index, int total, String statement) {}
+
+    /**
+     * Called when a statement finished, or for queries and jobs, when their first results are
+     * available.
+     *
+     * @param index The index of the statement in the script.
+     * @param total The number of statements of the script.
+     * @param statement The statement.
+     */
+    default void onStatementCompleted(int index, int total, String statement) {}
+}
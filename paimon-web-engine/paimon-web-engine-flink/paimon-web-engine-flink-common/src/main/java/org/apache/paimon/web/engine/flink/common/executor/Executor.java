@@ -21,6 +21,8 @@ package org.apache.paimon.web.engine.flink.common.executor;
 import org.apache.paimon.web.engine.flink.common.result.ExecutionResult;
 import org.apache.paimon.web.engine.flink.common.result.FetchResultParams;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The Executor interface provides methods to submit SQL statements for execution, fetch results,
  * and stop jobs.
@@ -36,6 +38,28 @@ public interface Executor {
      */
     ExecutionResult executeSql(String statement) throws Exception;
 
+    /**
+     * Executes an SQL statement without blocking the caller until it finished.
+     *
+     * <p>The default implementation executes the statement in the calling thread, implementations
+     * that can submit statements asynchronously override it.
+     *
+     * @param statement The SQL statement to be executed.
+     * @param listener The listener notified about the progress of the statements.
+     * @return The future of the execution result, completed exceptionally if there is an error
+     *     executing the SQL statement.
+     */
+    default CompletableFuture<ExecutionResult> executeSqlAsync(
+            String statement, ExecutionListener listener) {
+        CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+        try {
+            future.complete(executeSql(statement));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Fetches the results of a previously submitted SQL statement execution.
      *
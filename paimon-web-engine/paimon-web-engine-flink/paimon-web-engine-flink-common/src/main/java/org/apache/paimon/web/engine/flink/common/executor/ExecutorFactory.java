@@ -18,6 +18,9 @@
 
 package org.apache.paimon.web.engine.flink.common.executor;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /** Factory to create {@link Executor}. */
 public interface ExecutorFactory {
 
@@ -28,4 +31,23 @@ public interface ExecutorFactory {
      * @throws Exception if executor creation fails
      */
     Executor createExecutor() throws Exception;
+
+    /**
+     * Creates a new {@link Executor} on the given thread pool.
+     *
+     * @param asyncExecutor The thread pool creating the executor.
+     * @return The future of the new instance of {@link Executor}
+     */
+    default CompletableFuture<Executor> createExecutorAsync(
+            java.util.concurrent.Executor asyncExecutor) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return createExecutor();
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                asyncExecutor);
+    }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.paimon.web.engine.flink.common.operation;
 
+import org.apache.paimon.web.engine.flink.common.parser.SqlLexer;
+
 /**
  * This enum represents the types of operations that can be performed in Flink SQL. It includes
  * operations like SELECT, CREATE, DROP, ALTER, INSERT, etc. Each operation type is associated with
@@ -45,7 +47,10 @@ public enum FlinkSqlOperationType {
     UNLOAD("UNLOAD"),
     SET("SET"),
     RESET("RESET"),
-    CALL("CALL");
+    CALL("CALL"),
+    EXECUTE("EXECUTE");
+
+    private static final FlinkSqlOperationType[] TYPES = values();
 
     private String type;
 
@@ -64,19 +69,75 @@ public enum FlinkSqlOperationType {
     /**
      * Gets the operation type from a SQL statement.
      *
+     * <p>Only the leading keywords are scanned, skipping comments, hints and opening parentheses.
+     * The type of a statement with common table expressions ({@code WITH ... AS (...) SELECT}) is
+     * the type of its main statement.
+     *
      * @param sql the SQL statement
-     * @return the operation type
+     * @return the operation type, or null if the statement has no known operation type
      */
     public static FlinkSqlOperationType getOperationType(String sql) {
-        String sqlTrim = sql.replaceAll("[\\s\\t\\n\\r]", "").trim().toUpperCase();
-        for (FlinkSqlOperationType sqlType : FlinkSqlOperationType.values()) {
-            if (sqlTrim.startsWith(sqlType.getType())) {
+        if (sql == null) {
+            return null;
+        }
+        int start = skipParentheses(sql, 0);
+        int end = SqlLexer.wordEnd(sql, start);
+        if (SqlLexer.isKeyword(sql, start, end, "WITH")) {
+            start = skipParentheses(sql, skipCommonTableExpressions(sql, end));
+            end = SqlLexer.wordEnd(sql, start);
+        }
+        for (FlinkSqlOperationType sqlType : TYPES) {
+            if (SqlLexer.isKeyword(sql, start, end, sqlType.getType())) {
                 return sqlType;
             }
         }
         return null;
     }
 
+    private static int skipParentheses(String sql, int from) {
+        int i = SqlLexer.skipIgnored(sql, from);
+        while (i < sql.length() && sql.charAt(i) == '(') {
+            i = SqlLexer.skipIgnored(sql, i + 1);
+        }
+        return i;
+    }
+
+    /** Skips {@code [RECURSIVE] name [(columns)] AS (query) [, ...]} after the WITH keyword. */
+    private static int skipCommonTableExpressions(String sql, int from) {
+        int i = SqlLexer.skipIgnored(sql, from);
+        int end = SqlLexer.wordEnd(sql, i);
+        if (SqlLexer.isKeyword(sql, i, end, "RECURSIVE")) {
+            i = SqlLexer.skipIgnored(sql, end);
+        }
+        while (i < sql.length()) {
+            end =
+                    SqlLexer.isQuote(sql.charAt(i))
+                            ? SqlLexer.quotedEnd(sql, i)
+                            : SqlLexer.wordEnd(sql, i);
+            if (end == i) {
+                return i;
+            }
+            i = SqlLexer.skipIgnored(sql, end);
+            if (i < sql.length() && sql.charAt(i) == '(') {
+                i = SqlLexer.skipIgnored(sql, SqlLexer.groupEnd(sql, i));
+            }
+            end = SqlLexer.wordEnd(sql, i);
+            if (!SqlLexer.isKeyword(sql, i, end, "AS")) {
+                return i;
+            }
+            i = SqlLexer.skipIgnored(sql, end);
+            if (i >= sql.length() || sql.charAt(i) != '(') {
+                return i;
+            }
+            i = SqlLexer.skipIgnored(sql, SqlLexer.groupEnd(sql, i));
+            if (i >= sql.length() || sql.charAt(i) != ',') {
+                return i;
+            }
+            i = SqlLexer.skipIgnored(sql, i + 1);
+        }
+        return i;
+    }
+
     public SqlCategory getCategory() {
         switch (this) {
             case CREATE:
@@ -87,6 +148,7 @@ public enum FlinkSqlOperationType {
             case INSERT:
             case UPDATE:
             case DELETE:
+            case EXECUTE:
                 return SqlCategory.DML;
             case SELECT:
             case DESC:
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.parser;
+
+/**
+ * Scanning helpers shared by the SQL parsers. All methods take the index to start from and return
+ * the index after the scanned element without copying the statement.
+ */
+public final class SqlLexer {
+
+    private SqlLexer() {}
+
+    /** Returns whether a line comment starts at the given index. */
+    public static boolean isLineComment(String sql, int index) {
+        return index + 1 < sql.length() && sql.charAt(index) == '-' && sql.charAt(index + 1) == '-';
+    }
+
+    /** Returns whether a block comment or a hint starts at the given index. */
+    public static boolean isBlockComment(String sql, int index) {
+        return index + 1 < sql.length() && sql.charAt(index) == '/' && sql.charAt(index + 1) == '*';
+    }
+
+    /** Returns whether a hint ({@code /*+ ... *}{@code /}) starts at the given index. */
+    public static boolean isHint(String sql, int index) {
+        return isBlockComment(sql, index)
+                && index + 2 < sql.length()
+                && sql.charAt(index + 2) == '+';
+    }
+
+    /** Returns whether the character starts a string literal or a quoted identifier. */
+    public static boolean isQuote(char c) {
+        return c == '\'' || c == '"' || c == '`';
+    }
+
+    /** Returns the index of the line break ending a line comment, which is not part of it. */
+    public static int lineCommentEnd(String sql, int from) {
+        for (int i = from; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+        }
+        return sql.length();
+    }
+
+    /** Returns the index after the end of a block comment or hint starting at the given index. */
+    public static int blockCommentEnd(String sql, int from) {
+        int close = sql.indexOf("*/", from + 2);
+        return close < 0 ? sql.length() : close + 2;
+    }
+
+    /**
+     * Returns the index after the closing quote of the literal or identifier starting at the given
+     * index. A doubled quote is an escaped quote.
+     */
+    public static int quotedEnd(String sql, int from) {
+        char quote = sql.charAt(from);
+        int i = from + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    /** Returns the index of the first character that is no whitespace, comment or hint. */
+    public static int skipIgnored(String sql, int from) {
+        int i = from;
+        while (i < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            } else if (isLineComment(sql, i)) {
+                i = lineCommentEnd(sql, i + 2);
+            } else if (isBlockComment(sql, i)) {
+                i = blockCommentEnd(sql, i);
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /** Returns the index after the unquoted identifier or keyword starting at the given index. */
+    public static int wordEnd(String sql, int from) {
+        int i = from;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '$') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /** Returns whether the word between the indexes is the given keyword, ignoring case. */
+    public static boolean isKeyword(String sql, int start, int end, String keyword) {
+        return end - start == keyword.length()
+                && sql.regionMatches(true, start, keyword, 0, end - start);
+    }
+
+    /**
+     * Returns the index after the parenthesis closing the one at the given index, skipping nested
+     * parentheses, literals, quoted identifiers and comments.
+     */
+    public static int groupEnd(String sql, int from) {
+        int depth = 0;
+        int i = from;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (isQuote(c)) {
+                i = quotedEnd(sql, i);
+                continue;
+            } else if (isLineComment(sql, i)) {
+                i = lineCommentEnd(sql, i + 2);
+                continue;
+            } else if (isBlockComment(sql, i)) {
+                i = blockCommentEnd(sql, i);
+                continue;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+}
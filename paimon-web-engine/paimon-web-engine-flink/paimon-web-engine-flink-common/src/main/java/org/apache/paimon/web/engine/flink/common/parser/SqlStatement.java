@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.parser;
+
+import java.util.Objects;
+
+/** A statement of a SQL script together with its position in the script. */
+public class SqlStatement {
+
+    private final String statement;
+    private final int startOffset;
+    private final int endOffset;
+
+    public SqlStatement(String statement, int startOffset, int endOffset) {
+        this.statement = statement;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    /** Returns the statement without comments, leading and trailing whitespace. */
+    public String getStatement() {
+        return statement;
+    }
+
+    /** Returns the offset of the first character of the statement in the script. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Returns the offset after the last character of the statement in the script. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SqlStatement that = (SqlStatement) o;
+        return startOffset == that.startOffset
+                && endOffset == that.endOffset
+                && Objects.equals(statement, that.statement);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(statement, startOffset, endOffset);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + startOffset + ", " + endOffset + ") " + statement;
+    }
+}
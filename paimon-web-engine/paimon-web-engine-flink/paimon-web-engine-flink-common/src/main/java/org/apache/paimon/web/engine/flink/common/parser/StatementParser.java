@@ -18,28 +18,137 @@
 
 package org.apache.paimon.web.engine.flink.common.parser;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
-/** The parser of the SQL statement. */
+/**
+ * The parser of the SQL statement.
+ *
+ * <p>The script is scanned once. Statements end at a semicolon outside of string literals, quoted
+ * identifiers, comments and hints. Line comments ({@code --}) and block comments are removed from
+ * the statements, hints ({@code /*+ ... *}{@code /}) are kept.
+ *
+ * <p>A {@code BEGIN ... END} block, such as the one of {@code EXECUTE STATEMENT SET}, is kept as
+ * one statement together with the semicolons inside of it. {@code CASE ... END} expressions within
+ * the block are nested accordingly. A {@code BEGIN} starting a statement, as in {@code BEGIN
+ * STATEMENT SET;}, opens no block.
+ */
 public class StatementParser {
 
-    private static final String STATEMENT_SPLIT = ";\n";
-
     public static String[] parse(String statement) {
-        if (statement == null || statement.trim().isEmpty()) {
-            return new String[0];
+        List<SqlStatement> statements = split(statement);
+        String[] result = new String[statements.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = statements.get(i).getStatement();
+        }
+        return result;
+    }
+
+    /**
+     * Splits a script into its statements.
+     *
+     * @param script The SQL script.
+     * @return The non-empty statements with their offsets in the script.
+     */
+    public static List<SqlStatement> split(String script) {
+        List<SqlStatement> statements = new ArrayList<>();
+        if (script == null) {
+            return statements;
         }
 
-        String[] splits = statement.replace(";\r\n", ";\n").split(STATEMENT_SPLIT);
-        String lastStmt = splits[splits.length - 1].trim();
-        if (lastStmt.endsWith(";")) {
-            splits[splits.length - 1] = lastStmt.substring(0, lastStmt.length() - 1).trim();
+        int length = script.length();
+        // The first and after the last significant character of the current statement, -1 when
+        // the statement has none yet.
+        int start = -1;
+        int end = -1;
+        // Set once a comment was removed from the current statement, the statement is then
+        // assembled from the segments between the comments.
+        StringBuilder builder = null;
+        int segmentStart = -1;
+        // The nesting of the BEGIN ... END block and of the CASE ... END expressions in it.
+        int blockDepth = 0;
+
+        int i = 0;
+        while (i < length) {
+            char c = script.charAt(i);
+            if (SqlLexer.isLineComment(script, i)) {
+                int commentEnd = SqlLexer.lineCommentEnd(script, i + 2);
+                if (start >= 0) {
+                    builder = appendSegment(builder, script, segmentStart, i);
+                    segmentStart = commentEnd;
+                }
+                i = commentEnd;
+            } else if (SqlLexer.isBlockComment(script, i) && !SqlLexer.isHint(script, i)) {
+                int commentEnd = SqlLexer.blockCommentEnd(script, i);
+                if (start >= 0) {
+                    builder = appendSegment(builder, script, segmentStart, i).append(' ');
+                    segmentStart = commentEnd;
+                }
+                i = commentEnd;
+            } else if (c == ';' && blockDepth == 0) {
+                addStatement(statements, script, start, end, builder, segmentStart);
+                start = -1;
+                end = -1;
+                builder = null;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                if (start < 0) {
+                    start = i;
+                    segmentStart = i;
+                }
+                if (SqlLexer.isQuote(c)) {
+                    i = SqlLexer.quotedEnd(script, i);
+                } else if (Character.isLetter(c) || c == '_') {
+                    int wordEnd = SqlLexer.wordEnd(script, i);
+                    if (SqlLexer.isKeyword(script, i, wordEnd, "BEGIN") && i > start) {
+                        blockDepth++;
+                    } else if (SqlLexer.isKeyword(script, i, wordEnd, "CASE") && blockDepth > 0) {
+                        blockDepth++;
+                    } else if (SqlLexer.isKeyword(script, i, wordEnd, "END") && blockDepth > 0) {
+                        blockDepth--;
+                    }
+                    i = wordEnd;
+                } else if (SqlLexer.isHint(script, i)) {
+                    i = SqlLexer.blockCommentEnd(script, i);
+                } else {
+                    i++;
+                }
+                end = i;
+            }
         }
+        addStatement(statements, script, start, end, builder, segmentStart);
+        return statements;
+    }
 
-        for (int i = 0; i < splits.length; i++) {
-            splits[i] = splits[i].replaceAll("(?m)^[ \t]*--.*$(\r\n|\n)?", "").trim();
+    private static void addStatement(
+            List<SqlStatement> statements,
+            String script,
+            int start,
+            int end,
+            StringBuilder builder,
+            int segmentStart) {
+        if (start < 0) {
+            return;
         }
+        String statement;
+        if (builder == null) {
+            statement = script.substring(start, end);
+        } else {
+            if (segmentStart < end) {
+                builder.append(script, segmentStart, end);
+            }
+            statement = builder.toString().trim();
+        }
+        statements.add(new SqlStatement(statement, start, end));
+    }
 
-        return Arrays.stream(splits).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    private static StringBuilder appendSegment(
+            StringBuilder builder, String script, int segmentStart, int segmentEnd) {
+        if (builder == null) {
+            builder = new StringBuilder(segmentEnd - segmentStart + 16);
+        }
+        return builder.append(script, segmentStart, segmentEnd);
     }
 }
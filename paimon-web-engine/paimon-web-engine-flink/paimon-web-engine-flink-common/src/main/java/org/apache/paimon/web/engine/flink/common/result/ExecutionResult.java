@@ -32,6 +32,8 @@ public class ExecutionResult implements Serializable {
     private final String jobId;
     private final String status;
     private final List<Map<String, Object>> data;
+    private final List<ResultColumn> columns;
+    private final List<List<Object>> rows;
     private final boolean shouldFetchResult;
 
     private ExecutionResult(
@@ -39,11 +41,15 @@ public class ExecutionResult implements Serializable {
             String jobId,
             String status,
             List<Map<String, Object>> data,
+            List<ResultColumn> columns,
+            List<List<Object>> rows,
             boolean shouldFetchResult) {
         this.submitId = submitId;
         this.jobId = jobId;
         this.status = status;
         this.data = data;
+        this.columns = columns;
+        this.rows = rows;
         this.shouldFetchResult = shouldFetchResult;
     }
 
@@ -63,6 +69,16 @@ public class ExecutionResult implements Serializable {
         return data;
     }
 
+    /** Returns the columns of a {@link ResultFormat#COMPACT} result. */
+    public List<ResultColumn> getColumns() {
+        return columns;
+    }
+
+    /** Returns the rows of a {@link ResultFormat#COMPACT} result, values in column order. */
+    public List<List<Object>> getRows() {
+        return rows;
+    }
+
     public boolean shouldFetchResult() {
         return shouldFetchResult;
     }
@@ -78,6 +94,8 @@ public class ExecutionResult implements Serializable {
         private String jobId;
         private String status;
         private List<Map<String, Object>> data = new ArrayList<>();
+        private List<ResultColumn> columns = new ArrayList<>();
+        private List<List<Object>> rows = new ArrayList<>();
         private boolean shouldFetchResult;
 
         public Builder submitId(String submitId) {
@@ -105,13 +123,24 @@ public class ExecutionResult implements Serializable {
             return this;
         }
 
+        public Builder columns(List<ResultColumn> columns) {
+            this.columns = columns;
+            return this;
+        }
+
+        public Builder rows(List<List<Object>> rows) {
+            this.rows = rows;
+            return this;
+        }
+
         public Builder shouldFetchResult(boolean shouldFetchResult) {
             this.shouldFetchResult = shouldFetchResult;
             return this;
         }
 
         public ExecutionResult build() {
-            return new ExecutionResult(submitId, jobId, status, data, shouldFetchResult);
+            return new ExecutionResult(
+                    submitId, jobId, status, data, columns, rows, shouldFetchResult);
         }
     }
 }
@@ -24,11 +24,14 @@ public class FetchResultParams {
     private final String sessionId;
     private final String submitId;
     private final Long token;
+    private final ResultFormat resultFormat;
 
-    private FetchResultParams(String sessionId, String submitId, Long token) {
+    private FetchResultParams(
+            String sessionId, String submitId, Long token, ResultFormat resultFormat) {
         this.sessionId = sessionId;
         this.submitId = submitId;
         this.token = token;
+        this.resultFormat = resultFormat;
     }
 
     public String getSessionId() {
@@ -43,6 +46,10 @@ public class FetchResultParams {
         return token;
     }
 
+    public ResultFormat getResultFormat() {
+        return resultFormat;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -52,6 +59,7 @@ public class FetchResultParams {
         private String sessionId;
         private String submitId;
         private Long token;
+        private ResultFormat resultFormat = ResultFormat.OBJECT;
 
         public Builder sessionId(String sessionId) {
             this.sessionId = sessionId;
@@ -68,8 +76,13 @@ public class FetchResultParams {
             return this;
         }
 
+        public Builder resultFormat(ResultFormat resultFormat) {
+            this.resultFormat = resultFormat;
+            return this;
+        }
+
         public FetchResultParams build() {
-            return new FetchResultParams(sessionId, submitId, token);
+            return new FetchResultParams(sessionId, submitId, token, resultFormat);
         }
     }
 }
@@ -0,0 +1,559 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import org.apache.paimon.web.engine.flink.common.operation.FlinkSqlOperationType;
+import org.apache.paimon.web.engine.flink.common.operation.SqlCategory;
+import org.apache.paimon.web.engine.flink.common.parser.SqlLexer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of the results of read-only statements, keyed by the normalized statement and the context
+ * of the session the statement runs in.
+ *
+ * <p>The context of a session is a hash of its effective properties and, once the session switched
+ * to another catalog or database, of its current catalog and database. Sessions with equal contexts
+ * share entries. The cache keeps the context of every session, shared by all executors of the
+ * session. Statements changing the context, such as {@code SET}, {@code RESET} or {@code USE},
+ * clear it with {@link #changeContext} and the executor computes it again with {@link #setContext}
+ * before the next query. A session that created session scoped objects, such as temporary views,
+ * catalogs or modules, resolves names differently than other sessions with equal properties, so its
+ * context also contains its id and its entries are not shared until the session is reset.
+ *
+ * <p>Cached results are stored as immutable copies, every caller gets the same read-only result.
+ *
+ * <p>Statements are normalized by removing comments and collapsing whitespace outside of literals,
+ * so that reformatted statements share an entry; hints are kept. Entries expire after the TTL and
+ * the least recently used entries are evicted beyond the maximum number of entries. A query whose
+ * only table reference is a table pinned to a snapshot or tag with the {@code scan.snapshot-id} or
+ * {@code scan.tag-name} option reads immutable data, its entry does not expire. DML statements
+ * invalidate the other entries, any other statement that is no query invalidates all entries.
+ */
+public class QueryResultCache {
+
+    private static final String[] PINNING_OPTIONS = {"'scan.snapshot-id'", "'scan.tag-name'"};
+    // The keywords ending the FROM clause of a query.
+    private static final String[] FROM_CLAUSE_ENDS = {
+        "WHERE",
+        "GROUP",
+        "HAVING",
+        "WINDOW",
+        "QUALIFY",
+        "ORDER",
+        "LIMIT",
+        "OFFSET",
+        "FETCH",
+        "UNION",
+        "INTERSECT",
+        "EXCEPT",
+        "MINUS"
+    };
+    private static final int MAX_SESSION_CONTEXTS = 4096;
+    // DDL of objects that only exist in the session which runs it.
+    private static final Pattern SESSION_SCOPED_DDL =
+            Pattern.compile(
+                    "^(CREATE( OR REPLACE)?|DROP|ALTER) (TEMPORARY|CATALOG)\\b",
+                    Pattern.CASE_INSENSITIVE);
+    private static final Pattern USE_MODULES =
+            Pattern.compile("^USE MODULES\\b", Pattern.CASE_INSENSITIVE);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final int maxRows;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<String, CachedResult> entries;
+    // Session id -> the context of the session, a session evicted from the map computes its
+    // context again when it is used again.
+    private final LinkedHashMap<String, SessionContext> sessionContexts;
+
+    private long hits;
+    private long misses;
+
+    private QueryResultCache(int maxEntries, Duration ttl, int maxRows, LongSupplier ticker) {
+        if (maxEntries <= 0 || maxRows < 0 || ttl.isNegative()) {
+            throw new IllegalArgumentException(
+                    "Max entries must be positive, max rows and ttl must not be negative.");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.maxRows = maxRows;
+        this.ticker = ticker;
+        this.entries =
+                new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                        return size() > QueryResultCache.this.maxEntries;
+                    }
+                };
+        this.sessionContexts =
+                new LinkedHashMap<String, SessionContext>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, SessionContext> eldest) {
+                        return size() > MAX_SESSION_CONTEXTS;
+                    }
+                };
+    }
+
+    /**
+     * Returns the current context of a session, to be passed to {@link #get} and {@link #put} for
+     * the statements running in that context.
+     *
+     * @param sessionId The session id.
+     * @return The context, null if it changed and has to be set with {@link #setContext}.
+     */
+    public synchronized String context(String sessionId) {
+        return sessionContext(sessionId).context;
+    }
+
+    /**
+     * Returns the generation of the context of a session, which changes with every change of the
+     * context. It is taken before the properties of the session are read for {@link #setContext}.
+     *
+     * @param sessionId The session id.
+     * @return The generation of the context.
+     */
+    public synchronized long contextGeneration(String sessionId) {
+        return sessionContext(sessionId).generation;
+    }
+
+    /**
+     * Returns whether the session switched to another catalog or database, in which case its
+     * current catalog and database are part of its context.
+     *
+     * @param sessionId The session id.
+     */
+    public synchronized boolean isSwitched(String sessionId) {
+        return sessionContext(sessionId).switched;
+    }
+
+    /**
+     * Sets the context of a session from its effective state.
+     *
+     * @param sessionId The session id.
+     * @param generation The generation of the context, taken before the state was read.
+     * @param properties The effective properties of the session.
+     * @param catalog The current catalog, null if the session did not switch it.
+     * @param database The current database, null if the session did not switch it.
+     * @return The context, null if the context changed since the generation was taken.
+     */
+    public synchronized String setContext(
+            String sessionId,
+            long generation,
+            Map<String, String> properties,
+            String catalog,
+            String database) {
+        SessionContext sessionContext = sessionContext(sessionId);
+        if (sessionContext.generation != generation) {
+            return null;
+        }
+        StringBuilder state = new StringBuilder();
+        for (Map.Entry<String, String> property : new TreeMap<>(properties).entrySet()) {
+            state.append(property.getKey()).append('=').append(property.getValue()).append('\n');
+        }
+        state.append(catalog).append('\n').append(database);
+        String context = sha256(state.toString());
+        sessionContext.context = sessionContext.isolated ? sessionId + ":" + context : context;
+        return sessionContext.context;
+    }
+
+    /**
+     * Clears the context of a session when a statement changing it is submitted and when it
+     * finished, so that a context computed in between is not set.
+     *
+     * @param sessionId The session id.
+     */
+    public synchronized void changeContext(String sessionId) {
+        SessionContext sessionContext = sessionContext(sessionId);
+        sessionContext.generation++;
+        sessionContext.context = null;
+    }
+
+    /**
+     * Clears the context of a session after it was reset to its defaults, which drops its session
+     * scoped objects as well.
+     *
+     * @param sessionId The session id.
+     */
+    public synchronized void resetContext(String sessionId) {
+        SessionContext sessionContext = sessionContext(sessionId);
+        sessionContext.switched = false;
+        sessionContext.isolated = false;
+        changeContext(sessionId);
+    }
+
+    /**
+     * Updates the cache for a statement about to be submitted. Statements changing the session
+     * context clear it, other statements that are no queries may change the results of the cached
+     * queries.
+     *
+     * @param sessionId The id of the session running the statement.
+     * @param statement The statement.
+     * @param operationType The operation type of the statement.
+     */
+    public synchronized void beforeSubmit(
+            String sessionId, String statement, FlinkSqlOperationType operationType) {
+        String normalized = normalize(statement);
+        switch (operationType) {
+            case SET:
+            case RESET:
+                changeContext(sessionId);
+                return;
+            case USE:
+                if (USE_MODULES.matcher(normalized).find()) {
+                    sessionContext(sessionId).isolated = true;
+                } else {
+                    sessionContext(sessionId).switched = true;
+                }
+                changeContext(sessionId);
+                return;
+            case LOAD:
+            case UNLOAD:
+                sessionContext(sessionId).isolated = true;
+                changeContext(sessionId);
+                return;
+            default:
+                break;
+        }
+        if (operationType.getCategory() == SqlCategory.DQL) {
+            return;
+        }
+        if (SESSION_SCOPED_DDL.matcher(normalized).find()) {
+            sessionContext(sessionId).isolated = true;
+            changeContext(sessionId);
+        }
+        if (operationType.getCategory() == SqlCategory.DML) {
+            invalidateUnpinned();
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Returns the cached result of a statement.
+     *
+     * @param statement The statement.
+     * @param context The context of the session of the statement.
+     * @return The cached result, which is immutable, or null if there is no entry or it expired.
+     */
+    public synchronized ExecutionResult get(String statement, String context) {
+        String key = key(statement, context);
+        CachedResult entry = entries.get(key);
+        if (entry != null && entry.expires && ticker.getAsLong() - entry.expiresAtNanos >= 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.result;
+    }
+
+    /**
+     * Caches the complete result of a statement. Results with more than the maximum number of rows
+     * are not cached.
+     *
+     * @param statement The statement.
+     * @param context The context of the session of the statement, taken before the statement was
+     *     submitted.
+     * @param result The complete result, which is copied.
+     */
+    public void put(String statement, String context, ExecutionResult result) {
+        if (!isCacheable(result.getData().size() + result.getRows().size())) {
+            return;
+        }
+        String normalized = normalize(statement);
+        CachedResult entry =
+                new CachedResult(
+                        immutableCopy(result),
+                        !isPinned(normalized),
+                        ticker.getAsLong() + ttlNanos);
+        synchronized (this) {
+            entries.put(context + ":" + normalized, entry);
+        }
+    }
+
+    /** Returns whether a result with the given number of rows can be cached. */
+    public boolean isCacheable(long rows) {
+        return rows <= maxRows;
+    }
+
+    /** Removes all entries, after statements that may change the results of the cached ones. */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Removes the entries of queries not pinned to a snapshot or tag, after statements that may
+     * change the data of tables but not their snapshots or tags.
+     */
+    public synchronized void invalidateUnpinned() {
+        Iterator<CachedResult> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expires) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private SessionContext sessionContext(String sessionId) {
+        return sessionContexts.computeIfAbsent(sessionId, id -> new SessionContext());
+    }
+
+    private static String key(String statement, String context) {
+        return context + ":" + normalize(statement);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    private static ExecutionResult immutableCopy(ExecutionResult result) {
+        List<Map<String, Object>> data = new ArrayList<>(result.getData().size());
+        for (Map<String, Object> row : result.getData()) {
+            data.add(Collections.unmodifiableMap(new LinkedHashMap<>(row)));
+        }
+        List<List<Object>> rows = new ArrayList<>(result.getRows().size());
+        for (List<Object> row : result.getRows()) {
+            rows.add(Collections.unmodifiableList(new ArrayList<>(row)));
+        }
+        return ExecutionResult.builder()
+                .submitId(result.getSubmitId())
+                .jobId(result.getJobId())
+                .status(result.getStatus())
+                .data(Collections.unmodifiableList(data))
+                .columns(Collections.unmodifiableList(new ArrayList<>(result.getColumns())))
+                .rows(Collections.unmodifiableList(rows))
+                .shouldFetchResult(result.shouldFetchResult())
+                .build();
+    }
+
+    /**
+     * Normalizes a statement: comments are removed, whitespace outside of literals and quoted
+     * identifiers is collapsed to a single space and a trailing semicolon is removed.
+     *
+     * @param statement The statement.
+     * @return The normalized statement.
+     */
+    public static String normalize(String statement) {
+        StringBuilder builder = new StringBuilder(statement.length());
+        boolean space = false;
+        int i = 0;
+        while (i < statement.length()) {
+            char c = statement.charAt(i);
+            int end;
+            if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            } else if (SqlLexer.isLineComment(statement, i)) {
+                space = true;
+                i = SqlLexer.lineCommentEnd(statement, i + 2);
+                continue;
+            } else if (SqlLexer.isBlockComment(statement, i) && !SqlLexer.isHint(statement, i)) {
+                space = true;
+                i = SqlLexer.blockCommentEnd(statement, i);
+                continue;
+            } else if (SqlLexer.isHint(statement, i)) {
+                end = SqlLexer.blockCommentEnd(statement, i);
+            } else if (SqlLexer.isQuote(c)) {
+                end = SqlLexer.quotedEnd(statement, i);
+            } else {
+                end = i + 1;
+            }
+            if (space && builder.length() > 0) {
+                builder.append(' ');
+            }
+            space = false;
+            builder.append(statement, i, end);
+            i = end;
+        }
+        int length = builder.length();
+        if (length > 0 && builder.charAt(length - 1) == ';') {
+            builder.setLength(length - 1);
+            length = builder.length();
+            if (length > 0 && builder.charAt(length - 1) == ' ') {
+                builder.setLength(length - 1);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns whether a normalized statement is a query of a single table pinned to a snapshot or
+     * tag, whose result cannot change. Every FROM, JOIN and comma separating the table references
+     * of a FROM clause counts as a table reference, the query must have exactly one.
+     */
+    static boolean isPinned(String normalized) {
+        if (FlinkSqlOperationType.getOperationType(normalized) != FlinkSqlOperationType.SELECT) {
+            return false;
+        }
+        int tables = 0;
+        boolean pinned = false;
+        // Whether the scan is in a FROM clause, and the parenthesis depth within it.
+        boolean inFrom = false;
+        int depth = 0;
+        int i = 0;
+        while (i < normalized.length()) {
+            char c = normalized.charAt(i);
+            if (SqlLexer.isHint(normalized, i)) {
+                int end = SqlLexer.blockCommentEnd(normalized, i);
+                String hint = normalized.substring(i, end).toLowerCase(Locale.ROOT);
+                for (String option : PINNING_OPTIONS) {
+                    pinned |= hint.contains(option);
+                }
+                i = end;
+            } else if (SqlLexer.isQuote(c)) {
+                i = SqlLexer.quotedEnd(normalized, i);
+            } else if (Character.isLetter(c)) {
+                int end = SqlLexer.wordEnd(normalized, i);
+                if (SqlLexer.isKeyword(normalized, i, end, "FROM")
+                        || SqlLexer.isKeyword(normalized, i, end, "JOIN")) {
+                    tables++;
+                    inFrom = true;
+                    depth = 0;
+                } else if (inFrom && depth == 0 && isFromClauseEnd(normalized, i, end)) {
+                    inFrom = false;
+                }
+                i = end;
+            } else {
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (c == ',' && inFrom && depth == 0) {
+                    tables++;
+                }
+                i++;
+            }
+        }
+        return pinned && tables == 1;
+    }
+
+    private static boolean isFromClauseEnd(String sql, int start, int end) {
+        for (String keyword : FROM_CLAUSE_ENDS) {
+            if (SqlLexer.isKeyword(sql, start, end, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** A cached result and the time it expires at, if it expires. */
+    private static class CachedResult {
+
+        private final ExecutionResult result;
+        private final boolean expires;
+        private final long expiresAtNanos;
+
+        private CachedResult(ExecutionResult result, boolean expires, long expiresAtNanos) {
+            this.result = result;
+            this.expires = expires;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /** The context of a session and what it depends on. */
+    private static class SessionContext {
+
+        // Changes with every change of the context.
+        private long generation;
+        // Null until it is set after a change.
+        private String context;
+        private boolean switched;
+        private boolean isolated;
+    }
+
+    /** The builder for QueryResultCache. */
+    public static class Builder {
+        private int maxEntries = 256;
+        private Duration ttl = Duration.ofMinutes(1);
+        private int maxRows = 10_000;
+        private LongSupplier ticker = System::nanoTime;
+
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder ttl(Duration ttl) {
+            this.ttl = Objects.requireNonNull(ttl, "TTL cannot be null.");
+            return this;
+        }
+
+        public Builder maxRows(int maxRows) {
+            this.maxRows = maxRows;
+            return this;
+        }
+
+        /** Sets the source of the current time in nanoseconds, for tests. */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "Ticker cannot be null.");
+            return this;
+        }
+
+        public QueryResultCache build() {
+            return new QueryResultCache(maxEntries, ttl, maxRows, ticker);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the rows of a result. The first rows are kept on the heap, further rows are spilled to a
+ * temporary file so that large results do not stay on the heap.
+ *
+ * <p>Spilled rows are written in a compact binary format: column names are written once into an
+ * in-memory dictionary and referenced by index, numbers use variable-length encoding and every
+ * value carries a one byte type tag. Values of other types than strings, numbers, booleans and byte
+ * arrays are spilled as their string representation. Every {@link #INDEX_INTERVAL}-th row offset is
+ * indexed, which allows paging without reading the file from the start.
+ *
+ * <p>The temporary file is limited to a maximum size. Once it is reached, the buffer is truncated:
+ * further rows are dropped and {@link #isTruncated()} returns true. When writing a row to the
+ * temporary file fails midway, the buffer cannot tell which rows are complete and fails all further
+ * reads and writes. The temporary file is deleted when the buffer is closed.
+ */
+public class ResultBuffer implements Closeable {
+
+    public static final int DEFAULT_HEAP_ROWS = 1000;
+    public static final long DEFAULT_MAX_SPILL_BYTES = 256L * 1024 * 1024;
+
+    private static final int INDEX_INTERVAL = 64;
+    private static final String SPILL_FILE_PREFIX = "paimon-web-result-";
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte DECIMAL = 7;
+    private static final byte BINARY = 8;
+
+    private final int heapRows;
+    private final File spillDirectory;
+    private final long maxSpillBytes;
+
+    private final List<Map<String, Object>> heapBuffer = new ArrayList<>();
+    private final List<String> columns = new ArrayList<>();
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    private File spillFile;
+    private CountingOutputStream spillOutput;
+    private DataOutputStream spillWriter;
+    private long[] spillIndex = new long[16];
+    private long spilledRows;
+    private boolean truncated;
+    private Exception failure;
+    private boolean closed;
+
+    public ResultBuffer() {
+        this(DEFAULT_HEAP_ROWS, null);
+    }
+
+    public ResultBuffer(int heapRows, File spillDirectory) {
+        this(heapRows, spillDirectory, DEFAULT_MAX_SPILL_BYTES);
+    }
+
+    /**
+     * Creates a result buffer.
+     *
+     * @param heapRows The number of rows kept on the heap.
+     * @param spillDirectory The directory of the temporary file, null for the default temporary
+     *     directory.
+     * @param maxSpillBytes The maximum size of the temporary file.
+     */
+    public ResultBuffer(int heapRows, File spillDirectory, long maxSpillBytes) {
+        if (heapRows < 0) {
+            throw new IllegalArgumentException("Heap rows cannot be negative.");
+        }
+        if (maxSpillBytes <= 0) {
+            throw new IllegalArgumentException("Max spill bytes must be positive.");
+        }
+        this.heapRows = heapRows;
+        this.spillDirectory = spillDirectory;
+        this.maxSpillBytes = maxSpillBytes;
+    }
+
+    public synchronized void addAll(List<Map<String, Object>> rows) {
+        for (Map<String, Object> row : rows) {
+            add(row);
+        }
+    }
+
+    public synchronized void add(Map<String, Object> row) {
+        checkOpen();
+        if (heapBuffer.size() < heapRows) {
+            heapBuffer.add(row);
+            return;
+        }
+        try {
+            spill(row);
+        } catch (IOException e) {
+            throw fail(new UncheckedIOException("Failed to spill the result row.", e));
+        } catch (RuntimeException e) {
+            throw fail(e);
+        }
+    }
+
+    /**
+     * Adds a row given as values in column order. Rows that are spilled are encoded directly from
+     * the values, without building a map.
+     *
+     * @param columns The column names.
+     * @param values The values of the row, one per column.
+     */
+    public synchronized void add(List<String> columns, List<Object> values) {
+        checkOpen();
+        if (heapBuffer.size() < heapRows) {
+            Map<String, Object> row = new LinkedHashMap<>(columns.size() * 2);
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i), values.get(i));
+            }
+            heapBuffer.add(row);
+            return;
+        }
+        try {
+            if (!beginSpilledRow(columns.size())) {
+                return;
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                writeVarInt(spillWriter, columnIndex(columns.get(i)));
+                writeValue(spillWriter, values.get(i));
+            }
+            spilledRows++;
+        } catch (IOException e) {
+            throw fail(new UncheckedIOException("Failed to spill the result row.", e));
+        } catch (RuntimeException e) {
+            throw fail(e);
+        }
+    }
+
+    /** Returns the number of rows in the buffer. */
+    public synchronized long size() {
+        return heapBuffer.size() + spilledRows;
+    }
+
+    /** Returns the number of rows spilled to the temporary file. */
+    public synchronized long spilledSize() {
+        return spilledRows;
+    }
+
+    /**
+     * Returns whether rows were dropped because the temporary file reached its maximum size. The
+     * rows of the buffer are the first rows added to it.
+     */
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /** Returns whether writing a row to the temporary file failed, which fails the buffer. */
+    public synchronized boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Returns a page of rows.
+     *
+     * @param offset The index of the first row.
+     * @param limit The maximum number of rows.
+     * @return The rows in the range, empty when the offset is beyond the last row.
+     */
+    public synchronized List<Map<String, Object>> getRows(long offset, int limit) {
+        checkOpen();
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative.");
+        }
+        long end = Math.min(size(), offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Object>> rows = new ArrayList<>((int) (end - offset));
+        long index = offset;
+        for (; index < end && index < heapBuffer.size(); index++) {
+            rows.add(heapBuffer.get((int) index));
+        }
+        if (index < end) {
+            try {
+                readSpilled(index - heapBuffer.size(), end - index, rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read the spilled result rows.", e);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        heapBuffer.clear();
+        if (spillFile != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException ignored) {
+                // The file is deleted anyway.
+            }
+            if (!spillFile.delete()) {
+                spillFile.deleteOnExit();
+            }
+        }
+    }
+
+    private void spill(Map<String, Object> row) throws IOException {
+        if (!beginSpilledRow(row.size())) {
+            return;
+        }
+        for (Map.Entry<String, Object> field : row.entrySet()) {
+            writeVarInt(spillWriter, columnIndex(field.getKey()));
+            writeValue(spillWriter, field.getValue());
+        }
+        spilledRows++;
+    }
+
+    /**
+     * Indexes the next spilled row and writes its field count, the fields follow. The row counts
+     * once all of its fields are written.
+     *
+     * @return false if the temporary file reached its maximum size and the row is dropped.
+     */
+    private boolean beginSpilledRow(int fieldCount) throws IOException {
+        if (truncated || (spillOutput != null && spillOutput.position() >= maxSpillBytes)) {
+            truncated = true;
+            return false;
+        }
+        if (spillFile == null) {
+            spillFile = File.createTempFile(SPILL_FILE_PREFIX, ".bin", spillDirectory);
+            spillOutput = new CountingOutputStream(new FileOutputStream(spillFile));
+            spillWriter = new DataOutputStream(spillOutput);
+        }
+        if (spilledRows % INDEX_INTERVAL == 0) {
+            int slot = (int) (spilledRows / INDEX_INTERVAL);
+            if (slot == spillIndex.length) {
+                spillIndex = Arrays.copyOf(spillIndex, slot * 2);
+            }
+            spillIndex[slot] = spillOutput.position();
+        }
+        writeVarInt(spillWriter, fieldCount);
+        return true;
+    }
+
+    /** Fails the buffer, the temporary file may end with a partially written row. */
+    private RuntimeException fail(RuntimeException e) {
+        failure = e;
+        return e;
+    }
+
+    private void readSpilled(long start, long count, List<Map<String, Object>> rows)
+            throws IOException {
+        spillWriter.flush();
+        int slot = (int) (start / INDEX_INTERVAL);
+        try (RandomAccessFile file = new RandomAccessFile(spillFile, "r")) {
+            file.seek(spillIndex[slot]);
+            DataInputStream reader =
+                    new DataInputStream(
+                            new BufferedInputStream(Channels.newInputStream(file.getChannel())));
+            for (long skip = start - (long) slot * INDEX_INTERVAL; skip > 0; skip--) {
+                readRow(reader);
+            }
+            for (long i = 0; i < count; i++) {
+                rows.add(readRow(reader));
+            }
+        }
+    }
+
+    private Map<String, Object> readRow(DataInput input) throws IOException {
+        int fieldCount = readVarInt(input);
+        Map<String, Object> row = new LinkedHashMap<>(fieldCount * 2);
+        for (int i = 0; i < fieldCount; i++) {
+            String column = columns.get(readVarInt(input));
+            row.put(column, readValue(input));
+        }
+        return row;
+    }
+
+    private int columnIndex(String column) {
+        Integer index = columnIndexes.get(column);
+        if (index == null) {
+            index = columns.size();
+            columns.add(column);
+            columnIndexes.put(column, index);
+        }
+        return index;
+    }
+
+    private static void writeValue(DataOutput output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof Integer) {
+            output.writeByte(INT);
+            writeVarLong(output, zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            writeVarLong(output, zigZag((Long) value));
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            byte[] unscaled = decimal.unscaledValue().toByteArray();
+            output.writeByte(DECIMAL);
+            writeVarLong(output, zigZag(decimal.scale()));
+            writeVarInt(output, unscaled.length);
+            output.write(unscaled);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            output.writeByte(BINARY);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        } else {
+            byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+            output.writeByte(STRING);
+            writeVarInt(output, bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static Object readValue(DataInput input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case INT:
+                return (int) unZigZag(readVarLong(input));
+            case LONG:
+                return unZigZag(readVarLong(input));
+            case DOUBLE:
+                return input.readDouble();
+            case FLOAT:
+                return input.readFloat();
+            case BOOLEAN:
+                return input.readBoolean();
+            case DECIMAL:
+                int scale = (int) unZigZag(readVarLong(input));
+                return new BigDecimal(new BigInteger(readBytes(input)), scale);
+            case BINARY:
+                return readBytes(input);
+            case STRING:
+                return new String(readBytes(input), StandardCharsets.UTF_8);
+            default:
+                throw new IOException("Unknown value type " + type + " in the spill file.");
+        }
+    }
+
+    private static byte[] readBytes(DataInput input) throws IOException {
+        byte[] bytes = new byte[readVarInt(input)];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static void writeVarInt(DataOutput output, int value) throws IOException {
+        writeVarLong(output, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInput input) throws IOException {
+        return (int) readVarLong(input);
+    }
+
+    private static void writeVarLong(DataOutput output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = input.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number in the spill file.");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The result buffer is closed.");
+        }
+        if (failure != null) {
+            throw new IllegalStateException(
+                    "The result buffer failed to spill a row and holds no complete rows.",
+                    failure);
+        }
+    }
+
+    /** A buffered file output stream that knows its position. */
+    private static class CountingOutputStream extends BufferedOutputStream {
+
+        private long position;
+
+        private CountingOutputStream(FileOutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            super.write(b);
+            position++;
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            position += len;
+        }
+
+        private long position() {
+            return position;
+        }
+    }
+}
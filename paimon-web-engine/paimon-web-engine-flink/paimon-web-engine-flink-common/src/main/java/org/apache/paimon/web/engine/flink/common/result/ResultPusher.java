@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import org.apache.paimon.web.engine.flink.common.executor.Executor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the token loop of {@link Executor#fetchResults} and pushes every non-empty page to a
+ * {@link ResultSink}, so the client receives the rows without polling each page itself.
+ *
+ * <p>Pages are fetched one at a time and the next page is fetched only after the sink accepted the
+ * previous one, which keeps at most one page in memory per stream. Pushing stops at the end of the
+ * results, when the row or byte limit is reached, or when the pusher is cancelled. The operation
+ * itself is left running, stopping it is up to the caller.
+ *
+ * <p>With {@link ResultFormat#COMPACT} the pages are fetched in the compact format and delivered
+ * with {@link ResultSink#onCompactBatch}, the byte limit then counts the values of the rows.
+ */
+public class ResultPusher {
+
+    private static final long INITIAL_EMPTY_PAGE_DELAY_MILLIS = 10;
+    private static final long MAX_EMPTY_PAGE_DELAY_MILLIS = 1000;
+
+    private final Executor executor;
+    private final String sessionId;
+    private final String submitId;
+    private final long startToken;
+    private final long maxRows;
+    private final long maxBytes;
+    private final ResultFormat resultFormat;
+
+    private volatile boolean cancelled;
+
+    private ResultPusher(
+            Executor executor,
+            String sessionId,
+            String submitId,
+            long startToken,
+            long maxRows,
+            long maxBytes,
+            ResultFormat resultFormat) {
+        this.executor = executor;
+        this.sessionId = sessionId;
+        this.submitId = submitId;
+        this.startToken = startToken;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+        this.resultFormat = resultFormat;
+    }
+
+    /**
+     * Starts pushing the results on the given runner.
+     *
+     * @param sink The receiver of the rows.
+     * @param runner The executor running the token loop, which is blocked while pushing.
+     * @return The future of the reason why pushing stopped, completed exceptionally on failure.
+     */
+    public CompletableFuture<EndReason> start(
+            ResultSink sink, java.util.concurrent.Executor runner) {
+        Objects.requireNonNull(sink, "Result sink cannot be null.");
+        return CompletableFuture.supplyAsync(() -> run(sink), runner);
+    }
+
+    /** Stops pushing after the page currently being fetched or delivered. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private EndReason run(ResultSink sink) {
+        long token = startToken;
+        long rowCount = 0;
+        long byteCount = 0;
+        long emptyPageDelayMillis = INITIAL_EMPTY_PAGE_DELAY_MILLIS;
+        EndReason reason;
+        try {
+            while (true) {
+                if (cancelled) {
+                    reason = EndReason.CANCELLED;
+                    break;
+                }
+                ExecutionResult page =
+                        executor.fetchResults(
+                                FetchResultParams.builder()
+                                        .sessionId(sessionId)
+                                        .submitId(submitId)
+                                        .token(token)
+                                        .resultFormat(resultFormat)
+                                        .build());
+                token++;
+                List<?> rows =
+                        resultFormat == ResultFormat.COMPACT ? page.getRows() : page.getData();
+                if (rows == null || rows.isEmpty()) {
+                    if (!page.shouldFetchResult()) {
+                        reason = EndReason.END_OF_STREAM;
+                        break;
+                    }
+                    TimeUnit.MILLISECONDS.sleep(emptyPageDelayMillis);
+                    emptyPageDelayMillis =
+                            Math.min(emptyPageDelayMillis * 2, MAX_EMPTY_PAGE_DELAY_MILLIS);
+                    continue;
+                }
+                emptyPageDelayMillis = INITIAL_EMPTY_PAGE_DELAY_MILLIS;
+
+                int accepted = 0;
+                reason = null;
+                for (Object row : rows) {
+                    if (rowCount + accepted >= maxRows) {
+                        reason = EndReason.MAX_ROWS;
+                        break;
+                    }
+                    long rowBytes = estimateBytes(row);
+                    if (byteCount + rowBytes > maxBytes) {
+                        reason = EndReason.MAX_BYTES;
+                        break;
+                    }
+                    byteCount += rowBytes;
+                    accepted++;
+                }
+                if (accepted > 0) {
+                    deliver(sink, page, accepted == rows.size() ? rows : rows.subList(0, accepted));
+                    rowCount += accepted;
+                }
+                if (reason == null && rowCount >= maxRows) {
+                    reason = EndReason.MAX_ROWS;
+                }
+                if (reason != null) {
+                    break;
+                }
+                if (!page.shouldFetchResult()) {
+                    reason = EndReason.END_OF_STREAM;
+                    break;
+                }
+            }
+        } catch (Throwable t) {
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            sink.onError(t);
+            throw new IllegalStateException("Failed to push the results of " + submitId, t);
+        }
+        sink.onComplete(reason, rowCount);
+        return reason;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(ResultSink sink, ExecutionResult page, List<?> rows) throws Exception {
+        if (resultFormat == ResultFormat.COMPACT) {
+            sink.onCompactBatch(page.getColumns(), (List<List<Object>>) rows);
+        } else {
+            sink.onBatch((List<Map<String, Object>>) rows);
+        }
+    }
+
+    /**
+     * Approximates the serialized size of a row by the length of its values, and of its names for
+     * an {@link ResultFormat#OBJECT} row.
+     */
+    private static long estimateBytes(Object row) {
+        long bytes = 0;
+        if (row instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) row).entrySet()) {
+                bytes += entry.getKey().toString().length();
+                bytes += estimateValueBytes(entry.getValue());
+            }
+        } else if (row instanceof List) {
+            for (Object value : (List<?>) row) {
+                bytes += estimateValueBytes(value);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateValueBytes(Object value) {
+        return value == null ? 0 : value.toString().length();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Why a {@link ResultPusher} stopped. */
+    public enum EndReason {
+        END_OF_STREAM,
+        MAX_ROWS,
+        MAX_BYTES,
+        CANCELLED
+    }
+
+    /** The builder for ResultPusher. */
+    public static class Builder {
+
+        private Executor executor;
+        private String sessionId;
+        private String submitId;
+        private long startToken = 1L;
+        private long maxRows = Long.MAX_VALUE;
+        private long maxBytes = Long.MAX_VALUE;
+        private ResultFormat resultFormat = ResultFormat.OBJECT;
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder sessionId(String sessionId) {
+            this.sessionId = sessionId;
+            return this;
+        }
+
+        public Builder submitId(String submitId) {
+            this.submitId = submitId;
+            return this;
+        }
+
+        public Builder startToken(long startToken) {
+            this.startToken = startToken;
+            return this;
+        }
+
+        public Builder maxRows(long maxRows) {
+            this.maxRows = maxRows;
+            return this;
+        }
+
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public Builder resultFormat(ResultFormat resultFormat) {
+            this.resultFormat = resultFormat;
+            return this;
+        }
+
+        public ResultPusher build() {
+            Objects.requireNonNull(executor, "Executor cannot be null.");
+            Objects.requireNonNull(submitId, "Submit id cannot be null.");
+            if (maxRows <= 0 || maxBytes <= 0) {
+                throw new IllegalArgumentException("Max rows and max bytes must be positive.");
+            }
+            Objects.requireNonNull(resultFormat, "Result format cannot be null.");
+            return new ResultPusher(
+                    executor, sessionId, submitId, startToken, maxRows, maxBytes, resultFormat);
+        }
+    }
+}
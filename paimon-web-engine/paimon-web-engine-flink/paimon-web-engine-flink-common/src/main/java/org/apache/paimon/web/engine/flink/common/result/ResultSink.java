@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The receiver of the row batches pushed by a {@link ResultPusher}, such as a server-sent events or
+ * websocket connection.
+ */
+public interface ResultSink {
+
+    /**
+     * Receives a batch of rows. The pusher fetches the next page only after this method returned,
+     * so a sink that blocks while the client is slow pauses the fetching.
+     *
+     * @param rows The rows of the batch, never empty.
+     * @throws Exception if the batch cannot be delivered, which stops the pusher.
+     */
+    void onBatch(List<Map<String, Object>> rows) throws Exception;
+
+    /**
+     * Receives a batch of rows in the {@link ResultFormat#COMPACT} format, called instead of {@link
+     * #onBatch} when the pusher was built with that format.
+     *
+     * @param columns The columns of the rows.
+     * @param rows The rows of the batch, values in column order, never empty.
+     * @throws Exception if the batch cannot be delivered, which stops the pusher.
+     */
+    default void onCompactBatch(List<ResultColumn> columns, List<List<Object>> rows)
+            throws Exception {
+        throw new UnsupportedOperationException("The sink does not accept compact rows.");
+    }
+
+    /**
+     * Called once when the pusher stopped without an error.
+     *
+     * @param reason Why the pusher stopped.
+     * @param rowCount The number of rows delivered.
+     */
+    void onComplete(ResultPusher.EndReason reason, long rowCount);
+
+    /**
+     * Called once when fetching or delivering the results failed.
+     *
+     * @param error The failure.
+     */
+    void onError(Throwable error);
+}
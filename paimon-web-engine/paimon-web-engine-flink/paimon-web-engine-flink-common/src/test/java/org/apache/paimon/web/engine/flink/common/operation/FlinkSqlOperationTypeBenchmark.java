@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.operation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link FlinkSqlOperationType#getOperationType(String)} against the previous
+ * implementation, which normalized the whole statement before matching. Run it with {@link
+ * #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlinkSqlOperationTypeBenchmark {
+
+    /** Number of characters of the benchmarked INSERT statement. */
+    @Param({"100", "10000", "1000000"})
+    private int length;
+
+    private String statement;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder("INSERT INTO sink SELECT ");
+        while (builder.length() < length) {
+            builder.append("order_id, product, amount, ");
+        }
+        statement = builder.append("0 FROM t_order").toString();
+    }
+
+    @Benchmark
+    public FlinkSqlOperationType scanner() {
+        return FlinkSqlOperationType.getOperationType(statement);
+    }
+
+    @Benchmark
+    public FlinkSqlOperationType normalize() {
+        String sqlTrim = statement.replaceAll("[\\s\\t\\n\\r]", "").trim().toUpperCase();
+        for (FlinkSqlOperationType sqlType : FlinkSqlOperationType.values()) {
+            if (sqlTrim.startsWith(sqlType.getType())) {
+                return sqlType;
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(FlinkSqlOperationTypeBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.operation;
+
+import org.apache.paimon.web.engine.flink.common.parser.SqlStatement;
+import org.apache.paimon.web.engine.flink.common.parser.StatementParser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Tests of {@link FlinkSqlOperationType}. */
+public class FlinkSqlOperationTypeTest {
+
+    private static final String[] PREFIXES = {
+        "",
+        "  \t\r\n",
+        "-- comment\n",
+        "-- comment\r\n  ",
+        "/* comment */",
+        "/* multi\n line */ ",
+        "/*+ hint */ ",
+        "-- a\n/* b */ -- c\n",
+        "(",
+        " ( ( "
+    };
+
+    @Test
+    public void testEveryTypeWithEveryPrefix() {
+        for (FlinkSqlOperationType type : FlinkSqlOperationType.values()) {
+            for (String prefix : PREFIXES) {
+                for (String keyword :
+                        new String[] {
+                            type.getType(),
+                            type.getType().toLowerCase(Locale.ROOT),
+                            capitalize(type.getType())
+                        }) {
+                    for (String suffix : new String[] {"", " x", "\nx", "(x)", "*", "/* c */"}) {
+                        String sql = prefix + keyword + suffix;
+                        assertThat(FlinkSqlOperationType.getOperationType(sql))
+                                .as(sql)
+                                .isEqualTo(type);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testWholeKeyword() {
+        assertThat(FlinkSqlOperationType.getOperationType("DESCRIBE t"))
+                .isEqualTo(FlinkSqlOperationType.DESCRIBE);
+        assertThat(FlinkSqlOperationType.getOperationType("DESC t"))
+                .isEqualTo(FlinkSqlOperationType.DESC);
+        assertThat(FlinkSqlOperationType.getOperationType("SETTINGS")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("USER_TABLE")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("S E L E C T 1")).isNull();
+    }
+
+    @Test
+    public void testUnknownStatements() {
+        assertThat(FlinkSqlOperationType.getOperationType(null)).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("   ")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("-- SELECT 1")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("/* SELECT 1")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("'SELECT' 1")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("ADD JAR 'a.jar'")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("((")).isNull();
+    }
+
+    @Test
+    public void testCommonTableExpressions() {
+        assertThat(FlinkSqlOperationType.getOperationType("WITH t AS (SELECT 1) SELECT * FROM t"))
+                .isEqualTo(FlinkSqlOperationType.SELECT);
+        assertThat(
+                        FlinkSqlOperationType.getOperationType(
+                                "with `t 1` (a, b) as (\n"
+                                        + "  SELECT ')', \"(\" FROM x -- )\n"
+                                        + "), u AS /* ( */ (SELECT (1)) ,\n"
+                                        + "v AS ((SELECT 2))\n"
+                                        + "/*+ hint */ select * from `t 1`"))
+                .isEqualTo(FlinkSqlOperationType.SELECT);
+        assertThat(
+                        FlinkSqlOperationType.getOperationType(
+                                "WITH RECURSIVE t AS (SELECT 1) (SELECT * FROM t)"))
+                .isEqualTo(FlinkSqlOperationType.SELECT);
+        assertThat(
+                        FlinkSqlOperationType.getOperationType(
+                                "WITH t AS (SELECT 1) INSERT INTO s SELECT * FROM t"))
+                .isEqualTo(FlinkSqlOperationType.INSERT);
+        assertThat(FlinkSqlOperationType.getOperationType("WITH t AS (SELECT 1")).isNull();
+        assertThat(FlinkSqlOperationType.getOperationType("WITH")).isNull();
+    }
+
+    @Test
+    public void testStatementSet() {
+        assertThat(
+                        FlinkSqlOperationType.getOperationType(
+                                "EXECUTE STATEMENT SET BEGIN INSERT INTO a SELECT 1; END"))
+                .isEqualTo(FlinkSqlOperationType.EXECUTE);
+        assertThat(FlinkSqlOperationType.getOperationType("execute insert into a select 1"))
+                .isEqualTo(FlinkSqlOperationType.EXECUTE);
+        assertThat(FlinkSqlOperationType.EXECUTE.getCategory()).isEqualTo(SqlCategory.DML);
+    }
+
+    @Test
+    public void testSplitAndClassifyStatementSet() {
+        List<SqlStatement> statements =
+                StatementParser.split(
+                        "SET 'pipeline.name' = 'sync';\n"
+                                + "-- both inserts run as one job\n"
+                                + "EXECUTE STATEMENT SET BEGIN\n"
+                                + "  INSERT INTO a SELECT * FROM t;\n"
+                                + "  INSERT INTO b SELECT * FROM t;\n"
+                                + "END;\n"
+                                + "SELECT * FROM a;");
+
+        assertThat(statements)
+                .extracting(
+                        statement ->
+                                FlinkSqlOperationType.getOperationType(statement.getStatement()))
+                .containsExactly(
+                        FlinkSqlOperationType.SET,
+                        FlinkSqlOperationType.EXECUTE,
+                        FlinkSqlOperationType.SELECT);
+        assertThat(statements.get(1).getStatement())
+                .startsWith("EXECUTE STATEMENT SET BEGIN")
+                .contains("INSERT INTO b")
+                .endsWith("END");
+    }
+
+    @Test
+    public void testLargeStatement() {
+        StringBuilder builder = new StringBuilder("-- copy\nINSERT INTO sink SELECT * FROM (");
+        for (int i = 0; i < 100_000; i++) {
+            builder.append("SELECT ").append(i).append(" UNION ALL ");
+        }
+        builder.append("SELECT 0)");
+        assertThat(FlinkSqlOperationType.getOperationType(builder.toString()))
+                .isEqualTo(FlinkSqlOperationType.INSERT);
+    }
+
+    private static String capitalize(String keyword) {
+        return keyword.charAt(0) + keyword.substring(1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link StatementParser} against the previous regex based parser on multi-megabyte
+ * scripts. Run it with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementParserBenchmark {
+
+    private static final String STATEMENTS =
+            "-- source of the orders\n"
+                    + "CREATE TABLE IF NOT EXISTS t_order (\n"
+                    + "    `order_id` BIGINT, -- order id\n"
+                    + "    `product` STRING,\n"
+                    + "    `amount` BIGINT\n"
+                    + ") WITH ('connector' = 'datagen', 'rows-per-second' = '1');\n"
+                    + "/* the sink\n   of the orders */\n"
+                    + "INSERT INTO sink_table SELECT product, SUM(amount) FROM t_order\n"
+                    + "    WHERE product <> 'a;b' GROUP BY product;\n";
+
+    @Param({"1", "8"})
+    private int megabytes;
+
+    private String script;
+
+    @Setup
+    public void setup() {
+        int size = megabytes * 1024 * 1024;
+        StringBuilder builder = new StringBuilder(size + STATEMENTS.length());
+        while (builder.length() < size) {
+            builder.append(STATEMENTS);
+        }
+        script = builder.toString();
+    }
+
+    @Benchmark
+    public String[] lexer() {
+        return StatementParser.parse(script);
+    }
+
+    @Benchmark
+    public String[] regex() {
+        return regexParse(script);
+    }
+
+    /** The parser replaced by the lexer, splitting on a semicolon at the end of a line. */
+    private static String[] regexParse(String statement) {
+        String[] splits = statement.replace(";\r\n", ";\n").split(";\n");
+        String lastStmt = splits[splits.length - 1].trim();
+        if (lastStmt.endsWith(";")) {
+            splits[splits.length - 1] = lastStmt.substring(0, lastStmt.length() - 1).trim();
+        }
+
+        for (int i = 0; i < splits.length; i++) {
+            splits[i] = splits[i].replaceAll("(?m)^[ \t]*--.*$(\r\n|\n)?", "").trim();
+        }
+
+        return Arrays.stream(splits).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(StatementParserBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
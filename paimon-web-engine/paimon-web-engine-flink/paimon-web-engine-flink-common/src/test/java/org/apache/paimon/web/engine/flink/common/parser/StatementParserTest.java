@@ -20,6 +20,8 @@ package org.apache.paimon.web.engine.flink.common.parser;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /** Tests of {@link StatementParser}. */
@@ -75,4 +77,99 @@ public class StatementParserTest {
         String[] statements = StatementParser.parse(statement);
         assertThat(statements.length).isEqualTo(5);
     }
+
+    @Test
+    public void testParseStripsComments() {
+        String[] statements = StatementParser.parse(statement);
+        assertThat(statements[1]).doesNotContain("--").contains("`order_id` BIGINT");
+        assertThat(statements[2]).isEqualTo("DROP TABLE IF EXISTS sink_table");
+        assertThat(statements[4]).startsWith("INSERT INTO").endsWith("t_order");
+    }
+
+    @Test
+    public void testSplitOnSameLine() {
+        assertThat(StatementParser.parse("SET 'a' = '1'; SELECT 1;SELECT 2"))
+                .containsExactly("SET 'a' = '1'", "SELECT 1", "SELECT 2");
+    }
+
+    @Test
+    public void testSemicolonInQuotes() {
+        assertThat(StatementParser.parse("SELECT 'a;b', \"c;d\", `e;f` FROM t;\nSELECT 1"))
+                .containsExactly("SELECT 'a;b', \"c;d\", `e;f` FROM t", "SELECT 1");
+        assertThat(StatementParser.parse("SELECT 'it''s;' FROM `t``;`; SELECT 2"))
+                .containsExactly("SELECT 'it''s;' FROM `t``;`", "SELECT 2");
+    }
+
+    @Test
+    public void testQuotesInComments() {
+        assertThat(StatementParser.parse("SELECT 1 -- it's; done\n;\n/* don't; */ SELECT 2"))
+                .containsExactly("SELECT 1", "SELECT 2");
+    }
+
+    @Test
+    public void testBlockComments() {
+        assertThat(
+                        StatementParser.parse(
+                                "/* header;\n more */\nSELECT/* a */1;/**/;SELECT 2 /* end"))
+                .containsExactly("SELECT 1", "SELECT 2");
+    }
+
+    @Test
+    public void testHints() {
+        assertThat(StatementParser.parse("SELECT /*+ OPTIONS('a'=';') */ * FROM t; SELECT 1"))
+                .containsExactly("SELECT /*+ OPTIONS('a'=';') */ * FROM t", "SELECT 1");
+    }
+
+    @Test
+    public void testStatementSetBlock() {
+        String block =
+                "EXECUTE STATEMENT SET\n"
+                        + "BEGIN\n"
+                        + "INSERT INTO s1 SELECT CASE WHEN a > 0 THEN 'x;' ELSE 'y' END FROM t;\n"
+                        + "INSERT INTO s2 SELECT * FROM t;\n"
+                        + "END";
+        assertThat(StatementParser.parse("SET 'a' = '1';\n" + block + ";\nSELECT 1;"))
+                .containsExactly("SET 'a' = '1'", block, "SELECT 1");
+    }
+
+    @Test
+    public void testLeadingBeginOpensNoBlock() {
+        assertThat(
+                        StatementParser.parse(
+                                "BEGIN STATEMENT SET; INSERT INTO s SELECT * FROM t; END;"))
+                .containsExactly("BEGIN STATEMENT SET", "INSERT INTO s SELECT * FROM t", "END");
+    }
+
+    @Test
+    public void testEmptyStatements() {
+        assertThat(StatementParser.parse("")).isEmpty();
+        assertThat(StatementParser.parse(null)).isEmpty();
+        assertThat(StatementParser.parse(" ;;\r\n-- only a comment\r\n;  ")).isEmpty();
+    }
+
+    @Test
+    public void testWindowsLineEndings() {
+        assertThat(StatementParser.parse("SELECT 1;\r\n-- comment\r\nSELECT\r\n 2;\r\n"))
+                .containsExactly("SELECT 1", "SELECT\r\n 2");
+    }
+
+    @Test
+    public void testUnterminatedLiteral() {
+        assertThat(StatementParser.parse("SELECT 1; SELECT 'a;b"))
+                .containsExactly("SELECT 1", "SELECT 'a;b");
+    }
+
+    @Test
+    public void testOffsets() {
+        String script = "-- first\nSELECT 1;\n  SELECT /* c */ 2 -- tail\n;";
+        List<SqlStatement> statements = StatementParser.split(script);
+        assertThat(statements)
+                .containsExactly(
+                        new SqlStatement("SELECT 1", 9, 17),
+                        new SqlStatement("SELECT   2", 21, 37));
+        for (SqlStatement sqlStatement : statements) {
+            assertThat(script.substring(sqlStatement.getStartOffset(), sqlStatement.getEndOffset()))
+                    .startsWith("SELECT");
+        }
+    }
 }
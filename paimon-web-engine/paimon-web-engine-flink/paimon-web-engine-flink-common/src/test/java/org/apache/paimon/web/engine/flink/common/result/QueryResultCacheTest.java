@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import org.apache.paimon.web.engine.flink.common.operation.FlinkSqlOperationType;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests of {@link QueryResultCache}. */
+public class QueryResultCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final QueryResultCache cache =
+            QueryResultCache.builder()
+                    .maxEntries(2)
+                    .ttl(Duration.ofSeconds(10))
+                    .maxRows(2)
+                    .ticker(now::get)
+                    .build();
+
+    @Test
+    public void testNormalize() {
+        assertThat(QueryResultCache.normalize("  SELECT\n\t*  FROM t -- comment\n ;"))
+                .isEqualTo("SELECT * FROM t");
+        assertThat(QueryResultCache.normalize("SELECT /* a */ 'x  -- y',`a  b` FROM t"))
+                .isEqualTo("SELECT 'x  -- y',`a  b` FROM t");
+        assertThat(QueryResultCache.normalize("SELECT * FROM t /*+ OPTIONS('a'  =  'b') */"))
+                .isEqualTo("SELECT * FROM t /*+ OPTIONS('a'  =  'b') */");
+    }
+
+    @Test
+    public void testHitAfterReformatting() {
+        ExecutionResult result = result(1);
+        cache.put("SHOW TABLES", "c1", result);
+
+        assertThat(cache.get("show tables", "c1")).isNull();
+        assertThat(cache.get("-- tables\nSHOW   TABLES;", "c1").getData()).isEqualTo(result.getData());
+        assertThat(cache.get("SHOW TABLES", "c2")).isNull();
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void testShareContextOfEqualSessions() {
+        Map<String, String> properties = Collections.singletonMap("parallelism.default", "1");
+        assertThat(cache.context("s1")).isNull();
+        String context = cache.setContext("s1", cache.contextGeneration("s1"), properties, null, null);
+        assertThat(cache.context("s1")).isEqualTo(context);
+        assertThat(cache.setContext("s2", cache.contextGeneration("s2"), properties, null, null))
+                .isEqualTo(context);
+        assertThat(
+                        cache.setContext(
+                                "s3",
+                                cache.contextGeneration("s3"),
+                                Collections.singletonMap("parallelism.default", "2"),
+                                null,
+                                null))
+                .isNotEqualTo(context);
+
+        cache.put("SHOW TABLES", context, result(1));
+        cache.beforeSubmit("s2", "USE db1", FlinkSqlOperationType.USE);
+        assertThat(cache.context("s2")).isNull();
+        assertThat(cache.isSwitched("s2")).isTrue();
+        String switched =
+                cache.setContext("s2", cache.contextGeneration("s2"), properties, "c", "db1");
+        assertThat(switched).isNotEqualTo(context);
+        assertThat(cache.get("SHOW TABLES", switched)).isNull();
+        assertThat(cache.get("SHOW TABLES", cache.context("s1"))).isNotNull();
+    }
+
+    @Test
+    public void testIgnoreContextComputedBeforeChange() {
+        long generation = cache.contextGeneration("s1");
+        cache.beforeSubmit("s1", "SET 'parallelism.default' = '2'", FlinkSqlOperationType.SET);
+        assertThat(cache.setContext("s1", generation, Collections.emptyMap(), null, null))
+                .isNull();
+        assertThat(cache.context("s1")).isNull();
+    }
+
+    @Test
+    public void testIsolateSessionScopedObjects() {
+        Map<String, String> properties = Collections.emptyMap();
+        String shared = cache.setContext("s1", cache.contextGeneration("s1"), properties, null, null);
+        cache.beforeSubmit(
+                "s2",
+                "CREATE TEMPORARY VIEW v AS SELECT 1",
+                FlinkSqlOperationType.CREATE);
+        String isolated =
+                cache.setContext("s2", cache.contextGeneration("s2"), properties, null, null);
+        assertThat(isolated).isNotEqualTo(shared);
+
+        cache.resetContext("s2");
+        assertThat(cache.setContext("s2", cache.contextGeneration("s2"), properties, null, null))
+                .isEqualTo(shared);
+    }
+
+    @Test
+    public void testKeepPinnedEntriesOnDml() {
+        String pinned = "SELECT * FROM t /*+ OPTIONS('scan.snapshot-id' = '3') */";
+        cache.put(pinned, "c1", result(1));
+        cache.put("SELECT * FROM t", "c1", result(1));
+
+        cache.beforeSubmit("s1", "INSERT INTO t VALUES (1)", FlinkSqlOperationType.INSERT);
+        assertThat(cache.get(pinned, "c1")).isNotNull();
+        assertThat(cache.get("SELECT * FROM t", "c1")).isNull();
+
+        cache.beforeSubmit("s1", "DROP TABLE t", FlinkSqlOperationType.DROP);
+        assertThat(cache.get(pinned, "c1")).isNull();
+    }
+
+    @Test
+    public void testReturnImmutableCopies() {
+        ExecutionResult result = result(1);
+        cache.put("SHOW TABLES", "c1", result);
+        result.getData().clear();
+
+        ExecutionResult cached = cache.get("SHOW TABLES", "c1");
+        assertThat(cached.getData()).hasSize(1);
+        assertThatThrownBy(() -> cached.getData().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> cached.getData().get(0).put("b", 2))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testExpire() {
+        cache.put("SHOW TABLES", "c1", result(1));
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("SHOW TABLES", "c1")).isNotNull();
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get("SHOW TABLES", "c1")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        cache.put("SHOW TABLES", "c1", result(1));
+        cache.put("SHOW DATABASES", "c1", result(1));
+        cache.get("SHOW TABLES", "c1");
+        cache.put("SHOW CATALOGS", "c1", result(1));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("SHOW TABLES", "c1")).isNotNull();
+        assertThat(cache.get("SHOW DATABASES", "c1")).isNull();
+        assertThat(cache.get("SHOW CATALOGS", "c1")).isNotNull();
+    }
+
+    @Test
+    public void testSkipLargeResults() {
+        cache.put("SELECT * FROM t", "c1", result(3));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testPinnedQueriesDoNotExpire() {
+        String pinned = "SELECT * FROM t /*+ OPTIONS('scan.snapshot-id' = '3') */";
+        cache.put(pinned, "c1", result(1));
+        cache.put(
+                "SELECT * FROM t /*+ OPTIONS('scan.tag-name' = 'v1') */ WHERE a = 1", "c1", result(1));
+        now.addAndGet(Duration.ofDays(1).toNanos());
+
+        assertThat(cache.get(pinned, "c1")).isNotNull();
+        assertThat(
+                        cache.get(
+                                "SELECT * FROM t /*+ OPTIONS('scan.tag-name' = 'v1') */ WHERE a = 1",
+                                "c1"))
+                .isNotNull();
+    }
+
+    @Test
+    public void testIsPinned() {
+        assertThat(QueryResultCache.isPinned("SELECT * FROM t")).isFalse();
+        assertThat(QueryResultCache.isPinned("SHOW TABLES /*+ OPTIONS('scan.snapshot-id'='1') */"))
+                .isFalse();
+        assertThat(
+                        QueryResultCache.isPinned(
+                                "SELECT * FROM t /*+ OPTIONS('scan.snapshot-id'='1') */ JOIN s ON t.a = s.a"))
+                .isFalse();
+        assertThat(
+                        QueryResultCache.isPinned(
+                                "SELECT 'FROM' FROM t /*+ OPTIONS('SCAN.SNAPSHOT-ID'='1') */"))
+                .isTrue();
+        assertThat(QueryResultCache.isPinned("SELECT * FROM t WHERE b = '''scan.snapshot-id'''"))
+                .isFalse();
+        assertThat(
+                        QueryResultCache.isPinned(
+                                "SELECT * FROM t /*+ OPTIONS('scan.snapshot-id'='1') */, s WHERE t.a = s.a"))
+                .isFalse();
+        assertThat(
+                        QueryResultCache.isPinned(
+                                "SELECT a, b FROM t /*+ OPTIONS('scan.snapshot-id'='1', 'x'='y') */"
+                                        + " WHERE a IN (1, 2) ORDER BY a, b"))
+                .isTrue();
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        cache.put("SHOW TABLES", "c1", result(1));
+        cache.invalidateAll();
+        assertThat(cache.get("SHOW TABLES", "c1")).isNull();
+    }
+
+    private static ExecutionResult result(int rows) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            data.add(new HashMap<>(Collections.singletonMap("a", 1)));
+        }
+        return ExecutionResult.builder().data(data).build();
+    }
+}
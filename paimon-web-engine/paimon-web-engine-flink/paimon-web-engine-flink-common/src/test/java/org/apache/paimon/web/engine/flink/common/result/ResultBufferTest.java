@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests of {@link ResultBuffer}. */
+public class ResultBufferTest {
+
+    @TempDir File spillDirectory;
+
+    @Test
+    public void testKeepRowsOnHeap() {
+        try (ResultBuffer buffer = new ResultBuffer(10, spillDirectory)) {
+            List<Map<String, Object>> rows = rows(0, 5);
+            buffer.addAll(rows);
+
+            assertThat(buffer.size()).isEqualTo(5);
+            assertThat(buffer.spilledSize()).isZero();
+            assertThat(buffer.getRows(1, 3)).isEqualTo(rows.subList(1, 4));
+            assertThat(spillDirectory.list()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testSpillRows() {
+        try (ResultBuffer buffer = new ResultBuffer(10, spillDirectory)) {
+            List<Map<String, Object>> rows = rows(0, 1000);
+            buffer.addAll(rows);
+
+            assertThat(buffer.size()).isEqualTo(1000);
+            assertThat(buffer.spilledSize()).isEqualTo(990);
+            assertThat(spillDirectory.list()).hasSize(1);
+            // A page crossing the heap and the spill file.
+            assertThat(buffer.getRows(5, 20)).isEqualTo(rows.subList(5, 25));
+            // Pages starting between and on index entries.
+            assertThat(buffer.getRows(500, 7)).isEqualTo(rows.subList(500, 507));
+            assertThat(buffer.getRows(74, 64)).isEqualTo(rows.subList(74, 138));
+            assertThat(buffer.getRows(990, 50)).isEqualTo(rows.subList(990, 1000));
+            assertThat(buffer.getRows(1000, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    public void testTruncateAtSpillFileLimit() {
+        try (ResultBuffer buffer = new ResultBuffer(0, spillDirectory, 100)) {
+            List<Map<String, Object>> rows = rows(0, 1000);
+            buffer.addAll(rows);
+
+            assertThat(buffer.isTruncated()).isTrue();
+            long size = buffer.size();
+            assertThat(size).isPositive().isLessThan(1000);
+            assertThat(buffer.getRows(0, 1000)).isEqualTo(rows.subList(0, (int) size));
+
+            // Rows added after the truncation are dropped as well.
+            buffer.addAll(rows(1000, 10));
+            assertThat(buffer.size()).isEqualTo(size);
+        }
+    }
+
+    @Test
+    public void testFailAfterSpillError() {
+        try (ResultBuffer buffer = new ResultBuffer(0, spillDirectory)) {
+            buffer.addAll(rows(0, 10));
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", 10);
+            // The row fails after its first field is written.
+            row.put("name", new UnwritableValue());
+
+            assertThatThrownBy(() -> buffer.add(row)).isInstanceOf(UncheckedIOException.class);
+            assertThat(buffer.isFailed()).isTrue();
+            assertThat(buffer.size()).isEqualTo(10);
+            assertThatThrownBy(() -> buffer.getRows(0, 10))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> buffer.addAll(rows(10, 11)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void testAddAfterRead() {
+        try (ResultBuffer buffer = new ResultBuffer(0, spillDirectory)) {
+            List<Map<String, Object>> rows = rows(0, 200);
+            buffer.addAll(rows.subList(0, 100));
+            assertThat(buffer.getRows(90, 10)).isEqualTo(rows.subList(90, 100));
+
+            buffer.addAll(rows.subList(100, 200));
+            assertThat(buffer.getRows(95, 10)).isEqualTo(rows.subList(95, 105));
+        }
+    }
+
+    @Test
+    public void testAddPositionalRows() {
+        List<String> columns = Arrays.asList("id", "amount", "payload", "comment");
+        try (ResultBuffer buffer = new ResultBuffer(1, spillDirectory)) {
+            for (int i = 0; i < 3; i++) {
+                buffer.add(
+                        columns,
+                        Arrays.asList(
+                                i,
+                                new BigDecimal("-12345678901234567890.12").movePointLeft(i),
+                                new byte[] {(byte) i, -1},
+                                null));
+            }
+
+            List<Map<String, Object>> rows = buffer.getRows(0, 3);
+            assertThat(buffer.spilledSize()).isEqualTo(2);
+            for (int i = 0; i < 3; i++) {
+                Map<String, Object> row = rows.get(i);
+                assertThat(row.keySet()).containsExactlyElementsOf(columns);
+                assertThat(row.get("id")).isEqualTo(i);
+                assertThat(row.get("amount"))
+                        .isEqualTo(new BigDecimal("-12345678901234567890.12").movePointLeft(i));
+                assertThat((byte[]) row.get("payload")).containsExactly((byte) i, (byte) -1);
+                assertThat(row.get("comment")).isNull();
+            }
+        }
+    }
+
+    @Test
+    public void testDeleteSpillFileOnClose() {
+        ResultBuffer buffer = new ResultBuffer(1, spillDirectory);
+        buffer.addAll(rows(0, 10));
+        assertThat(spillDirectory.list()).hasSize(1);
+
+        buffer.close();
+        assertThat(spillDirectory.list()).isEmpty();
+        assertThatThrownBy(() -> buffer.getRows(0, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<Map<String, Object>> rows(int start, int end) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", i);
+            row.put("big", (long) i * Integer.MAX_VALUE * (i % 2 == 0 ? 1 : -1));
+            row.put("price", i / 4.0);
+            row.put("ratio", i / 8.0f);
+            row.put("valid", i % 3 == 0);
+            row.put("name", "name_" + i + "_é中");
+            row.put("comment", i % 5 == 0 ? null : "comment " + i);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /** A value whose string representation cannot be read. */
+    private static class UnwritableValue {
+
+        @Override
+        public String toString() {
+            throw new UncheckedIOException(new IOException("Cannot read the value."));
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.common.result;
+
+import org.apache.paimon.web.engine.flink.common.executor.Executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Tests of {@link ResultPusher}. */
+public class ResultPusherTest {
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    public void after() {
+        runner.shutdownNow();
+    }
+
+    @Test
+    public void testPushUntilEndOfStream() throws Exception {
+        PagedExecutor executor = new PagedExecutor(rows(2), rows(0), rows(3));
+        CollectingSink sink = new CollectingSink();
+
+        ResultPusher.EndReason reason =
+                pusher(executor).build().start(sink, runner).get(1, TimeUnit.MINUTES);
+
+        assertThat(reason).isEqualTo(ResultPusher.EndReason.END_OF_STREAM);
+        assertThat(sink.batchSizes).containsExactly(2, 3);
+        assertThat(sink.rowCount).isEqualTo(5);
+    }
+
+    @Test
+    public void testStopAtMaxRows() throws Exception {
+        PagedExecutor executor = new PagedExecutor(rows(2), rows(2), rows(2));
+        CollectingSink sink = new CollectingSink();
+
+        ResultPusher.EndReason reason =
+                pusher(executor).maxRows(3).build().start(sink, runner).get(1, TimeUnit.MINUTES);
+
+        assertThat(reason).isEqualTo(ResultPusher.EndReason.MAX_ROWS);
+        assertThat(sink.batchSizes).containsExactly(2, 1);
+        assertThat(executor.fetchCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testStopAtMaxBytes() throws Exception {
+        PagedExecutor executor = new PagedExecutor(rows(4));
+        CollectingSink sink = new CollectingSink();
+
+        // Every row is "id" plus a one digit value, three bytes.
+        ResultPusher.EndReason reason =
+                pusher(executor).maxBytes(7).build().start(sink, runner).get(1, TimeUnit.MINUTES);
+
+        assertThat(reason).isEqualTo(ResultPusher.EndReason.MAX_BYTES);
+        assertThat(sink.batchSizes).containsExactly(2);
+    }
+
+    @Test
+    public void testStopAtMaxBytesWithCompactRows() throws Exception {
+        PagedExecutor executor = new PagedExecutor(rows(4));
+        CollectingSink sink = new CollectingSink();
+
+        // Every compact row is a one digit value, one byte.
+        ResultPusher.EndReason reason =
+                pusher(executor)
+                        .resultFormat(ResultFormat.COMPACT)
+                        .maxBytes(3)
+                        .build()
+                        .start(sink, runner)
+                        .get(1, TimeUnit.MINUTES);
+
+        assertThat(reason).isEqualTo(ResultPusher.EndReason.MAX_BYTES);
+        assertThat(sink.batchSizes).containsExactly(3);
+        assertThat(sink.columns).containsExactly("id");
+    }
+
+    @Test
+    public void testPauseFetchingWhileSinkIsBusy() throws Exception {
+        PagedExecutor executor = new PagedExecutor(rows(1), rows(1), rows(1));
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingSink sink =
+                new CollectingSink() {
+                    @Override
+                    public void onBatch(List<Map<String, Object>> rows) throws Exception {
+                        release.await();
+                        super.onBatch(rows);
+                    }
+                };
+
+        CompletableFuture<ResultPusher.EndReason> future =
+                pusher(executor).build().start(sink, runner);
+        Thread.sleep(200);
+        assertThat(executor.fetchCount.get()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(future.get(1, TimeUnit.MINUTES)).isEqualTo(ResultPusher.EndReason.END_OF_STREAM);
+        assertThat(sink.rowCount).isEqualTo(3);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        PagedExecutor executor = new PagedExecutor(rows(1), rows(1), rows(1));
+        ResultPusher pusher = pusher(executor).build();
+        CollectingSink sink =
+                new CollectingSink() {
+                    @Override
+                    public void onBatch(List<Map<String, Object>> rows) throws Exception {
+                        super.onBatch(rows);
+                        pusher.cancel();
+                    }
+                };
+
+        ResultPusher.EndReason reason = pusher.start(sink, runner).get(1, TimeUnit.MINUTES);
+
+        assertThat(reason).isEqualTo(ResultPusher.EndReason.CANCELLED);
+        assertThat(sink.batchSizes).containsExactly(1);
+        assertThat(sink.completeReason).isEqualTo(ResultPusher.EndReason.CANCELLED);
+    }
+
+    @Test
+    public void testSinkFailure() {
+        PagedExecutor executor = new PagedExecutor(rows(1), rows(1));
+        CollectingSink sink =
+                new CollectingSink() {
+                    @Override
+                    public void onBatch(List<Map<String, Object>> rows) {
+                        throw new IllegalStateException("client gone");
+                    }
+                };
+
+        assertThatThrownBy(
+                        () -> pusher(executor).build().start(sink, runner).get(1, TimeUnit.MINUTES))
+                .isInstanceOf(ExecutionException.class);
+        assertThat(sink.error).hasMessage("client gone");
+        assertThat(sink.completeReason).isNull();
+    }
+
+    private ResultPusher.Builder pusher(Executor executor) {
+        return ResultPusher.builder().executor(executor).sessionId("session").submitId("submit");
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(Collections.singletonMap("id", String.valueOf(i)));
+        }
+        return rows;
+    }
+
+    /** An executor serving the given pages from token 1, followed by the end of the stream. */
+    private static class PagedExecutor implements Executor {
+
+        private final List<List<Map<String, Object>>> pages;
+        private final AtomicInteger fetchCount = new AtomicInteger();
+
+        @SafeVarargs
+        private PagedExecutor(List<Map<String, Object>>... pages) {
+            this.pages = Arrays.asList(pages);
+        }
+
+        @Override
+        public ExecutionResult executeSql(String statement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ExecutionResult fetchResults(FetchResultParams params) {
+            fetchCount.incrementAndGet();
+            int index = (int) (params.getToken() - 1);
+            if (index >= pages.size()) {
+                return ExecutionResult.builder().shouldFetchResult(false).build();
+            }
+            if (params.getResultFormat() == ResultFormat.COMPACT) {
+                List<List<Object>> rows = new ArrayList<>();
+                for (Map<String, Object> row : pages.get(index)) {
+                    rows.add(new ArrayList<>(row.values()));
+                }
+                return ExecutionResult.builder()
+                        .submitId(params.getSubmitId())
+                        .columns(Collections.singletonList(new ResultColumn("id", "STRING")))
+                        .rows(rows)
+                        .shouldFetchResult(true)
+                        .build();
+            }
+            return ExecutionResult.builder()
+                    .submitId(params.getSubmitId())
+                    .data(pages.get(index))
+                    .shouldFetchResult(true)
+                    .build();
+        }
+
+        @Override
+        public void stop(String jobId, boolean withSavepoint) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** A sink remembering what it received. */
+    private static class CollectingSink implements ResultSink {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final List<String> columns = new ArrayList<>();
+        private long rowCount;
+        private ResultPusher.EndReason completeReason;
+        private Throwable error;
+
+        @Override
+        public void onBatch(List<Map<String, Object>> rows) throws Exception {
+            batchSizes.add(rows.size());
+        }
+
+        @Override
+        public void onCompactBatch(List<ResultColumn> columns, List<List<Object>> rows) {
+            columns.forEach(column -> this.columns.add(column.getName()));
+            batchSizes.add(rows.size());
+        }
+
+        @Override
+        public void onComplete(ResultPusher.EndReason reason, long rowCount) {
+            this.completeReason = reason;
+            this.rowCount = rowCount;
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+    }
+}
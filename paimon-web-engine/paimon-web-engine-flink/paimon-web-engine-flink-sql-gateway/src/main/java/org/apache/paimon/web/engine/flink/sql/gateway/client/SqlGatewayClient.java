@@ -38,6 +38,7 @@ import org.apache.flink.table.gateway.rest.header.session.TriggerSessionHeartbea
 import org.apache.flink.table.gateway.rest.header.statement.CompleteStatementHeaders;
 import org.apache.flink.table.gateway.rest.header.statement.ExecuteStatementHeaders;
 import org.apache.flink.table.gateway.rest.header.statement.FetchResultsHeaders;
+import org.apache.flink.table.gateway.rest.header.util.GetInfoHeaders;
 import org.apache.flink.table.gateway.rest.message.operation.OperationMessageParameters;
 import org.apache.flink.table.gateway.rest.message.session.ConfigureSessionRequestBody;
 import org.apache.flink.table.gateway.rest.message.session.GetSessionConfigResponseBody;
@@ -47,34 +48,76 @@ import org.apache.flink.table.gateway.rest.message.statement.CompleteStatementRe
 import org.apache.flink.table.gateway.rest.message.statement.ExecuteStatementRequestBody;
 import org.apache.flink.table.gateway.rest.message.statement.FetchResultsMessageParameters;
 import org.apache.flink.table.gateway.rest.message.statement.FetchResultsResponseBody;
+import org.apache.flink.table.gateway.rest.message.util.GetInfoResponseBody;
 import org.apache.flink.table.gateway.rest.util.RowFormat;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 
 import javax.annotation.Nullable;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * The client of flink sql gateway provides some operations of flink sql gateway. such as creating
  * session, execute statement, fetch result, etc.
+ *
+ * <p>The round trips of all calls are recorded by the {@link SqlGatewayClientMetrics}.
  */
 public class SqlGatewayClient {
 
     private static final String DEFAULT_SESSION_NAME_PREFIX = "FLINK_SQL_GATEWAY_SESSION";
-    private static final int REQUEST_WAITE_TIME = 1000;
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 10;
+    private static final long MAX_RETRY_DELAY_MILLIS = 1000;
     private static final int ACTIVE_STATUS = 1;
 
+    private static final ScheduledExecutorService RETRY_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(
+                    new ExecutorThreadFactory("sql-gateway-fetch-retry"));
+
     private final SqlGateWayRestClient restClient;
     private final String sqlGatewayHost;
     private final int sqlGatewayPort;
+    private final String gateway;
+    private final SqlGatewayClientMetrics metrics;
 
     public SqlGatewayClient(String sqlGatewayHost, int sqlGatewayPort) throws Exception {
+        this(SqlGatewayRestClientPool.getDefault(), sqlGatewayHost, sqlGatewayPort);
+    }
+
+    public SqlGatewayClient(
+            SqlGatewayRestClientPool restClientPool, String sqlGatewayHost, int sqlGatewayPort)
+            throws Exception {
+        this(restClientPool, sqlGatewayHost, sqlGatewayPort, SqlGatewayClientMetrics.getDefault());
+    }
+
+    public SqlGatewayClient(
+            SqlGatewayRestClientPool restClientPool,
+            String sqlGatewayHost,
+            int sqlGatewayPort,
+            SqlGatewayClientMetrics metrics)
+            throws Exception {
         this.sqlGatewayHost = sqlGatewayHost;
         this.sqlGatewayPort = sqlGatewayPort;
-        this.restClient = new SqlGateWayRestClient(sqlGatewayHost, sqlGatewayPort);
+        this.gateway = sqlGatewayHost + ":" + sqlGatewayPort;
+        this.metrics = metrics;
+        this.restClient = restClientPool.getRestClient(sqlGatewayHost, sqlGatewayPort);
+    }
+
+    public String getSqlGatewayHost() {
+        return sqlGatewayHost;
+    }
+
+    public int getSqlGatewayPort() {
+        return sqlGatewayPort;
     }
 
     public SessionEntity openSession(String sessionName) throws Exception {
@@ -84,11 +127,13 @@ public class SqlGatewayClient {
                         : sessionName;
 
         String sessionId =
-                restClient
-                        .sendRequest(
-                                OpenSessionHeaders.getInstance(),
-                                EmptyMessageParameters.getInstance(),
-                                new OpenSessionRequestBody(name, new HashMap<>()))
+                instrument(
+                                "open-session",
+                                () ->
+                                        restClient.sendRequest(
+                                                OpenSessionHeaders.getInstance(),
+                                                EmptyMessageParameters.getInstance(),
+                                                new OpenSessionRequestBody(name, new HashMap<>())))
                         .get()
                         .getSessionHandle();
 
@@ -102,137 +147,306 @@ public class SqlGatewayClient {
                 .build();
     }
 
+    /**
+     * Requests the product information of the gateway, which also serves as health check.
+     *
+     * @return the future of the gateway information
+     */
+    public CompletableFuture<GetInfoResponseBody> getInfoAsync() {
+        return instrument(
+                "get-info",
+                () ->
+                        restClient.sendRequest(
+                                GetInfoHeaders.getInstance(),
+                                EmptyMessageParameters.getInstance(),
+                                EmptyRequestBody.getInstance()));
+    }
+
     public Map<String, String> getSessionConfig(String sessionId) throws Exception {
-        GetSessionConfigResponseBody getSessionConfigResponseBody =
-                restClient
-                        .sendRequest(
-                                GetSessionConfigHeaders.getInstance(),
-                                new SessionMessageParameters(
-                                        buildSessionHandleBySessionId(sessionId)),
-                                EmptyRequestBody.getInstance())
-                        .get();
-        return getSessionConfigResponseBody.getProperties();
+        return getSessionConfigAsync(sessionId).get();
+    }
+
+    public CompletableFuture<Map<String, String>> getSessionConfigAsync(String sessionId) {
+        return instrument(
+                        "get-session-config",
+                        () ->
+                                restClient.sendRequest(
+                                        GetSessionConfigHeaders.getInstance(),
+                                        new SessionMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId)),
+                                        EmptyRequestBody.getInstance()))
+                .thenApply(GetSessionConfigResponseBody::getProperties);
     }
 
     public void configureSession(String sessionId, String statement, Long timeout)
             throws Exception {
         ConfigureSessionRequestBody configureSessionRequestBody =
                 new ConfigureSessionRequestBody(statement, timeout);
-        restClient
-                .sendRequest(
-                        ConfigureSessionHeaders.getInstance(),
-                        new SessionMessageParameters(buildSessionHandleBySessionId(sessionId)),
-                        configureSessionRequestBody)
+        instrument(
+                        "configure-session",
+                        () ->
+                                restClient.sendRequest(
+                                        ConfigureSessionHeaders.getInstance(),
+                                        new SessionMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId)),
+                                        configureSessionRequestBody))
                 .get();
     }
 
     public String closeSession(String sessionId) throws Exception {
-        return restClient
-                .sendRequest(
-                        CloseSessionHeaders.getInstance(),
-                        new SessionMessageParameters(buildSessionHandleBySessionId(sessionId)),
-                        EmptyRequestBody.getInstance())
+        return instrument(
+                        "close-session",
+                        () ->
+                                restClient.sendRequest(
+                                        CloseSessionHeaders.getInstance(),
+                                        new SessionMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId)),
+                                        EmptyRequestBody.getInstance()))
                 .get()
                 .getStatus();
     }
 
     public void triggerSessionHeartbeat(String sessionId) throws Exception {
-        restClient
-                .sendRequest(
-                        TriggerSessionHeartbeatHeaders.getInstance(),
-                        new SessionMessageParameters(buildSessionHandleBySessionId(sessionId)),
-                        EmptyRequestBody.getInstance())
-                .get();
+        triggerSessionHeartbeatAsync(sessionId).get();
+    }
+
+    public CompletableFuture<Void> triggerSessionHeartbeatAsync(String sessionId) {
+        return instrument(
+                        "heartbeat-session",
+                        () ->
+                                restClient.sendRequest(
+                                        TriggerSessionHeartbeatHeaders.getInstance(),
+                                        new SessionMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId)),
+                                        EmptyRequestBody.getInstance()))
+                .thenApply(response -> null);
     }
 
     public String executeStatement(String sessionId, String statement, @Nullable Long timeout)
             throws Exception {
-        return restClient
-                .sendRequest(
-                        ExecuteStatementHeaders.getInstance(),
-                        new SessionMessageParameters(buildSessionHandleBySessionId(sessionId)),
-                        new ExecuteStatementRequestBody(statement, timeout, new HashMap<>()))
-                .get()
-                .getOperationHandle();
+        return executeStatementAsync(sessionId, statement, timeout).get();
+    }
+
+    /**
+     * Submits a statement without blocking the caller.
+     *
+     * @param sessionId the session id
+     * @param statement the statement
+     * @param timeout the execution timeout of the statement, null for no timeout
+     * @return the future of the operation id, completed when the gateway accepted the statement
+     */
+    public CompletableFuture<String> executeStatementAsync(
+            String sessionId, String statement, @Nullable Long timeout) {
+        long startTime = metrics.start();
+        return instrument(
+                        "execute-statement",
+                        () ->
+                                restClient.sendRequest(
+                                        ExecuteStatementHeaders.getInstance(),
+                                        new SessionMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId)),
+                                        new ExecuteStatementRequestBody(
+                                                statement, timeout, new HashMap<>())))
+                .thenApply(
+                        response -> {
+                            metrics.recordSubmitted(response.getOperationHandle(), startTime);
+                            return response.getOperationHandle();
+                        });
     }
 
     public List<String> completeStatementHints(String sessionId, String statement)
             throws Exception {
-        return restClient
-                .sendRequest(
-                        CompleteStatementHeaders.getInstance(),
-                        new SessionMessageParameters(buildSessionHandleBySessionId(sessionId)),
-                        new CompleteStatementRequestBody(statement, statement.length()))
+        return instrument(
+                        "complete-statement",
+                        () ->
+                                restClient.sendRequest(
+                                        CompleteStatementHeaders.getInstance(),
+                                        new SessionMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId)),
+                                        new CompleteStatementRequestBody(
+                                                statement, statement.length())))
                 .get()
                 .getCandidates();
     }
 
     public FetchResultsResponseBody fetchResults(String sessionId, String operationId, long token)
             throws Exception {
-        FetchResultsResponseBody fetchResultsResponseBody =
-                restClient
-                        .sendRequest(
-                                FetchResultsHeaders.getDefaultInstance(),
-                                new FetchResultsMessageParameters(
-                                        buildSessionHandleBySessionId(sessionId),
-                                        buildOperationHandleByOperationId(operationId),
-                                        token,
-                                        RowFormat.JSON),
-                                EmptyRequestBody.getInstance())
-                        .get();
-        ResultSet.ResultType resultType = fetchResultsResponseBody.getResultType();
-        while (resultType == ResultSet.ResultType.NOT_READY) {
-            fetchResultsResponseBody =
-                    restClient
-                            .sendRequest(
-                                    FetchResultsHeaders.getDefaultInstance(),
-                                    new FetchResultsMessageParameters(
-                                            buildSessionHandleBySessionId(sessionId),
-                                            buildOperationHandleByOperationId(operationId),
-                                            token,
-                                            RowFormat.JSON),
-                                    EmptyRequestBody.getInstance())
-                            .get();
-            resultType = fetchResultsResponseBody.getResultType();
-            TimeUnit.MILLISECONDS.sleep(REQUEST_WAITE_TIME);
+        return fetchResultsAsync(sessionId, operationId, token, null).get();
+    }
+
+    /**
+     * Fetches the results of the given token without blocking the caller. While the gateway answers
+     * NOT_READY the request is retried, starting after {@link #INITIAL_RETRY_DELAY_MILLIS} and
+     * doubling the delay up to {@link #MAX_RETRY_DELAY_MILLIS}. Cancelling the returned future
+     * stops the retries.
+     *
+     * @param sessionId the session id
+     * @param operationId the operation id
+     * @param token the token of the results to fetch
+     * @param timeout the overall time to wait for the results, null to wait without a deadline
+     * @return the future of the first response that is not NOT_READY, completed exceptionally with
+     *     a {@link TimeoutException} when the deadline passed
+     */
+    public CompletableFuture<FetchResultsResponseBody> fetchResultsAsync(
+            String sessionId, String operationId, long token, @Nullable Duration timeout) {
+        CompletableFuture<FetchResultsResponseBody> result = new CompletableFuture<>();
+        long deadline = timeout == null ? Long.MAX_VALUE : System.nanoTime() + timeout.toNanos();
+        pollResults(sessionId, operationId, token, INITIAL_RETRY_DELAY_MILLIS, deadline, 1, result);
+        return result;
+    }
+
+    private void pollResults(
+            String sessionId,
+            String operationId,
+            long token,
+            long retryDelayMillis,
+            long deadline,
+            int polls,
+            CompletableFuture<FetchResultsResponseBody> result) {
+        if (result.isDone()) {
+            return;
+        }
+        // Runs on the retry scheduler, which swallows exceptions, so every failure has to
+        // complete the result or its callers would wait forever.
+        try {
+            instrument(
+                            "fetch-results",
+                            () ->
+                                    restClient.sendRequest(
+                                            FetchResultsHeaders.getDefaultInstance(),
+                                            new FetchResultsMessageParameters(
+                                                    buildSessionHandleBySessionId(sessionId),
+                                                    buildOperationHandleByOperationId(operationId),
+                                                    token,
+                                                    RowFormat.JSON),
+                                            EmptyRequestBody.getInstance()))
+                    .whenComplete(
+                            (response, error) -> {
+                                if (error != null) {
+                                    metrics.recordPolls(gateway, polls);
+                                    result.completeExceptionally(error);
+                                    return;
+                                }
+                                if (response.getResultType() != ResultSet.ResultType.NOT_READY) {
+                                    metrics.recordPolls(gateway, polls);
+                                    metrics.recordResults(operationId, response);
+                                    result.complete(response);
+                                    return;
+                                }
+                                long remainingMillis =
+                                        TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                                if (remainingMillis <= 0) {
+                                    metrics.recordPolls(gateway, polls);
+                                    result.completeExceptionally(
+                                            new TimeoutException(
+                                                    "Results of operation "
+                                                            + operationId
+                                                            + " are not ready before the deadline."));
+                                    return;
+                                }
+                                RETRY_SCHEDULER.schedule(
+                                        () ->
+                                                pollResults(
+                                                        sessionId,
+                                                        operationId,
+                                                        token,
+                                                        Math.min(
+                                                                retryDelayMillis * 2,
+                                                                MAX_RETRY_DELAY_MILLIS),
+                                                        deadline,
+                                                        polls + 1,
+                                                        result),
+                                        Math.min(retryDelayMillis, remainingMillis),
+                                        TimeUnit.MILLISECONDS);
+                            })
+                    // Fails the result when the callback above throws, a no-op otherwise.
+                    .exceptionally(
+                            t -> {
+                                result.completeExceptionally(t);
+                                return null;
+                            });
+        } catch (Throwable t) {
+            metrics.recordPolls(gateway, polls);
+            result.completeExceptionally(t);
         }
-        return fetchResultsResponseBody;
     }
 
     public String getOperationStatus(String sessionId, String operationId) throws Exception {
-        return restClient
-                .sendRequest(
-                        GetOperationStatusHeaders.getInstance(),
-                        new OperationMessageParameters(
-                                buildSessionHandleBySessionId(sessionId),
-                                buildOperationHandleByOperationId(operationId)),
-                        EmptyRequestBody.getInstance())
+        return instrument(
+                        "get-operation-status",
+                        () ->
+                                restClient.sendRequest(
+                                        GetOperationStatusHeaders.getInstance(),
+                                        new OperationMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId),
+                                                buildOperationHandleByOperationId(operationId)),
+                                        EmptyRequestBody.getInstance()))
                 .get()
                 .getStatus();
     }
 
     public String cancelOperation(String sessionId, String operationId) throws Exception {
-        return restClient
-                .sendRequest(
-                        CancelOperationHeaders.getInstance(),
-                        new OperationMessageParameters(
-                                buildSessionHandleBySessionId(sessionId),
-                                buildOperationHandleByOperationId(operationId)),
-                        EmptyRequestBody.getInstance())
-                .get()
-                .getStatus();
+        return cancelOperationAsync(sessionId, operationId).get();
+    }
+
+    public CompletableFuture<String> cancelOperationAsync(String sessionId, String operationId) {
+        metrics.recordClosed(operationId);
+        return instrument(
+                        "cancel-operation",
+                        () ->
+                                restClient.sendRequest(
+                                        CancelOperationHeaders.getInstance(),
+                                        new OperationMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId),
+                                                buildOperationHandleByOperationId(operationId)),
+                                        EmptyRequestBody.getInstance()))
+                .thenApply(response -> response.getStatus());
     }
 
     public String closeOperation(String sessionId, String operationId) throws Exception {
-        return restClient
-                .sendRequest(
-                        CloseOperationHeaders.getInstance(),
-                        new OperationMessageParameters(
-                                buildSessionHandleBySessionId(sessionId),
-                                buildOperationHandleByOperationId(operationId)),
-                        EmptyRequestBody.getInstance())
-                .get()
-                .getStatus();
+        return closeOperationAsync(sessionId, operationId).get();
+    }
+
+    public CompletableFuture<String> closeOperationAsync(String sessionId, String operationId) {
+        metrics.recordClosed(operationId);
+        return instrument(
+                        "close-operation",
+                        () ->
+                                restClient.sendRequest(
+                                        CloseOperationHeaders.getInstance(),
+                                        new OperationMessageParameters(
+                                                buildSessionHandleBySessionId(sessionId),
+                                                buildOperationHandleByOperationId(operationId)),
+                                        EmptyRequestBody.getInstance()))
+                .thenApply(response -> response.getStatus());
+    }
+
+    /**
+     * Sends a request and records its round trip. The returned future completes with the result or
+     * the exception of the request as is.
+     */
+    private <R> CompletableFuture<R> instrument(
+            String call, Supplier<CompletableFuture<R>> request) {
+        long startTime = metrics.start();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        CompletableFuture<R> sent;
+        try {
+            sent = request.get();
+        } catch (Throwable t) {
+            metrics.recordRequest(call, gateway, startTime, t);
+            result.completeExceptionally(t);
+            return result;
+        }
+        sent.whenComplete(
+                (response, error) -> {
+                    metrics.recordRequest(call, gateway, startTime, error);
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(response);
+                    }
+                });
+        return result;
     }
 
     private SessionHandle buildSessionHandleBySessionId(String sessionId) {
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gateway.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.apache.flink.table.gateway.api.results.ResultSet;
+import org.apache.flink.table.gateway.rest.message.statement.FetchResultsResponseBody;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of the {@link SqlGatewayClient}.
+ *
+ * <p>Every rest call is timed under {@code paimon.sql-gateway.requests}, tagged with the call, the
+ * outcome and the gateway. The latency of a statement is split into the phases {@code submit}
+ * (until the gateway accepted the statement), {@code first-row} (until the first rows were fetched)
+ * and {@code complete} (until the end of the results was fetched), all measured from the
+ * submission. The number of fetch requests needed until the results of a token were ready is
+ * recorded under {@code paimon.sql-gateway.fetch.polls}.
+ *
+ * <p>The default instance, used by the clients of the executors, registers to the global registry
+ * of Micrometer, which exports nothing by itself. An application embedding the engine exports the
+ * meters by adding its registry to the global one with {@link Metrics#addRegistry}, in Spring Boot
+ * also with {@code management.metrics.use-global-registry: true}. Clients created with their own
+ * instance record to the registry of that instance only.
+ */
+public class SqlGatewayClientMetrics {
+
+    private static final String METRIC_PREFIX = "paimon.sql-gateway";
+
+    private static final SqlGatewayClientMetrics DEFAULT =
+            new SqlGatewayClientMetrics(Metrics.globalRegistry);
+
+    private final MeterRegistry meterRegistry;
+    private final Timer submitTimer;
+    private final Timer firstRowTimer;
+    private final Timer completeTimer;
+
+    /** Submission time of the statements whose results are not completely fetched yet. */
+    private final ConcurrentMap<String, StatementTiming> statements = new ConcurrentHashMap<>();
+
+    public SqlGatewayClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.submitTimer = statementTimer("submit");
+        this.firstRowTimer = statementTimer("first-row");
+        this.completeTimer = statementTimer("complete");
+    }
+
+    public static SqlGatewayClientMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    /** Returns the start time of a call, to be passed to the record methods. */
+    long start() {
+        return meterRegistry.config().clock().monotonicTime();
+    }
+
+    void recordRequest(String call, String gateway, long startTime, @Nullable Throwable error) {
+        Timer.builder(METRIC_PREFIX + ".requests")
+                .description("Round trips of the rest calls to the sql gateway.")
+                .tag("call", call)
+                .tag("outcome", error == null ? "success" : "error")
+                .tag("gateway", gateway)
+                .register(meterRegistry)
+                .record(elapsed(startTime), TimeUnit.NANOSECONDS);
+    }
+
+    void recordSubmitted(String operationId, long startTime) {
+        submitTimer.record(elapsed(startTime), TimeUnit.NANOSECONDS);
+        statements.put(operationId, new StatementTiming(startTime));
+    }
+
+    void recordPolls(String gateway, int polls) {
+        DistributionSummary.builder(METRIC_PREFIX + ".fetch.polls")
+                .description("Fetch requests sent until the results of a token were ready.")
+                .tag("gateway", gateway)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(polls);
+    }
+
+    void recordResults(String operationId, FetchResultsResponseBody response) {
+        StatementTiming timing = statements.get(operationId);
+        if (timing == null) {
+            return;
+        }
+        boolean hasRows =
+                response.getResults() != null && !response.getResults().getData().isEmpty();
+        if (hasRows && !timing.firstRowRecorded) {
+            timing.firstRowRecorded = true;
+            firstRowTimer.record(elapsed(timing.startTime), TimeUnit.NANOSECONDS);
+        }
+        if (response.getResultType() == ResultSet.ResultType.EOS
+                && statements.remove(operationId) != null) {
+            completeTimer.record(elapsed(timing.startTime), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Stops tracking a statement whose results will not be fetched to the end. */
+    void recordClosed(String operationId) {
+        statements.remove(operationId);
+    }
+
+    int getTrackedStatements() {
+        return statements.size();
+    }
+
+    private Timer statementTimer(String phase) {
+        return Timer.builder(METRIC_PREFIX + ".statement.latency")
+                .description("Latency of the statements since their submission, per phase.")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private long elapsed(long startTime) {
+        return meterRegistry.config().clock().monotonicTime() - startTime;
+    }
+
+    /** Timing of a statement whose results are being fetched. */
+    private static class StatementTiming {
+
+        private final long startTime;
+        private volatile boolean firstRowRecorded;
+
+        private StatementTiming(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+}
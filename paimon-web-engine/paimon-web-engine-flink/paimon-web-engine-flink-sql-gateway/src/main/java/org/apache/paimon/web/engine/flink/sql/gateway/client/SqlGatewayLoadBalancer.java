@@ -0,0 +1,409 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gateway.client;
+
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+import org.apache.paimon.web.engine.flink.sql.gateway.utils.SessionStatementBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.JobManagerOptions;
+import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import javax.annotation.Nullable;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Balances sessions over several sql gateway endpoints.
+ *
+ * <p>A new session is opened on the healthy endpoint with the least load, the number of sessions
+ * opened through the balancer plus the open operations of its {@link
+ * SqlGatewayOperationRegistry#getDefault default operation registry}. Every {@link
+ * #HEALTH_CHECK_INTERVAL} the endpoints are asked for their info; an endpoint that does not answer
+ * within {@link #HEALTH_CHECK_TIMEOUT} or fails to open a session is unhealthy until it answers a
+ * later check. Sessions of an unhealthy endpoint are moved to another endpoint with {@link
+ * #failover}.
+ *
+ * <p>The balancer keeps the defaults of the sessions it opened. The user settings of a session are
+ * the properties that differ from them, they are replayed on the new session of a failover. The
+ * balancer only learns about them through {@link #refreshSessionConfig}, which the executors of a
+ * balanced session call after {@code SET} and {@code RESET} statements.
+ */
+@Slf4j
+public class SqlGatewayLoadBalancer implements AutoCloseable {
+
+    public static final ConfigOption<Duration> HEALTH_CHECK_INTERVAL =
+            ConfigOptions.key("sql-gateway.load-balancer.health-check-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(10))
+                    .withDescription("The interval of the health checks of the gateway endpoints.");
+
+    public static final ConfigOption<Duration> HEALTH_CHECK_TIMEOUT =
+            ConfigOptions.key("sql-gateway.load-balancer.health-check-timeout")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(5))
+                    .withDescription(
+                            "The time after which an endpoint that did not answer the health check is unhealthy.");
+
+    /** The properties bound to the gateway or its cluster, they are never replayed. */
+    private static final Set<String> DEPLOYMENT_KEYS =
+            new HashSet<>(
+                    Arrays.asList(
+                            RestOptions.ADDRESS.key(),
+                            RestOptions.PORT.key(),
+                            RestOptions.BIND_ADDRESS.key(),
+                            RestOptions.BIND_PORT.key(),
+                            JobManagerOptions.ADDRESS.key(),
+                            JobManagerOptions.PORT.key()));
+
+    private final SqlGatewayRestClientPool restClientPool;
+    private final List<Endpoint> endpoints;
+    private final Map<String, TrackedSession> trackedSessions = new ConcurrentHashMap<>();
+    private final long healthCheckTimeoutMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public SqlGatewayLoadBalancer(
+            SqlGatewayRestClientPool restClientPool,
+            List<InetSocketAddress> addresses,
+            Configuration configuration)
+            throws Exception {
+        Preconditions.checkArgument(
+                !addresses.isEmpty(), "At least one sql gateway endpoint is required.");
+        this.restClientPool = restClientPool;
+        this.endpoints = new ArrayList<>(addresses.size());
+        for (InetSocketAddress address : addresses) {
+            endpoints.add(
+                    new Endpoint(
+                            new SqlGatewayClient(
+                                    restClientPool, address.getHostString(), address.getPort())));
+        }
+        this.healthCheckTimeoutMillis = configuration.get(HEALTH_CHECK_TIMEOUT).toMillis();
+
+        long healthCheckIntervalMillis = configuration.get(HEALTH_CHECK_INTERVAL).toMillis();
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ExecutorThreadFactory("sql-gateway-load-balancer"));
+        this.scheduler.scheduleWithFixedDelay(
+                this::checkHealth,
+                healthCheckIntervalMillis,
+                healthCheckIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public SqlGatewayRestClientPool getRestClientPool() {
+        return restClientPool;
+    }
+
+    /**
+     * Opens a session on the healthy endpoint with the least load, trying the next endpoint when
+     * opening the session fails.
+     *
+     * @param sessionName the session name, null for a generated name
+     * @return the opened session
+     */
+    public SessionEntity openSession(String sessionName) throws Exception {
+        List<Endpoint> candidates = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.healthy) {
+                candidates.add(endpoint);
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Endpoint::load));
+
+        Exception failure = null;
+        for (Endpoint endpoint : candidates) {
+            try {
+                SessionEntity session = endpoint.client.openSession(sessionName);
+                endpoint.sessions.incrementAndGet();
+                trackedSessions.put(
+                        session.getSessionId(), new TrackedSession(session.getProperties()));
+                return session;
+            } catch (Exception e) {
+                log.warn("Failed to open a session on sql gateway [{}].", endpoint, e);
+                markUnhealthy(endpoint);
+                failure = e;
+            }
+        }
+        IllegalStateException exception =
+                new IllegalStateException("There is no healthy sql gateway endpoint.");
+        if (failure != null) {
+            exception.addSuppressed(failure);
+        }
+        throw exception;
+    }
+
+    /**
+     * Returns whether the endpoint of a session is healthy. Sessions of endpoints unknown to the
+     * balancer are considered healthy.
+     */
+    public boolean isHealthy(SessionEntity session) {
+        Endpoint endpoint = findEndpoint(session);
+        return endpoint == null || endpoint.healthy;
+    }
+
+    /**
+     * Updates the known properties of a session opened through the balancer, after they were
+     * changed by a statement. The update never fails, a failed request is only logged.
+     *
+     * @param session the session
+     * @return the future completed when the properties are updated
+     */
+    public CompletableFuture<Void> refreshSessionConfig(SessionEntity session) {
+        TrackedSession trackedSession = trackedSessions.get(session.getSessionId());
+        Endpoint endpoint = findEndpoint(session);
+        if (trackedSession == null || endpoint == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return endpoint.client
+                .getSessionConfigAsync(session.getSessionId())
+                .handle(
+                        (properties, error) -> {
+                            if (error != null) {
+                                log.warn(
+                                        "Failed to get the properties of session [{}].",
+                                        session.getSessionId(),
+                                        error);
+                            } else {
+                                trackedSession.properties = properties;
+                            }
+                            return null;
+                        });
+    }
+
+    /**
+     * Replaces a session of an unhealthy endpoint with a new session on another endpoint. The user
+     * settings of the old session, as far as they are known to the balancer, are applied to the new
+     * session with {@code SET} statements. Properties bound to the gateway, like its rest address
+     * or the address of its job manager, are kept from the new session.
+     *
+     * <p>Only the session is moved, executors created for the old session keep using it and fail
+     * once its endpoint is gone. Callers create new executors for the returned session.
+     *
+     * @param session the session of the unhealthy endpoint
+     * @return the new session
+     */
+    public SessionEntity failover(SessionEntity session) throws Exception {
+        release(session);
+        TrackedSession trackedSession = trackedSessions.remove(session.getSessionId());
+        SessionEntity newSession = openSession(session.getSessionName());
+        if (trackedSession == null) {
+            return newSession;
+        }
+        SqlGatewayClient client = Objects.requireNonNull(findEndpoint(newSession)).client;
+        boolean configured = false;
+        for (Map.Entry<String, String> property : trackedSession.userSettings().entrySet()) {
+            if (!Objects.equals(
+                    newSession.getProperties().get(property.getKey()), property.getValue())) {
+                client.configureSession(
+                        newSession.getSessionId(),
+                        SessionStatementBuilder.buildSetStatement(
+                                property.getKey(), property.getValue()),
+                        null);
+                configured = true;
+            }
+        }
+        log.info(
+                "Moved session [{}] of sql gateway [{}:{}] to session [{}] of [{}:{}].",
+                session.getSessionId(),
+                session.getHost(),
+                session.getPort(),
+                newSession.getSessionId(),
+                newSession.getHost(),
+                newSession.getPort());
+        if (!configured) {
+            return newSession;
+        }
+        Map<String, String> properties = client.getSessionConfig(newSession.getSessionId());
+        TrackedSession newTrackedSession = trackedSessions.get(newSession.getSessionId());
+        if (newTrackedSession != null) {
+            newTrackedSession.properties = properties;
+        }
+        return newSession.toBuilder().properties(properties).build();
+    }
+
+    /**
+     * Closes a session opened through the balancer.
+     *
+     * @param session the session
+     */
+    public void closeSession(SessionEntity session) throws Exception {
+        trackedSessions.remove(session.getSessionId());
+        Endpoint endpoint = release(session);
+        if (endpoint != null) {
+            endpoint.client.closeSession(session.getSessionId());
+        }
+    }
+
+    public List<InetSocketAddress> getHealthyEndpoints() {
+        List<InetSocketAddress> healthy = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.healthy) {
+                healthy.add(endpoint.address());
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * Returns the number of sessions opened through the balancer on an endpoint.
+     *
+     * @param host the host of the endpoint
+     * @param port the port of the endpoint
+     * @return the number of open sessions, 0 for unknown endpoints
+     */
+    public int getSessions(String host, int port) {
+        Endpoint endpoint = findEndpoint(host, port);
+        return endpoint == null ? 0 : endpoint.sessions.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /** Asks all endpoints for their info at once and updates their health. */
+    void checkHealth() {
+        List<CompletableFuture<?>> checks = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            checks.add(endpoint.client.getInfoAsync());
+        }
+        long deadline = System.currentTimeMillis() + healthCheckTimeoutMillis;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            try {
+                checks.get(i)
+                        .get(
+                                Math.max(0, deadline - System.currentTimeMillis()),
+                                TimeUnit.MILLISECONDS);
+                if (!endpoint.healthy) {
+                    log.info("Sql gateway [{}] is healthy again.", endpoint);
+                    endpoint.healthy = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                checks.get(i).cancel(false);
+                markUnhealthy(endpoint);
+            }
+        }
+    }
+
+    private void markUnhealthy(Endpoint endpoint) {
+        if (endpoint.healthy) {
+            log.warn("Sql gateway [{}] is unhealthy.", endpoint);
+            endpoint.healthy = false;
+        }
+    }
+
+    private Endpoint release(SessionEntity session) {
+        Endpoint endpoint = findEndpoint(session);
+        if (endpoint != null) {
+            endpoint.sessions.updateAndGet(sessions -> Math.max(0, sessions - 1));
+        }
+        return endpoint;
+    }
+
+    private Endpoint findEndpoint(SessionEntity session) {
+        return findEndpoint(session.getHost(), session.getPort());
+    }
+
+    private Endpoint findEndpoint(String host, int port) {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.client.getSqlGatewayPort() == port
+                    && endpoint.client.getSqlGatewayHost().equals(host)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /** The defaults and the last known properties of a session opened through the balancer. */
+    private static class TrackedSession {
+
+        private final Map<String, String> defaults;
+        private volatile Map<String, String> properties;
+
+        private TrackedSession(@Nullable Map<String, String> defaults) {
+            this.defaults = defaults == null ? Collections.emptyMap() : defaults;
+            this.properties = this.defaults;
+        }
+
+        private Map<String, String> userSettings() {
+            Map<String, String> userSettings = new HashMap<>();
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                if (!DEPLOYMENT_KEYS.contains(property.getKey())
+                        && !Objects.equals(defaults.get(property.getKey()), property.getValue())) {
+                    userSettings.put(property.getKey(), property.getValue());
+                }
+            }
+            return userSettings;
+        }
+    }
+
+    /** A gateway endpoint and its load. */
+    private static class Endpoint {
+
+        private final SqlGatewayClient client;
+        private final SqlGatewayOperationRegistry operationRegistry;
+        private final AtomicInteger sessions = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Endpoint(SqlGatewayClient client) {
+            this.client = client;
+            this.operationRegistry = SqlGatewayOperationRegistry.getDefault(client);
+        }
+
+        private int load() {
+            return sessions.get() + operationRegistry.getOpenOperations();
+        }
+
+        private InetSocketAddress address() {
+            return InetSocketAddress.createUnresolved(
+                    client.getSqlGatewayHost(), client.getSqlGatewayPort());
+        }
+
+        @Override
+        public String toString() {
+            return client.getSqlGatewayHost() + ":" + client.getSqlGatewayPort();
+        }
+    }
+}
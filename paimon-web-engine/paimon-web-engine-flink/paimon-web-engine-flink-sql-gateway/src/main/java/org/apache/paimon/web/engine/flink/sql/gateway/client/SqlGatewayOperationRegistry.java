@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gateway.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registry of the operations submitted to the sql gateway, per session.
+ *
+ * <p>The gateway keeps the results of an operation until the operation is closed. Operations whose
+ * results were consumed are closed right away with {@link #closeOperation}. Operations that were
+ * not accessed for {@link #IDLE_TIMEOUT} are considered abandoned, they are cancelled and closed by
+ * a check running every {@link #CHECK_INTERVAL}. Resources held for an operation outside of the
+ * gateway, such as its buffered results, are released with {@link #whenReleased} once the operation
+ * is no longer tracked.
+ */
+@Slf4j
+public class SqlGatewayOperationRegistry implements AutoCloseable {
+
+    public static final ConfigOption<Duration> IDLE_TIMEOUT =
+            ConfigOptions.key("sql-gateway.operation.idle-timeout")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "The time after which an operation that was not accessed is cancelled and closed.");
+
+    public static final ConfigOption<Duration> CHECK_INTERVAL =
+            ConfigOptions.key("sql-gateway.operation.check-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription("The interval of the check for abandoned operations.");
+
+    private static final ScheduledExecutorService IDLE_CHECKER =
+            Executors.newSingleThreadScheduledExecutor(
+                    new ExecutorThreadFactory("sql-gateway-operation-idle-check"));
+
+    private static final ConcurrentMap<String, SqlGatewayOperationRegistry> DEFAULT_REGISTRIES =
+            new ConcurrentHashMap<>();
+
+    private final SqlGatewayClient client;
+    // The endpoint of a default registry, null for other registries.
+    @Nullable private final String defaultEndpoint;
+    private final long idleTimeoutNanos;
+    private final ScheduledFuture<?> idleCheck;
+
+    // Session id -> operation id -> the tracked operation.
+    private final ConcurrentMap<String, ConcurrentMap<String, TrackedOperation>> operations =
+            new ConcurrentHashMap<>();
+
+    private final AtomicLong registeredOperations = new AtomicLong();
+    private final AtomicLong closedOperations = new AtomicLong();
+    private final AtomicLong cancelledOperations = new AtomicLong();
+    private final AtomicLong failedCloses = new AtomicLong();
+
+    public SqlGatewayOperationRegistry(SqlGatewayClient client, Configuration configuration) {
+        this(client, configuration, null);
+    }
+
+    private SqlGatewayOperationRegistry(
+            SqlGatewayClient client,
+            Configuration configuration,
+            @Nullable String defaultEndpoint) {
+        this.client = client;
+        this.defaultEndpoint = defaultEndpoint;
+        this.idleTimeoutNanos = configuration.get(IDLE_TIMEOUT).toNanos();
+        long checkIntervalMillis = configuration.get(CHECK_INTERVAL).toMillis();
+        this.idleCheck =
+                IDLE_CHECKER.scheduleWithFixedDelay(
+                        this::cancelIdleOperations,
+                        checkIntervalMillis,
+                        checkIntervalMillis,
+                        TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the registry shared by the executors of the client's gateway that are not given a
+     * registry explicitly. The default registries are closed with {@link #closeDefaults}.
+     *
+     * @param client the client of the gateway
+     * @return the shared registry of the gateway endpoint
+     */
+    public static SqlGatewayOperationRegistry getDefault(SqlGatewayClient client) {
+        return DEFAULT_REGISTRIES.computeIfAbsent(
+                client.getSqlGatewayHost() + ":" + client.getSqlGatewayPort(),
+                endpoint -> new SqlGatewayOperationRegistry(client, new Configuration(), endpoint));
+    }
+
+    /**
+     * Closes the default registries of all gateways, for applications shutting down. A default
+     * registry requested afterwards is created again.
+     */
+    public static void closeDefaults() throws Exception {
+        Exception exception = null;
+        for (SqlGatewayOperationRegistry registry : new ArrayList<>(DEFAULT_REGISTRIES.values())) {
+            try {
+                registry.close();
+            } catch (Exception e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Starts tracking an operation.
+     *
+     * @param sessionId the session id
+     * @param operationId the operation id
+     */
+    public void register(String sessionId, String operationId) {
+        operations.compute(
+                sessionId,
+                (id, sessionOperations) -> {
+                    if (sessionOperations == null) {
+                        sessionOperations = new ConcurrentHashMap<>();
+                    }
+                    sessionOperations.put(operationId, new TrackedOperation());
+                    return sessionOperations;
+                });
+        registeredOperations.incrementAndGet();
+    }
+
+    /**
+     * Marks an operation as accessed, which restarts its idle timeout.
+     *
+     * @param sessionId the session id
+     * @param operationId the operation id
+     */
+    public void touch(String sessionId, String operationId) {
+        Map<String, TrackedOperation> sessionOperations = operations.get(sessionId);
+        TrackedOperation operation =
+                sessionOperations == null ? null : sessionOperations.get(operationId);
+        if (operation != null) {
+            operation.lastAccessNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Runs an action once the registry stops tracking an operation, because the operation was
+     * closed or cancelled as idle. The action runs right away when the operation is not tracked.
+     *
+     * @param sessionId the session id
+     * @param operationId the operation id
+     * @param action the action releasing the resources of the operation
+     */
+    public void whenReleased(String sessionId, String operationId, Runnable action) {
+        Map<String, TrackedOperation> sessionOperations = operations.get(sessionId);
+        TrackedOperation operation =
+                sessionOperations == null
+                        ? null
+                        : sessionOperations.computeIfPresent(
+                                operationId,
+                                (id, tracked) -> {
+                                    tracked.releaseAction = action;
+                                    return tracked;
+                                });
+        if (operation == null) {
+            action.run();
+        }
+    }
+
+    /**
+     * Stops tracking an operation and closes it on the gateway without waiting for the gateway.
+     *
+     * @param sessionId the session id
+     * @param operationId the operation id
+     * @return the future completed when the gateway closed the operation, failures are logged
+     */
+    public CompletableFuture<Void> closeOperation(String sessionId, String operationId) {
+        if (!remove(sessionId, operationId)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.closeOperationAsync(sessionId, operationId)
+                .handle(
+                        (status, error) -> {
+                            if (error != null) {
+                                failedCloses.incrementAndGet();
+                                log.debug(
+                                        "Exception with closing operation [{}] of session [{}].",
+                                        operationId,
+                                        sessionId,
+                                        error);
+                            } else {
+                                closedOperations.incrementAndGet();
+                            }
+                            return null;
+                        });
+    }
+
+    /**
+     * Closes all tracked operations of a session, for sessions that are closed or reset.
+     *
+     * @param sessionId the session id
+     * @return the future completed when the gateway closed the operations
+     */
+    public CompletableFuture<Void> closeOperations(String sessionId) {
+        Map<String, TrackedOperation> sessionOperations = operations.get(sessionId);
+        if (sessionOperations == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Void>> closes = new ArrayList<>();
+        for (String operationId : new ArrayList<>(sessionOperations.keySet())) {
+            closes.add(closeOperation(sessionId, operationId));
+        }
+        return CompletableFuture.allOf(closes.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public int getOpenOperations() {
+        int count = 0;
+        for (Map<String, TrackedOperation> sessionOperations : operations.values()) {
+            count += sessionOperations.size();
+        }
+        return count;
+    }
+
+    public int getOpenOperations(String sessionId) {
+        Map<String, TrackedOperation> sessionOperations = operations.get(sessionId);
+        return sessionOperations == null ? 0 : sessionOperations.size();
+    }
+
+    public long getRegisteredOperations() {
+        return registeredOperations.get();
+    }
+
+    public long getClosedOperations() {
+        return closedOperations.get();
+    }
+
+    public long getCancelledOperations() {
+        return cancelledOperations.get();
+    }
+
+    public long getFailedCloses() {
+        return failedCloses.get();
+    }
+
+    /** Stops the idle check and closes all tracked operations. */
+    @Override
+    public void close() throws Exception {
+        if (defaultEndpoint != null) {
+            DEFAULT_REGISTRIES.remove(defaultEndpoint, this);
+        }
+        idleCheck.cancel(false);
+        List<CompletableFuture<Void>> closes = new ArrayList<>();
+        for (String sessionId : new ArrayList<>(operations.keySet())) {
+            closes.add(closeOperations(sessionId));
+        }
+        CompletableFuture.allOf(closes.toArray(new CompletableFuture<?>[0])).get();
+    }
+
+    /** Cancels and closes the operations that were not accessed within the idle timeout. */
+    void cancelIdleOperations() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, ConcurrentMap<String, TrackedOperation>> session :
+                operations.entrySet()) {
+            String sessionId = session.getKey();
+            for (Map.Entry<String, TrackedOperation> operation : session.getValue().entrySet()) {
+                if (now - operation.getValue().lastAccessNanos <= idleTimeoutNanos) {
+                    continue;
+                }
+                String operationId = operation.getKey();
+                if (!remove(sessionId, operationId)) {
+                    continue;
+                }
+                log.info(
+                        "Operation [{}] of session [{}] is idle, cancelling it.",
+                        operationId,
+                        sessionId);
+                cancelledOperations.incrementAndGet();
+                client.cancelOperationAsync(sessionId, operationId)
+                        .handle((status, error) -> null)
+                        .thenCompose(ignored -> client.closeOperationAsync(sessionId, operationId))
+                        .whenComplete(
+                                (status, error) -> {
+                                    if (error != null) {
+                                        failedCloses.incrementAndGet();
+                                    } else {
+                                        closedOperations.incrementAndGet();
+                                    }
+                                });
+            }
+        }
+    }
+
+    /** Stops tracking an operation and runs its release action, returns whether it was tracked. */
+    private boolean remove(String sessionId, String operationId) {
+        AtomicReference<TrackedOperation> removed = new AtomicReference<>();
+        operations.computeIfPresent(
+                sessionId,
+                (id, sessionOperations) -> {
+                    removed.set(sessionOperations.remove(operationId));
+                    return sessionOperations.isEmpty() ? null : sessionOperations;
+                });
+        TrackedOperation operation = removed.get();
+        if (operation == null) {
+            return false;
+        }
+        Runnable releaseAction = operation.releaseAction;
+        if (releaseAction != null) {
+            try {
+                releaseAction.run();
+            } catch (RuntimeException e) {
+                log.warn("Exception with releasing operation [{}].", operationId, e);
+            }
+        }
+        return true;
+    }
+
+    /** An operation tracked by the registry. */
+    private static class TrackedOperation {
+
+        private volatile long lastAccessNanos = System.nanoTime();
+        @Nullable private volatile Runnable releaseAction;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gateway.client;
+
+import org.apache.paimon.web.engine.flink.sql.gateway.utils.SqlGateWayRestClient;
+
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.util.ConfigurationException;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.apache.flink.util.concurrent.FutureUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of {@link SqlGateWayRestClient}s shared by all {@link SqlGatewayClient}s. Each gateway
+ * endpoint gets a single rest client, and therefore a single netty event loop, and all responses
+ * are handled on one bounded response thread pool.
+ *
+ * <p>The rest client options of flink, such as {@code rest.connection-timeout} and {@code
+ * rest.client.max-content-length}, are passed to every rest client of the pool.
+ */
+public class SqlGatewayRestClientPool implements AutoCloseable {
+
+    public static final ConfigOption<Integer> RESPONSE_THREADS =
+            ConfigOptions.key("sql-gateway.client.response-threads")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of threads completing the responses of the sql gateway.");
+
+    public static final ConfigOption<Integer> MAX_CONCURRENT_REQUESTS =
+            ConfigOptions.key("sql-gateway.client.max-concurrent-requests")
+                    .intType()
+                    .defaultValue(64)
+                    .withDescription(
+                            "The maximum number of requests sent to one sql gateway at the same time, further requests are queued.");
+
+    private static final SqlGatewayRestClientPool DEFAULT_POOL =
+            new SqlGatewayRestClientPool(new Configuration());
+
+    private final Configuration configuration;
+    private final int maxConcurrentRequests;
+    private final ExecutorService responseExecutor;
+    private final Map<String, SqlGateWayRestClient> restClients = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    public SqlGatewayRestClientPool(Configuration configuration) {
+        this.configuration = new Configuration(configuration);
+        this.maxConcurrentRequests = configuration.get(MAX_CONCURRENT_REQUESTS);
+        this.responseExecutor =
+                Executors.newFixedThreadPool(
+                        configuration.get(RESPONSE_THREADS),
+                        new ExecutorThreadFactory("sql-gateway-response"));
+    }
+
+    /** Returns the pool shared by the clients that are not given a pool explicitly. */
+    public static SqlGatewayRestClientPool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * Returns the rest client of the given gateway endpoint, creating it on the first access.
+     *
+     * @param sqlGatewayHost the host of the sql gateway
+     * @param sqlGatewayPort the port of the sql gateway
+     * @return the shared rest client of the endpoint
+     */
+    public SqlGateWayRestClient getRestClient(String sqlGatewayHost, int sqlGatewayPort) {
+        if (closed) {
+            throw new IllegalStateException("The sql gateway rest client pool is closed.");
+        }
+        Objects.requireNonNull(sqlGatewayHost, "Sql gateway host cannot be null.");
+        return restClients.computeIfAbsent(
+                endpoint(sqlGatewayHost, sqlGatewayPort),
+                key -> {
+                    try {
+                        return new SqlGateWayRestClient(
+                                sqlGatewayHost,
+                                sqlGatewayPort,
+                                configuration,
+                                responseExecutor,
+                                maxConcurrentRequests);
+                    } catch (ConfigurationException e) {
+                        throw new IllegalArgumentException(
+                                "Invalid sql gateway rest client configuration.", e);
+                    }
+                });
+    }
+
+    /** Returns the rest clients of all endpoints, which expose the request metrics. */
+    public Collection<SqlGateWayRestClient> getRestClients() {
+        return Collections.unmodifiableCollection(restClients.values());
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        List<CompletableFuture<Void>> closeFutures = new ArrayList<>();
+        restClients.values().forEach(restClient -> closeFutures.add(restClient.closeAsync()));
+        restClients.clear();
+        try {
+            FutureUtils.waitForAll(closeFutures).get();
+        } finally {
+            responseExecutor.shutdown();
+            responseExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static String endpoint(String sqlGatewayHost, int sqlGatewayPort) {
+        return sqlGatewayHost + ":" + sqlGatewayPort;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gateway.client;
+
+import org.apache.paimon.web.engine.flink.common.result.QueryResultCache;
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+import org.apache.paimon.web.engine.flink.sql.gateway.utils.SessionStatementBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.api.config.TableConfigOptions;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import javax.annotation.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Pool of sql gateway sessions on top of a {@link SqlGatewayClient}.
+ *
+ * <p>The pool pre-opens {@link #MIN_IDLE} sessions and keeps every session alive by sending the
+ * heartbeats of all sessions together once per {@link #HEARTBEAT_INTERVAL}. Idle sessions beyond
+ * the minimum are closed after {@link #IDLE_TIMEOUT}. A borrowed session is validated with a
+ * heartbeat first, and a session used before is reset with {@code RESET} and switched back to the
+ * built-in catalog and database, so that the {@code SET} and {@code USE} statements of the previous
+ * borrower do not leak into the next one.
+ *
+ * <p>Temporary objects, catalogs, modules and jars also live in the session and cannot be reset.
+ * Borrowers give the executed statements back with {@link #returnSession(SessionEntity, List)} so
+ * that such sessions are closed instead of pooled, or call {@link #invalidateSession} themselves.
+ * Tables created in the built-in in-memory catalog live in the session as well and need the same
+ * treatment.
+ *
+ * <p>When the pool is given the {@link QueryResultCache} of the executors, resetting a session
+ * starts a new context of the session in the cache, so that results cached for the previous
+ * borrower are not returned to the next one.
+ */
+@Slf4j
+public class SqlGatewaySessionPool implements AutoCloseable {
+
+    public static final ConfigOption<Integer> MIN_IDLE =
+            ConfigOptions.key("sql-gateway.session-pool.min-idle")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription("The number of idle sessions opened ahead of time.");
+
+    public static final ConfigOption<Integer> MAX_IDLE =
+            ConfigOptions.key("sql-gateway.session-pool.max-idle")
+                    .intType()
+                    .defaultValue(8)
+                    .withDescription(
+                            "The maximum number of idle sessions, returned sessions beyond it are closed.");
+
+    public static final ConfigOption<Duration> HEARTBEAT_INTERVAL =
+            ConfigOptions.key("sql-gateway.session-pool.heartbeat-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The interval of the heartbeats keeping the sessions alive, it should be shorter than the session idle timeout of the gateway.");
+
+    public static final ConfigOption<Duration> IDLE_TIMEOUT =
+            ConfigOptions.key("sql-gateway.session-pool.idle-timeout")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "The time after which an idle session beyond the minimum is closed.");
+
+    // Statements leaving state in the session which RESET does not clear.
+    private static final Pattern SESSION_STATE_STATEMENT =
+            Pattern.compile(
+                    "^\\s*(CREATE\\s+(OR\\s+REPLACE\\s+)?TEMPORARY|DROP\\s+TEMPORARY|CREATE\\s+CATALOG"
+                            + "|DROP\\s+CATALOG|LOAD\\s+MODULE|UNLOAD\\s+MODULE|USE\\s+MODULES"
+                            + "|ADD\\s+JAR|REMOVE\\s+JAR)\\b",
+                    Pattern.CASE_INSENSITIVE);
+
+    private final SqlGatewayClient client;
+    @Nullable private final QueryResultCache resultCache;
+    private final int minIdle;
+    private final int maxIdle;
+    private final long idleTimeoutNanos;
+
+    private final Deque<PooledSession> idleSessions = new ArrayDeque<>();
+    private final Map<String, PooledSession> borrowedSessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean closed;
+
+    public SqlGatewaySessionPool(SqlGatewayClient client, Configuration configuration)
+            throws Exception {
+        this(client, configuration, null);
+    }
+
+    /**
+     * Creates a pool whose sessions are used by executors caching their results.
+     *
+     * @param client the client of the gateway
+     * @param configuration the configuration of the pool
+     * @param resultCache the result cache of the executors, null if they cache no results
+     */
+    public SqlGatewaySessionPool(
+            SqlGatewayClient client,
+            Configuration configuration,
+            @Nullable QueryResultCache resultCache)
+            throws Exception {
+        this.client = client;
+        this.resultCache = resultCache;
+        this.minIdle = configuration.get(MIN_IDLE);
+        this.maxIdle = configuration.get(MAX_IDLE);
+        this.idleTimeoutNanos = configuration.get(IDLE_TIMEOUT).toNanos();
+        Preconditions.checkArgument(
+                minIdle >= 0 && minIdle <= maxIdle,
+                "Min idle sessions must be between 0 and the max idle sessions.");
+
+        for (int i = 0; i < minIdle; i++) {
+            idleSessions.addLast(new PooledSession(client.openSession(null)));
+        }
+
+        long heartbeatIntervalMillis = configuration.get(HEARTBEAT_INTERVAL).toMillis();
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ExecutorThreadFactory("sql-gateway-session-pool"));
+        this.scheduler.scheduleWithFixedDelay(
+                this::maintain,
+                heartbeatIntervalMillis,
+                heartbeatIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a session with the default session configuration.
+     *
+     * @return the borrowed session
+     */
+    public SessionEntity borrowSession() throws Exception {
+        return borrowSession(Collections.emptyMap());
+    }
+
+    /**
+     * Borrows a session and applies the given configuration to it with {@code SET} statements. An
+     * idle session is reused when it still answers a heartbeat, otherwise a new session is opened.
+     *
+     * @param sessionConfig the configuration of the session
+     * @return the borrowed session, to be given back with {@link #returnSession}
+     */
+    public SessionEntity borrowSession(Map<String, String> sessionConfig) throws Exception {
+        Objects.requireNonNull(sessionConfig, "Session config cannot be null.");
+        while (true) {
+            checkOpen();
+            PooledSession session = pollIdleSession();
+            if (session == null) {
+                session = new PooledSession(client.openSession(null));
+            } else if (!isValid(session)) {
+                closeQuietly(session);
+                continue;
+            }
+
+            try {
+                configure(session, sessionConfig);
+            } catch (Exception e) {
+                closeQuietly(session);
+                throw e;
+            }
+            borrowedSessions.put(session.entity.getSessionId(), session);
+            return session.entity;
+        }
+    }
+
+    /**
+     * Gives a borrowed session back to the pool. The session is closed when the pool already holds
+     * {@link #MAX_IDLE} idle sessions.
+     *
+     * @param session the borrowed session, in which no temporary objects, catalogs, modules or jars
+     *     were created
+     */
+    public void returnSession(SessionEntity session) {
+        returnSession(session, Collections.emptyList());
+    }
+
+    /**
+     * Gives a borrowed session back to the pool together with the statements executed in it. The
+     * session is closed instead of pooled when one of the statements left state in the session
+     * which cannot be reset, see {@link #isSessionStateStatement}.
+     *
+     * @param session the borrowed session
+     * @param statements the statements executed in the session
+     */
+    public void returnSession(SessionEntity session, List<String> statements) {
+        if (statements.stream().anyMatch(SqlGatewaySessionPool::isSessionStateStatement)) {
+            invalidateSession(session);
+            return;
+        }
+        PooledSession pooledSession = borrowedSessions.remove(session.getSessionId());
+        if (pooledSession == null) {
+            return;
+        }
+        pooledSession.configured = true;
+        pooledSession.lastUsedNanos = System.nanoTime();
+        synchronized (idleSessions) {
+            if (!closed && idleSessions.size() < maxIdle) {
+                idleSessions.addFirst(pooledSession);
+                return;
+            }
+        }
+        closeQuietly(pooledSession);
+    }
+
+    /**
+     * Removes a borrowed session from the pool and closes it, for sessions left in an unknown
+     * state.
+     *
+     * @param session the borrowed session
+     */
+    public void invalidateSession(SessionEntity session) {
+        PooledSession pooledSession = borrowedSessions.remove(session.getSessionId());
+        if (pooledSession != null) {
+            closeQuietly(pooledSession);
+        }
+    }
+
+    /**
+     * Whether the statement creates or drops temporary objects, catalogs, modules or jars, which
+     * stay in the session after {@code RESET}.
+     *
+     * @param statement the sql statement
+     * @return true if a session running the statement must not be pooled
+     */
+    public static boolean isSessionStateStatement(String statement) {
+        return SESSION_STATE_STATEMENT.matcher(statement).find();
+    }
+
+    public int getIdleSessions() {
+        synchronized (idleSessions) {
+            return idleSessions.size();
+        }
+    }
+
+    public int getBorrowedSessions() {
+        return borrowedSessions.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        scheduler.shutdownNow();
+        List<PooledSession> sessions;
+        synchronized (idleSessions) {
+            sessions = new ArrayList<>(idleSessions);
+            idleSessions.clear();
+        }
+        sessions.addAll(borrowedSessions.values());
+        borrowedSessions.clear();
+        sessions.forEach(this::closeQuietly);
+    }
+
+    private PooledSession pollIdleSession() {
+        synchronized (idleSessions) {
+            return idleSessions.pollFirst();
+        }
+    }
+
+    private boolean isValid(PooledSession session) {
+        try {
+            client.triggerSessionHeartbeat(session.entity.getSessionId());
+            return true;
+        } catch (Exception e) {
+            log.info(
+                    "Session [{}] failed the validation, opening a new session.",
+                    session.entity.getSessionId());
+            return false;
+        }
+    }
+
+    private void configure(PooledSession session, Map<String, String> sessionConfig)
+            throws Exception {
+        if (!session.configured && sessionConfig.isEmpty()) {
+            return;
+        }
+        String sessionId = session.entity.getSessionId();
+        if (session.configured) {
+            if (resultCache != null) {
+                resultCache.resetContext(sessionId);
+            }
+            client.configureSession(sessionId, SessionStatementBuilder.RESET_STATEMENT, null);
+            client.configureSession(
+                    sessionId,
+                    SessionStatementBuilder.buildUseCatalogStatement(session.defaultCatalog),
+                    null);
+            client.configureSession(
+                    sessionId,
+                    SessionStatementBuilder.buildUseDatabaseStatement(session.defaultDatabase),
+                    null);
+        }
+        for (Map.Entry<String, String> entry : sessionConfig.entrySet()) {
+            client.configureSession(
+                    sessionId,
+                    SessionStatementBuilder.buildSetStatement(entry.getKey(), entry.getValue()),
+                    null);
+        }
+        session.entity =
+                session.entity.toBuilder().properties(client.getSessionConfig(sessionId)).build();
+        session.configured = !sessionConfig.isEmpty();
+    }
+
+    /** Closes the idle sessions that timed out, sends the heartbeats and refills the pool. */
+    private void maintain() {
+        try {
+            evictIdleSessions();
+            heartbeat();
+            while (!closed && getIdleSessions() < minIdle) {
+                PooledSession session = new PooledSession(client.openSession(null));
+                synchronized (idleSessions) {
+                    idleSessions.addLast(session);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Exception with maintaining the sql gateway session pool.", e);
+        }
+    }
+
+    private void evictIdleSessions() {
+        List<PooledSession> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (idleSessions) {
+            // The least recently used sessions are at the tail.
+            while (idleSessions.size() > minIdle
+                    && now - idleSessions.peekLast().lastUsedNanos > idleTimeoutNanos) {
+                evicted.add(idleSessions.pollLast());
+            }
+        }
+        evicted.forEach(this::closeQuietly);
+    }
+
+    private void heartbeat() {
+        List<PooledSession> sessions;
+        synchronized (idleSessions) {
+            sessions = new ArrayList<>(idleSessions);
+        }
+        sessions.addAll(borrowedSessions.values());
+
+        List<CompletableFuture<Void>> heartbeats = new ArrayList<>(sessions.size());
+        for (PooledSession session : sessions) {
+            heartbeats.add(client.triggerSessionHeartbeatAsync(session.entity.getSessionId()));
+        }
+        for (int i = 0; i < sessions.size(); i++) {
+            PooledSession session = sessions.get(i);
+            try {
+                heartbeats.get(i).get();
+            } catch (Exception e) {
+                log.warn("Heartbeat of session [{}] failed.", session.entity.getSessionId(), e);
+                boolean removed;
+                synchronized (idleSessions) {
+                    removed = idleSessions.remove(session);
+                }
+                if (removed) {
+                    closeQuietly(session);
+                }
+            }
+        }
+    }
+
+    private void closeQuietly(PooledSession session) {
+        try {
+            client.closeSession(session.entity.getSessionId());
+        } catch (Exception e) {
+            log.debug("Exception with closing session [{}].", session.entity.getSessionId(), e);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The sql gateway session pool is closed.");
+        }
+    }
+
+    /** A session of the pool. */
+    private static class PooledSession {
+
+        private volatile SessionEntity entity;
+        private volatile long lastUsedNanos = System.nanoTime();
+        // Whether SET or USE statements may have been applied to the session.
+        private volatile boolean configured;
+        private final String defaultCatalog;
+        private final String defaultDatabase;
+
+        private PooledSession(SessionEntity entity) {
+            this.entity = entity;
+            Map<String, String> properties =
+                    entity.getProperties() == null
+                            ? Collections.emptyMap()
+                            : entity.getProperties();
+            this.defaultCatalog =
+                    properties.getOrDefault(
+                            TableConfigOptions.TABLE_CATALOG_NAME.key(),
+                            TableConfigOptions.TABLE_CATALOG_NAME.defaultValue());
+            this.defaultDatabase =
+                    properties.getOrDefault(
+                            TableConfigOptions.TABLE_DATABASE_NAME.key(),
+                            TableConfigOptions.TABLE_DATABASE_NAME.defaultValue());
+        }
+    }
+}
@@ -18,12 +18,19 @@
 
 package org.apache.paimon.web.engine.flink.sql.gateway.executor;
 
+import org.apache.paimon.web.engine.flink.common.executor.ExecutionListener;
 import org.apache.paimon.web.engine.flink.common.executor.Executor;
 import org.apache.paimon.web.engine.flink.common.operation.FlinkSqlOperationType;
+import org.apache.paimon.web.engine.flink.common.operation.SqlCategory;
 import org.apache.paimon.web.engine.flink.common.parser.StatementParser;
 import org.apache.paimon.web.engine.flink.common.result.ExecutionResult;
 import org.apache.paimon.web.engine.flink.common.result.FetchResultParams;
+import org.apache.paimon.web.engine.flink.common.result.QueryResultCache;
+import org.apache.paimon.web.engine.flink.common.result.ResultBuffer;
 import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClient;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayLoadBalancer;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayOperationRegistry;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
 import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
 import org.apache.paimon.web.engine.flink.sql.gateway.utils.CollectResultUtil;
 import org.apache.paimon.web.engine.flink.sql.gateway.utils.FlinkSqlStatementSetBuilder;
@@ -31,116 +38,401 @@ import org.apache.paimon.web.engine.flink.sql.gateway.utils.FlinkSqlStatementSet
 import org.apache.flink.table.gateway.api.results.ResultSet;
 import org.apache.flink.table.gateway.rest.message.statement.FetchResultsResponseBody;
 
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /** The flink sql gateway implementation of the {@link Executor}. */
+@Slf4j
 public class FlinkSqlGatewayExecutor implements Executor {
 
     private static final Long DEFAULT_FETCH_TOKEN = 0L;
     private static final String STOP_JOB_BASE_SQL = "STOP JOB '%s'";
     private static final String WITH_SAVEPOINT = " WITH SAVEPOINT";
+    private static final String SHOW_CURRENT_CATALOG = "SHOW CURRENT CATALOG";
+    private static final String SHOW_CURRENT_DATABASE = "SHOW CURRENT DATABASE";
 
     private final SqlGatewayClient client;
     private final SessionEntity session;
+    private final SqlGatewayOperationRegistry operationRegistry;
+    @Nullable private final QueryResultCache resultCache;
+    @Nullable private final SqlGatewayLoadBalancer loadBalancer;
+    private final Map<String, BufferedResult> bufferedResults = new ConcurrentHashMap<>();
 
     public FlinkSqlGatewayExecutor(SessionEntity session) throws Exception {
-        this.session = session;
-        this.client = new SqlGatewayClient(session.getHost(), session.getPort());
+        this(session, SqlGatewayRestClientPool.getDefault());
     }
 
-    @Override
-    public ExecutionResult executeSql(String multiStatement) throws Exception {
-        String[] statements = StatementParser.parse(multiStatement);
-        List<String> insertStatements = new ArrayList<>();
-        ExecutionResult executionResult = null;
+    public FlinkSqlGatewayExecutor(SessionEntity session, SqlGatewayRestClientPool restClientPool)
+            throws Exception {
+        this(session, restClientPool, null);
+    }
 
-        for (String statement : statements) {
-            FlinkSqlOperationType operationType = FlinkSqlOperationType.getOperationType(statement);
+    /**
+     * Creates an executor tracking its operations in the given registry.
+     *
+     * @param session The session executing the statements.
+     * @param restClientPool The pool of the rest clients.
+     * @param operationRegistry The registry of the operations, null for the default registry of the
+     *     session's gateway.
+     */
+    public FlinkSqlGatewayExecutor(
+            SessionEntity session,
+            SqlGatewayRestClientPool restClientPool,
+            @Nullable SqlGatewayOperationRegistry operationRegistry)
+            throws Exception {
+        this(session, restClientPool, operationRegistry, null);
+    }
 
-            if (operationType == null) {
-                String operationTypeString = extractSqlOperationType(statement);
-                throw new UnsupportedOperationException(
-                        "Unsupported operation type: " + operationTypeString);
-            }
+    /**
+     * Creates an executor tracking its operations in the given registry and serving repeated
+     * queries from the given cache.
+     *
+     * @param session The session executing the statements.
+     * @param restClientPool The pool of the rest clients.
+     * @param operationRegistry The registry of the operations, null for the default registry of the
+     *     session's gateway.
+     * @param resultCache The cache of query results, which may be shared by executors, null to
+     *     disable caching. The cache tracks the context of the session for all executors of the
+     *     session, sessions with equal contexts share entries.
+     */
+    public FlinkSqlGatewayExecutor(
+            SessionEntity session,
+            SqlGatewayRestClientPool restClientPool,
+            @Nullable SqlGatewayOperationRegistry operationRegistry,
+            @Nullable QueryResultCache resultCache)
+            throws Exception {
+        this(session, restClientPool, operationRegistry, resultCache, null);
+    }
 
-            switch (operationType.getCategory()) {
-                case DQL:
-                    if (!insertStatements.isEmpty()) {
-                        throw new UnsupportedOperationException(
-                                "Cannot execute DQL statement with pending INSERT statements.");
-                    }
-                    executionResult = executeDqlStatement(statement, operationType);
-                    break;
-                case DML:
-                    if (operationType.getType().equals(FlinkSqlOperationType.INSERT.getType())) {
-                        insertStatements.add(statement);
-                    } else {
-                        executionResult = executeDmlStatement(statement);
-                    }
-                    break;
-                default:
-                    client.executeStatement(session.getSessionId(), statement, null);
-                    break;
-            }
+    /**
+     * Creates an executor on a session opened through a load balancer.
+     *
+     * @param session The session executing the statements.
+     * @param restClientPool The pool of the rest clients.
+     * @param operationRegistry The registry of the operations, null for the default registry of the
+     *     session's gateway.
+     * @param resultCache The cache of query results, which may be shared by executors, null to
+     *     disable caching.
+     * @param loadBalancer The balancer that opened the session, it learns about the settings of the
+     *     session after {@code SET} and {@code RESET} statements. Null if the session is not
+     *     balanced.
+     */
+    public FlinkSqlGatewayExecutor(
+            SessionEntity session,
+            SqlGatewayRestClientPool restClientPool,
+            @Nullable SqlGatewayOperationRegistry operationRegistry,
+            @Nullable QueryResultCache resultCache,
+            @Nullable SqlGatewayLoadBalancer loadBalancer)
+            throws Exception {
+        this.session = session;
+        this.resultCache = resultCache;
+        this.loadBalancer = loadBalancer;
+        this.client = new SqlGatewayClient(restClientPool, session.getHost(), session.getPort());
+        this.operationRegistry =
+                operationRegistry == null
+                        ? SqlGatewayOperationRegistry.getDefault(client)
+                        : operationRegistry;
+    }
 
-            if (executionResult != null) {
-                return executionResult;
-            }
-        }
+    public SqlGatewayOperationRegistry getOperationRegistry() {
+        return operationRegistry;
+    }
 
-        if (!insertStatements.isEmpty()) {
-            String combinedStatement =
-                    FlinkSqlStatementSetBuilder.buildStatementSet(insertStatements);
-            executionResult = executeDmlStatement(combinedStatement);
+    @Override
+    public ExecutionResult executeSql(String multiStatement) throws Exception {
+        try {
+            return executeSqlAsync(multiStatement, ExecutionListener.NOOP).get();
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
         }
+    }
 
-        return executionResult;
+    /**
+     * Executes the statements of a script without blocking the caller.
+     *
+     * <p>Statements other than queries and DML are sent to the gateway as soon as the previous
+     * statement was accepted, without waiting for it to finish. Before a query, a DML statement or
+     * the statement set of the INSERT statements is submitted, all previous statements have to
+     * finish successfully.
+     */
+    @Override
+    public CompletableFuture<ExecutionResult> executeSqlAsync(
+            String multiStatement, ExecutionListener listener) {
+        return new ScriptExecution(StatementParser.parse(multiStatement), listener).start();
     }
 
-    private ExecutionResult executeDqlStatement(
-            String statement, FlinkSqlOperationType operationType) throws Exception {
-        String operationId = client.executeStatement(session.getSessionId(), statement, null);
-        FetchResultsResponseBody results =
-                client.fetchResults(session.getSessionId(), operationId, DEFAULT_FETCH_TOKEN);
+    private ExecutionResult toDqlResult(
+            String operationId,
+            FetchResultsResponseBody results,
+            FlinkSqlOperationType operationType,
+            String statement,
+            @Nullable String context) {
         ExecutionResult.Builder builder =
                 CollectResultUtil.collectSqlGatewayResult(results.getResults())
                         .submitId(operationId);
         if (operationType.getType().equals(FlinkSqlOperationType.SELECT.getType())) {
             builder.jobId(getJobIdFromResults(results)).shouldFetchResult(true);
         }
-        return builder.build();
+        ExecutionResult executionResult = builder.build();
+        if (executionResult.shouldFetchResult()) {
+            BufferedResult bufferedResult =
+                    context == null
+                            ? new BufferedResult(null, null)
+                            : new BufferedResult(statement, context);
+            bufferedResults.put(operationId, bufferedResult);
+            operationRegistry.whenReleased(
+                    session.getSessionId(), operationId, () -> releaseBufferedResult(operationId));
+            append(operationId, bufferedResult, DEFAULT_FETCH_TOKEN, executionResult);
+        } else {
+            operationRegistry.closeOperation(session.getSessionId(), operationId);
+            if (context != null) {
+                resultCache.put(statement, context, executionResult);
+            }
+        }
+        return executionResult;
+    }
+
+    /**
+     * Returns the context of the session in the result cache, computing it when it changed. Null
+     * if results are not cached, or the context could not be computed.
+     */
+    private CompletableFuture<String> cacheContext() {
+        if (resultCache == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String sessionId = session.getSessionId();
+        String context = resultCache.context(sessionId);
+        if (context != null) {
+            return CompletableFuture.completedFuture(context);
+        }
+        long generation = resultCache.contextGeneration(sessionId);
+        boolean switched = resultCache.isSwitched(sessionId);
+        return client.getSessionConfigAsync(sessionId)
+                .thenCompose(
+                        properties -> {
+                            if (!switched) {
+                                return CompletableFuture.completedFuture(
+                                        resultCache.setContext(
+                                                sessionId, generation, properties, null, null));
+                            }
+                            return showCurrent(SHOW_CURRENT_CATALOG)
+                                    .thenCompose(
+                                            catalog ->
+                                                    showCurrent(SHOW_CURRENT_DATABASE)
+                                                            .thenApply(
+                                                                    database ->
+                                                                            resultCache.setContext(
+                                                                                    sessionId,
+                                                                                    generation,
+                                                                                    properties,
+                                                                                    catalog,
+                                                                                    database)));
+                        })
+                .exceptionally(
+                        e -> {
+                            log.warn(
+                                    "Failed to compute the cache context of session [{}].",
+                                    sessionId,
+                                    e);
+                            return null;
+                        });
+    }
+
+    /** Runs a {@code SHOW CURRENT} statement and returns its single value. */
+    private CompletableFuture<String> showCurrent(String statement) {
+        String sessionId = session.getSessionId();
+        return client.executeStatementAsync(sessionId, statement, null)
+                .thenCompose(
+                        operationId -> {
+                            operationRegistry.register(sessionId, operationId);
+                            return client.fetchResultsAsync(
+                                            sessionId, operationId, DEFAULT_FETCH_TOKEN, null)
+                                    .whenComplete(
+                                            (results, error) ->
+                                                    operationRegistry.closeOperation(
+                                                            sessionId, operationId));
+                        })
+                .thenApply(
+                        results -> results.getResults().getData().get(0).getString(0).toString());
+    }
+
+    /** Clears the context of the session in the result cache after a statement changing it. */
+    private void afterContextChanged(FlinkSqlOperationType operationType) {
+        if (resultCache == null) {
+            return;
+        }
+        switch (operationType) {
+            case SET:
+            case RESET:
+            case USE:
+            case LOAD:
+            case UNLOAD:
+                resultCache.changeContext(session.getSessionId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Lets the load balancer of the session learn about the new settings after a {@code SET} or
+     * {@code RESET} statement, so that a failover keeps them.
+     */
+    private CompletableFuture<Void> afterConfigured(FlinkSqlOperationType operationType) {
+        if (loadBalancer == null
+                || (operationType != FlinkSqlOperationType.SET
+                        && operationType != FlinkSqlOperationType.RESET)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loadBalancer.refreshSessionConfig(session);
+    }
+
+    private void cacheCompleteResult(BufferedResult bufferedResult, long endToken) {
+        if (resultCache == null
+                || bufferedResult == null
+                || !bufferedResult.isComplete(endToken)
+                || !resultCache.isCacheable(bufferedResult.buffer.size())) {
+            return;
+        }
+        resultCache.put(
+                bufferedResult.statement,
+                bufferedResult.context,
+                ExecutionResult.builder()
+                        .data(bufferedResult.buffer.getRows(0, (int) bufferedResult.buffer.size()))
+                        .shouldFetchResult(false)
+                        .build());
     }
 
-    private ExecutionResult executeDmlStatement(String statement) throws Exception {
-        String operationId = client.executeStatement(session.getSessionId(), statement, null);
-        FetchResultsResponseBody results =
-                client.fetchResults(session.getSessionId(), operationId, DEFAULT_FETCH_TOKEN);
+    private ExecutionResult toDmlResult(String operationId, FetchResultsResponseBody results) {
+        // The job keeps running, the operation only holds the job id.
+        operationRegistry.closeOperation(session.getSessionId(), operationId);
         return new ExecutionResult.Builder()
                 .submitId(operationId)
                 .jobId(getJobIdFromResults(results))
                 .build();
     }
 
+    /**
+     * Waits for the results of the token. The polling runs on the client's retry scheduler, the
+     * caller only waits for the final response.
+     */
+    private FetchResultsResponseBody awaitResults(String sessionId, String operationId, long token)
+            throws Exception {
+        CompletableFuture<FetchResultsResponseBody> future =
+                client.fetchResultsAsync(sessionId, operationId, token, null);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            throw e;
+        }
+    }
+
     private String getJobIdFromResults(FetchResultsResponseBody results) {
         return Objects.requireNonNull(results.getJobID(), "Job ID not found in results").toString();
     }
 
     @Override
     public ExecutionResult fetchResults(FetchResultParams params) throws Exception {
+        operationRegistry.touch(params.getSessionId(), params.getSubmitId());
         FetchResultsResponseBody fetchResultsResponseBody =
-                client.fetchResults(params.getSessionId(), params.getSubmitId(), params.getToken());
+                awaitResults(params.getSessionId(), params.getSubmitId(), params.getToken());
         ResultSet.ResultType resultType = fetchResultsResponseBody.getResultType();
         if (resultType == ResultSet.ResultType.EOS) {
+            cacheCompleteResult(bufferedResults.get(params.getSubmitId()), params.getToken());
+            // Closing the operation releases the buffered results as well.
+            operationRegistry.closeOperation(params.getSessionId(), params.getSubmitId());
+            releaseBufferedResult(params.getSubmitId());
             return ExecutionResult.builder().shouldFetchResult(false).build();
         }
         ExecutionResult.Builder builder =
-                CollectResultUtil.collectSqlGatewayResult(fetchResultsResponseBody.getResults());
-        builder.submitId(params.getSubmitId());
-        return builder.build();
+                CollectResultUtil.collectSqlGatewayResult(
+                        fetchResultsResponseBody.getResults(), params.getResultFormat());
+        builder.submitId(params.getSubmitId()).shouldFetchResult(true);
+        ExecutionResult executionResult = builder.build();
+        BufferedResult bufferedResult = bufferedResults.get(params.getSubmitId());
+        if (bufferedResult != null) {
+            append(params.getSubmitId(), bufferedResult, params.getToken(), executionResult);
+        }
+        return executionResult;
+    }
+
+    /**
+     * Buffers the rows of a page. Buffering never fails the fetch: once the spill file reached its
+     * maximum size the buffer keeps the first rows only, and when spilling a row fails the buffer
+     * fails the paging requests, while the pages keep coming from the gateway.
+     */
+    private void append(
+            String operationId, BufferedResult bufferedResult, long token, ExecutionResult page) {
+        try {
+            bufferedResult.append(token, page);
+        } catch (RuntimeException e) {
+            log.warn("Failed to buffer the results of operation [{}].", operationId, e);
+        }
+    }
+
+    private void releaseBufferedResult(String submitId) {
+        BufferedResult bufferedResult = bufferedResults.remove(submitId);
+        if (bufferedResult != null) {
+            bufferedResult.buffer.close();
+        }
+    }
+
+    /**
+     * Returns a page of the rows fetched so far for the given operation, for paging through a
+     * result without fetching it from the gateway again. The rows are released at the end of the
+     * results, when the operation is closed and when it is cancelled as idle. When the buffer of
+     * the operation is full, only its first rows can be paged through.
+     *
+     * @param submitId The operation id.
+     * @param offset The index of the first row.
+     * @param limit The maximum number of rows.
+     * @return The rows of the page.
+     */
+    public ExecutionResult fetchBufferedResults(String submitId, long offset, int limit) {
+        BufferedResult bufferedResult = bufferedResults.get(submitId);
+        if (bufferedResult == null) {
+            throw new IllegalArgumentException("No buffered results of operation " + submitId);
+        }
+        operationRegistry.touch(session.getSessionId(), submitId);
+        ResultBuffer buffer = bufferedResult.buffer;
+        List<Map<String, Object>> rows = buffer.getRows(offset, limit);
+        if (rows.isEmpty() && limit > 0 && buffer.isTruncated()) {
+            throw new IllegalStateException(
+                    String.format(
+                            "The rows of operation %s from offset %d are no longer buffered, "
+                                    + "the buffer is full after %d rows.",
+                            submitId, offset, buffer.size()));
+        }
+        return ExecutionResult.builder().submitId(submitId).data(rows).build();
+    }
+
+    /**
+     * Closes the operation on the gateway, unless it was closed already, and releases its buffered
+     * results.
+     *
+     * @param submitId The operation id.
+     */
+    public void closeOperation(String submitId) throws Exception {
+        releaseBufferedResult(submitId);
+        operationRegistry.closeOperation(session.getSessionId(), submitId).get();
     }
 
     @Override
@@ -149,10 +441,16 @@ public class FlinkSqlGatewayExecutor implements Executor {
         if (withSavepoint) {
             sqlBuilder.append(WITH_SAVEPOINT);
         }
-        client.executeStatement(session.getSessionId(), sqlBuilder.toString(), null);
+        String sessionId = session.getSessionId();
+        String operationId = client.executeStatement(sessionId, sqlBuilder.toString(), null);
+        operationRegistry.register(sessionId, operationId);
+        client.fetchResultsAsync(sessionId, operationId, DEFAULT_FETCH_TOKEN, null)
+                .whenComplete(
+                        (results, error) ->
+                                operationRegistry.closeOperation(sessionId, operationId));
     }
 
-    private String extractSqlOperationType(String sql) {
+    private static String extractSqlOperationType(String sql) {
         Pattern pattern = Pattern.compile("^(\\w+)");
         Matcher matcher = pattern.matcher(sql);
         if (matcher.find()) {
@@ -160,4 +458,281 @@ public class FlinkSqlGatewayExecutor implements Executor {
         }
         return "UNKNOWN";
     }
+
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /** The asynchronous execution of the statements of a script. */
+    private class ScriptExecution {
+
+        private final String[] statements;
+        private final ExecutionListener listener;
+        private final CompletableFuture<ExecutionResult> result = new CompletableFuture<>();
+        private final List<Integer> insertIndexes = new ArrayList<>();
+        private final List<String> insertStatements = new ArrayList<>();
+        // The statements submitted but not known to be finished. Only the statement being
+        // submitted accesses the list, statements are submitted one after the other.
+        private final List<CompletableFuture<?>> pendingStatements = new ArrayList<>();
+
+        private ScriptExecution(String[] statements, ExecutionListener listener) {
+            this.statements = statements;
+            this.listener = listener;
+        }
+
+        private CompletableFuture<ExecutionResult> start() {
+            submitFrom(0);
+            return result;
+        }
+
+        private void submitFrom(int index) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                for (int i = index; i < statements.length; i++) {
+                    String statement = statements[i];
+                    FlinkSqlOperationType operationType =
+                            FlinkSqlOperationType.getOperationType(statement);
+
+                    if (operationType == null) {
+                        String operationTypeString = extractSqlOperationType(statement);
+                        throw new UnsupportedOperationException(
+                                "Unsupported operation type: " + operationTypeString);
+                    }
+
+                    int current = i;
+                    if (resultCache != null) {
+                        resultCache.beforeSubmit(session.getSessionId(), statement, operationType);
+                    }
+                    switch (operationType.getCategory()) {
+                        case DQL:
+                            if (!insertStatements.isEmpty()) {
+                                throw new UnsupportedOperationException(
+                                        "Cannot execute DQL statement with pending INSERT statements.");
+                            }
+                            // The context is taken once the previous statements changing it
+                            // finished.
+                            completeWith(
+                                    afterPendingStatements()
+                                            .thenCompose(ignored -> cacheContext())
+                                            .thenCompose(
+                                                    context ->
+                                                            executeQuery(
+                                                                    current,
+                                                                    statement,
+                                                                    operationType,
+                                                                    context)));
+                            return;
+                        case DML:
+                            if (operationType == FlinkSqlOperationType.INSERT) {
+                                insertIndexes.add(i);
+                                insertStatements.add(statement);
+                                continue;
+                            }
+                            completeWith(executeDml(Collections.singletonList(current), statement));
+                            return;
+                        default:
+                            submitWithoutWaiting(current, statement, operationType);
+                            return;
+                    }
+                }
+
+                if (insertStatements.isEmpty()) {
+                    completeWith(afterPendingStatements().thenApply(ignored -> null));
+                } else {
+                    completeWith(
+                            executeDml(
+                                    insertIndexes,
+                                    FlinkSqlStatementSetBuilder.buildStatementSet(
+                                            insertStatements)));
+                }
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /** Returns the cached result of the query, or submits it. */
+        private CompletableFuture<ExecutionResult> executeQuery(
+                int index,
+                String statement,
+                FlinkSqlOperationType operationType,
+                @Nullable String context) {
+            ExecutionResult cached = context == null ? null : resultCache.get(statement, context);
+            if (cached != null) {
+                listener.onStatementSubmitted(index, statements.length, statement);
+                listener.onStatementCompleted(index, statements.length, statement);
+                return CompletableFuture.completedFuture(cached);
+            }
+            return execute(Collections.singletonList(index), statement)
+                    .thenApply(
+                            response ->
+                                    toDqlResult(
+                                            response.operationId,
+                                            response.results,
+                                            operationType,
+                                            statement,
+                                            context));
+        }
+
+        /** Submits the statement and continues with the next one once it was accepted. */
+        private void submitWithoutWaiting(
+                int index, String statement, FlinkSqlOperationType operationType) {
+            client.executeStatementAsync(session.getSessionId(), statement, null)
+                    .whenComplete(
+                            (operationId, error) -> {
+                                if (error != null) {
+                                    result.completeExceptionally(unwrap(error));
+                                    return;
+                                }
+                                operationRegistry.register(session.getSessionId(), operationId);
+                                listener.onStatementSubmitted(index, statements.length, statement);
+                                CompletableFuture<?> finished =
+                                        client.fetchResultsAsync(
+                                                        session.getSessionId(),
+                                                        operationId,
+                                                        DEFAULT_FETCH_TOKEN,
+                                                        null)
+                                                .whenComplete(
+                                                        (response, finishError) -> {
+                                                            operationRegistry.closeOperation(
+                                                                    session.getSessionId(),
+                                                                    operationId);
+                                                            afterContextChanged(operationType);
+                                                        })
+                                                .thenCompose(
+                                                        response -> afterConfigured(operationType));
+                                finished.whenComplete(
+                                        (response, finishError) -> {
+                                            if (finishError != null) {
+                                                result.completeExceptionally(unwrap(finishError));
+                                            } else {
+                                                listener.onStatementCompleted(
+                                                        index, statements.length, statement);
+                                            }
+                                        });
+                                pendingStatements.add(finished);
+                                submitFrom(index + 1);
+                            });
+        }
+
+        private CompletableFuture<ExecutionResult> executeDml(
+                List<Integer> indexes, String statement) {
+            return afterPendingStatements()
+                    .thenCompose(ignored -> execute(indexes, statement))
+                    .thenApply(response -> toDmlResult(response.operationId, response.results));
+        }
+
+        /** Submits the statement and waits for its first results. */
+        private CompletableFuture<StatementResponse> execute(
+                List<Integer> indexes, String statement) {
+            return client.executeStatementAsync(session.getSessionId(), statement, null)
+                    .thenCompose(
+                            operationId -> {
+                                operationRegistry.register(session.getSessionId(), operationId);
+                                indexes.forEach(
+                                        index ->
+                                                listener.onStatementSubmitted(
+                                                        index,
+                                                        statements.length,
+                                                        statements[index]));
+                                return client.fetchResultsAsync(
+                                                session.getSessionId(),
+                                                operationId,
+                                                DEFAULT_FETCH_TOKEN,
+                                                null)
+                                        .thenApply(
+                                                results -> {
+                                                    indexes.forEach(
+                                                            index ->
+                                                                    listener.onStatementCompleted(
+                                                                            index,
+                                                                            statements.length,
+                                                                            statements[index]));
+                                                    return new StatementResponse(
+                                                            operationId, results);
+                                                });
+                            });
+        }
+
+        private CompletableFuture<Void> afterPendingStatements() {
+            CompletableFuture<Void> finished =
+                    CompletableFuture.allOf(pendingStatements.toArray(new CompletableFuture<?>[0]));
+            pendingStatements.clear();
+            return finished;
+        }
+
+        private void completeWith(CompletableFuture<ExecutionResult> future) {
+            future.whenComplete(
+                    (executionResult, error) -> {
+                        if (error != null) {
+                            result.completeExceptionally(unwrap(error));
+                        } else {
+                            result.complete(executionResult);
+                        }
+                    });
+        }
+    }
+
+    /** The operation id of a submitted statement and its first results. */
+    private static class StatementResponse {
+
+        private final String operationId;
+        private final FetchResultsResponseBody results;
+
+        private StatementResponse(String operationId, FetchResultsResponseBody results) {
+            this.operationId = operationId;
+            this.results = results;
+        }
+    }
+
+    /** The buffered rows of an operation and the last token appended to them. */
+    private static class BufferedResult {
+
+        private final ResultBuffer buffer = new ResultBuffer();
+        // The statement and context of the result cache entry, null if it is not cached.
+        @Nullable private final String statement;
+        @Nullable private final String context;
+        private long lastToken = -1;
+        // Whether the tokens were appended without gaps.
+        private boolean contiguous = true;
+
+        private BufferedResult(@Nullable String statement, @Nullable String context) {
+            this.statement = statement;
+            this.context = context;
+        }
+
+        private synchronized void append(long token, ExecutionResult result) {
+            // Fetching a token again returns the same rows, which are buffered already.
+            if (token <= lastToken) {
+                return;
+            }
+            contiguous &= token == lastToken + 1;
+            lastToken = token;
+            // A failed buffer fails the paging requests, the rows are not buffered anymore.
+            if (buffer.isFailed()) {
+                return;
+            }
+            buffer.addAll(result.getData());
+            if (!result.getRows().isEmpty()) {
+                List<String> columns = new ArrayList<>(result.getColumns().size());
+                result.getColumns().forEach(column -> columns.add(column.getName()));
+                result.getRows().forEach(row -> buffer.add(columns, row));
+            }
+        }
+
+        /** Returns whether all rows up to the token ending the result are buffered. */
+        private synchronized boolean isComplete(long endToken) {
+            return statement != null
+                    && contiguous
+                    && endToken == lastToken + 1
+                    && !buffer.isTruncated()
+                    && !buffer.isFailed();
+        }
+    }
 }
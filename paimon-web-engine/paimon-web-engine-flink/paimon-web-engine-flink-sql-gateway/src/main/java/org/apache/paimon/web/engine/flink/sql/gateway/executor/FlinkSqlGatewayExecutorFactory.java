@@ -20,19 +20,89 @@ package org.apache.paimon.web.engine.flink.sql.gateway.executor;
 
 import org.apache.paimon.web.engine.flink.common.executor.Executor;
 import org.apache.paimon.web.engine.flink.common.executor.ExecutorFactory;
+import org.apache.paimon.web.engine.flink.common.result.QueryResultCache;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayLoadBalancer;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
 import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
 
-/** Factory to create {@link FlinkSqlGatewayExecutor}. */
+import javax.annotation.Nullable;
+
+/**
+ * Factory to create {@link FlinkSqlGatewayExecutor}.
+ *
+ * <p>The executors either use a fixed session, or a session opened through a {@link
+ * SqlGatewayLoadBalancer}. In the latter case the session is opened on the least loaded gateway
+ * when the first executor is created, and it is moved to another gateway when its gateway became
+ * unhealthy. The move only affects executors created afterwards, executors created before keep the
+ * session of the unhealthy gateway, so callers create an executor per unit of work instead of
+ * holding on to one.
+ */
 public class FlinkSqlGatewayExecutorFactory implements ExecutorFactory {
 
-    private final SessionEntity sessionEntity;
+    private final SqlGatewayRestClientPool restClientPool;
+    @Nullable private final QueryResultCache resultCache;
+    @Nullable private final SqlGatewayLoadBalancer loadBalancer;
+    private SessionEntity sessionEntity;
 
     public FlinkSqlGatewayExecutorFactory(SessionEntity sessionEntity) {
+        this(sessionEntity, SqlGatewayRestClientPool.getDefault());
+    }
+
+    public FlinkSqlGatewayExecutorFactory(
+            SessionEntity sessionEntity, SqlGatewayRestClientPool restClientPool) {
+        this(sessionEntity, restClientPool, null);
+    }
+
+    /**
+     * Creates a factory of executors serving repeated queries from the given cache.
+     *
+     * @param sessionEntity The session executing the statements.
+     * @param restClientPool The pool of the rest clients.
+     * @param resultCache The cache of query results shared by the executors, null to disable
+     *     caching.
+     */
+    public FlinkSqlGatewayExecutorFactory(
+            SessionEntity sessionEntity,
+            SqlGatewayRestClientPool restClientPool,
+            @Nullable QueryResultCache resultCache) {
         this.sessionEntity = sessionEntity;
+        this.restClientPool = restClientPool;
+        this.resultCache = resultCache;
+        this.loadBalancer = null;
+    }
+
+    /**
+     * Creates a factory of executors on a session balanced over several gateways.
+     *
+     * @param loadBalancer The balancer opening the session.
+     * @param resultCache The cache of query results shared by the executors, null to disable
+     *     caching.
+     */
+    public FlinkSqlGatewayExecutorFactory(
+            SqlGatewayLoadBalancer loadBalancer, @Nullable QueryResultCache resultCache) {
+        this.loadBalancer = loadBalancer;
+        this.restClientPool = loadBalancer.getRestClientPool();
+        this.resultCache = resultCache;
     }
 
     @Override
     public Executor createExecutor() throws Exception {
-        return new FlinkSqlGatewayExecutor(sessionEntity);
+        return new FlinkSqlGatewayExecutor(
+                getSessionEntity(), restClientPool, null, resultCache, loadBalancer);
+    }
+
+    /**
+     * Returns the session of the executors, opening it or moving it to a healthy gateway first when
+     * the factory uses a load balancer.
+     */
+    public synchronized SessionEntity getSessionEntity() throws Exception {
+        if (loadBalancer != null) {
+            if (sessionEntity == null) {
+                sessionEntity = loadBalancer.openSession(null);
+            } else if (!loadBalancer.isHealthy(sessionEntity)) {
+                sessionEntity = loadBalancer.failover(sessionEntity);
+            }
+        }
+        return sessionEntity;
     }
 }
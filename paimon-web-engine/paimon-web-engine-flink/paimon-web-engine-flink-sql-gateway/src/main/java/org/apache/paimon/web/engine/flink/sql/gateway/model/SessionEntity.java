@@ -24,7 +24,7 @@ import lombok.Getter;
 import java.util.Map;
 
 /** The session entity. */
-@Builder
+@Builder(toBuilder = true)
 @Getter
 public class SessionEntity {
 
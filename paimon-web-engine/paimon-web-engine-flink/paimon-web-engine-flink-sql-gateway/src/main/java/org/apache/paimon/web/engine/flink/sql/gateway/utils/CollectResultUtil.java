@@ -19,27 +19,104 @@
 package org.apache.paimon.web.engine.flink.sql.gateway.utils;
 
 import org.apache.paimon.web.engine.flink.common.result.ExecutionResult;
+import org.apache.paimon.web.engine.flink.common.result.ResultColumn;
+import org.apache.paimon.web.engine.flink.common.result.ResultFormat;
 
+import org.apache.flink.table.data.DecimalData;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.gateway.rest.serde.ColumnInfo;
 import org.apache.flink.table.gateway.rest.serde.ResultInfo;
+import org.apache.flink.table.types.logical.LogicalType;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 /** Collect result util. */
 public class CollectResultUtil {
 
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
     public static ExecutionResult.Builder collectSqlGatewayResult(ResultInfo resultInfo) {
+        return collectSqlGatewayResult(resultInfo, ResultFormat.OBJECT);
+    }
+
+    public static ExecutionResult.Builder collectSqlGatewayResult(
+            ResultInfo resultInfo, ResultFormat resultFormat) {
+        if (resultFormat == ResultFormat.COMPACT) {
+            return collectCompactResult(resultInfo);
+        }
         List<RowData> data = resultInfo.getData();
         List<Map<String, Object>> results =
                 rowDatasToList(resultInfo.getResultSchema().getColumnNames(), data);
         return ExecutionResult.builder().data(results);
     }
 
+    /**
+     * Collects the rows as lists of typed values in column order. Numbers and booleans keep their
+     * java type, decimals become {@link BigDecimal}s, strings and temporal values become strings in
+     * ISO format and nested values fall back to their string representation.
+     */
+    private static ExecutionResult.Builder collectCompactResult(ResultInfo resultInfo) {
+        List<ColumnInfo> columnInfos = resultInfo.getColumnInfos();
+        List<ResultColumn> columns = new ArrayList<>(columnInfos.size());
+        List<RowData.FieldGetter> fieldGetters = new ArrayList<>(columnInfos.size());
+        List<Function<Object, Object>> converters = new ArrayList<>(columnInfos.size());
+        for (int i = 0; i < columnInfos.size(); i++) {
+            LogicalType type = columnInfos.get(i).getLogicalType();
+            columns.add(new ResultColumn(columnInfos.get(i).getName(), type.asSummaryString()));
+            fieldGetters.add(RowData.createFieldGetter(type, i));
+            converters.add(converter(type));
+        }
+
+        List<List<Object>> rows = new ArrayList<>(resultInfo.getData().size());
+        for (RowData rowData : resultInfo.getData()) {
+            Object[] values = new Object[fieldGetters.size()];
+            for (int i = 0; i < values.length; i++) {
+                Object field = fieldGetters.get(i).getFieldOrNull(rowData);
+                values[i] = field == null ? null : converters.get(i).apply(field);
+            }
+            rows.add(Arrays.asList(values));
+        }
+        return ExecutionResult.builder().columns(columns).rows(rows);
+    }
+
+    private static Function<Object, Object> converter(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case BINARY:
+            case VARBINARY:
+                return Function.identity();
+            case DECIMAL:
+                return field -> ((DecimalData) field).toBigDecimal();
+            case DATE:
+                return field -> LocalDate.ofEpochDay((Integer) field).toString();
+            case TIME_WITHOUT_TIME_ZONE:
+                return field -> LocalTime.ofNanoOfDay((Integer) field * NANOS_PER_MILLI).toString();
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return field -> ((TimestampData) field).toLocalDateTime().toString();
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                return field -> ((TimestampData) field).toInstant().toString();
+            default:
+                return Object::toString;
+        }
+    }
+
     private static List<Map<String, Object>> rowDatasToList(
             List<String> columns, List<RowData> rowDataList) {
         List<Map<String, Object>> rows = new ArrayList<>();
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gateway.utils;
+
+/**
+ * Utility class for building the Flink SQL statements that configure a session.
+ *
+ * <p>The values are quoted as string literals and the names as identifiers, quotes inside them are
+ * escaped by doubling them.
+ */
+public class SessionStatementBuilder {
+
+    public static final String RESET_STATEMENT = "RESET";
+
+    private static final String SET_STATEMENT = "SET '%s' = '%s'";
+    private static final String USE_CATALOG_STATEMENT = "USE CATALOG `%s`";
+    private static final String USE_DATABASE_STATEMENT = "USE `%s`";
+
+    public static String buildSetStatement(String key, String value) {
+        return String.format(SET_STATEMENT, escapeLiteral(key), escapeLiteral(value));
+    }
+
+    public static String buildUseCatalogStatement(String catalogName) {
+        return String.format(USE_CATALOG_STATEMENT, escapeIdentifier(catalogName));
+    }
+
+    public static String buildUseDatabaseStatement(String databaseName) {
+        return String.format(USE_DATABASE_STATEMENT, escapeIdentifier(databaseName));
+    }
+
+    private static String escapeLiteral(String value) {
+        return value.replace("'", "''");
+    }
+
+    private static String escapeIdentifier(String identifier) {
+        return identifier.replace("`", "``");
+    }
+}
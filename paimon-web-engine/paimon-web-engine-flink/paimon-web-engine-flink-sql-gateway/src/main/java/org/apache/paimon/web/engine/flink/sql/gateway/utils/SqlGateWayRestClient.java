@@ -29,23 +29,51 @@ import org.apache.flink.runtime.rest.messages.RequestBody;
 import org.apache.flink.runtime.rest.messages.ResponseBody;
 import org.apache.flink.runtime.rest.versioning.RestAPIVersion;
 import org.apache.flink.util.ConfigurationException;
-import org.apache.flink.util.concurrent.Executors;
+import org.apache.flink.util.Preconditions;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-/** SQL gateway rest client. */
+/**
+ * SQL gateway rest client bound to one gateway endpoint.
+ *
+ * <p>At most {@code maxConcurrentRequests} requests are sent at the same time, further requests are
+ * queued and sent in submission order once a running request completes. Responses are completed on
+ * the given response executor instead of the netty I/O thread.
+ */
 public class SqlGateWayRestClient extends RestClient {
     private final String sqlGatewayHost;
     private final int sqlGatewayPort;
 
-    public SqlGateWayRestClient(String sqlGatewayHost, int sqlGatewayPort)
+    private final Semaphore permits;
+    private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+    private final AtomicLong completedRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong queueTimeNanos = new AtomicLong();
+
+    public SqlGateWayRestClient(
+            String sqlGatewayHost,
+            int sqlGatewayPort,
+            Configuration configuration,
+            Executor responseExecutor,
+            int maxConcurrentRequests)
             throws ConfigurationException {
-        super(new Configuration(), Executors.newDirectExecutorService());
+        super(configuration, responseExecutor);
+        Preconditions.checkArgument(
+                maxConcurrentRequests > 0, "Max concurrent requests must be positive.");
         this.sqlGatewayHost = sqlGatewayHost;
         this.sqlGatewayPort = sqlGatewayPort;
+        this.permits = new Semaphore(maxConcurrentRequests);
     }
 
     public <
@@ -59,21 +87,16 @@ public class SqlGateWayRestClient extends RestClient {
                     R request,
                     Collection<FileUpload> fileUploads,
                     RestAPIVersion<? extends RestAPIVersion<?>> apiVersion) {
-        return throwExceptionHandler(
-                () -> {
-                    try {
-                        return super.sendRequest(
+        return dispatch(
+                () ->
+                        super.sendRequest(
                                 sqlGatewayHost,
                                 sqlGatewayPort,
                                 messageHeaders,
                                 messageParameters,
                                 request,
                                 fileUploads,
-                                apiVersion);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
+                                apiVersion));
     }
 
     public <
@@ -82,19 +105,14 @@ public class SqlGateWayRestClient extends RestClient {
                     R extends RequestBody,
                     P extends ResponseBody>
             CompletableFuture<P> sendRequest(M messageHeaders, U messageParameters, R request) {
-        return throwExceptionHandler(
-                () -> {
-                    try {
-                        return super.sendRequest(
+        return dispatch(
+                () ->
+                        super.sendRequest(
                                 sqlGatewayHost,
                                 sqlGatewayPort,
                                 messageHeaders,
                                 messageParameters,
-                                request);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
+                                request));
     }
 
     public <
@@ -107,41 +125,116 @@ public class SqlGateWayRestClient extends RestClient {
                     U messageParameters,
                     R request,
                     Collection<FileUpload> fileUploads) {
-        return throwExceptionHandler(
-                () -> {
-                    try {
-                        return super.sendRequest(
+        return dispatch(
+                () ->
+                        super.sendRequest(
                                 sqlGatewayHost,
                                 sqlGatewayPort,
                                 messageHeaders,
                                 messageParameters,
                                 request,
-                                fileUploads);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
+                                fileUploads));
     }
 
     public <
                     M extends MessageHeaders<EmptyRequestBody, P, EmptyMessageParameters>,
                     P extends ResponseBody>
             CompletableFuture<P> sendRequest(M messageHeaders) {
-        return throwExceptionHandler(
-                () -> {
-                    try {
-                        return super.sendRequest(sqlGatewayHost, sqlGatewayPort, messageHeaders);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
+        return dispatch(() -> super.sendRequest(sqlGatewayHost, sqlGatewayPort, messageHeaders));
+    }
+
+    /** Returns the number of requests that have been sent and not yet completed. */
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    /** Returns the number of requests waiting for a running request to complete. */
+    public int getQueuedRequests() {
+        return queuedRequests.get();
+    }
+
+    /** Returns the number of requests completed successfully. */
+    public long getCompletedRequests() {
+        return completedRequests.get();
+    }
+
+    /** Returns the number of requests completed exceptionally. */
+    public long getFailedRequests() {
+        return failedRequests.get();
     }
 
-    private <T> T throwExceptionHandler(Supplier<T> func0) {
+    /** Returns the total time requests spent in the queue before being sent, in nanoseconds. */
+    public long getQueueTimeNanos() {
+        return queueTimeNanos.get();
+    }
+
+    public String getSqlGatewayHost() {
+        return sqlGatewayHost;
+    }
+
+    public int getSqlGatewayPort() {
+        return sqlGatewayPort;
+    }
+
+    private <P> CompletableFuture<P> dispatch(RequestSender<P> sender) {
+        CompletableFuture<P> result = new CompletableFuture<>();
+        queuedRequests.incrementAndGet();
+        pendingRequests.add(new PendingRequest(() -> send(sender, result)));
+        drain();
+        return result;
+    }
+
+    private <P> void send(RequestSender<P> sender, CompletableFuture<P> result) {
+        inFlightRequests.incrementAndGet();
+        CompletableFuture<P> response;
         try {
-            return func0.get();
+            response = sender.send();
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete(
+                (value, error) -> {
+                    inFlightRequests.decrementAndGet();
+                    permits.release();
+                    if (error != null) {
+                        failedRequests.incrementAndGet();
+                        result.completeExceptionally(error);
+                    } else {
+                        completedRequests.incrementAndGet();
+                        result.complete(value);
+                    }
+                    drain();
+                });
+    }
+
+    private void drain() {
+        while (!pendingRequests.isEmpty() && permits.tryAcquire()) {
+            PendingRequest request = pendingRequests.poll();
+            if (request == null) {
+                permits.release();
+                return;
+            }
+            queuedRequests.decrementAndGet();
+            queueTimeNanos.addAndGet(System.nanoTime() - request.enqueueTime);
+            request.task.run();
+        }
+    }
+
+    /** Sends a request to the gateway. */
+    @FunctionalInterface
+    private interface RequestSender<P> {
+        CompletableFuture<P> send() throws IOException;
+    }
+
+    /** A request waiting for a free slot. */
+    private static class PendingRequest {
+
+        private final Runnable task;
+        private final long enqueueTime = System.nanoTime();
+
+        private PendingRequest(Runnable task) {
+            this.task = task;
         }
     }
 }
@@ -78,16 +78,22 @@ public class TestBase {
 
     @BeforeAll
     static void start() throws Exception {
-        final String address = InetAddress.getLoopbackAddress().getHostAddress();
-        Configuration config = getBaseConfig(getFlinkConfig(address, address, "0"));
-        sqlGatewayRestEndpoint =
-                new SqlGatewayRestEndpoint(config, SQL_GATEWAY_SERVICE_EXTENSION.getService());
-        sqlGatewayRestEndpoint.start();
+        sqlGatewayRestEndpoint = startRestEndpoint();
         InetSocketAddress serverAddress = checkNotNull(sqlGatewayRestEndpoint.getServerAddress());
         targetAddress = serverAddress.getHostName();
         port = serverAddress.getPort();
     }
 
+    /** Starts another rest endpoint of the gateway service on a random port. */
+    protected static SqlGatewayRestEndpoint startRestEndpoint() throws Exception {
+        final String address = InetAddress.getLoopbackAddress().getHostAddress();
+        Configuration config = getBaseConfig(getFlinkConfig(address, address, "0"));
+        SqlGatewayRestEndpoint restEndpoint =
+                new SqlGatewayRestEndpoint(config, SQL_GATEWAY_SERVICE_EXTENSION.getService());
+        restEndpoint.start();
+        return restEndpoint;
+    }
+
     @AfterAll
     static void stop() throws Exception {
         checkNotNull(sqlGatewayRestEndpoint);
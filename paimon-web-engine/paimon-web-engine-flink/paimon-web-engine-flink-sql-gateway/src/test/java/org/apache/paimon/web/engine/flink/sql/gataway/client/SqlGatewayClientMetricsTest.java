@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gataway.client;
+
+import org.apache.paimon.web.engine.flink.sql.gataway.TestBase;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClient;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClientMetrics;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.flink.table.gateway.api.results.ResultSet;
+import org.apache.flink.table.gateway.rest.message.statement.FetchResultsResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link SqlGatewayClientMetrics}. */
+public class SqlGatewayClientMetricsTest extends TestBase {
+
+    private static final int MAX_TOKENS = 100;
+
+    MeterRegistry meterRegistry;
+    SqlGatewayClient client;
+    SessionEntity session;
+
+    @BeforeEach
+    void before() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        client =
+                new SqlGatewayClient(
+                        SqlGatewayRestClientPool.getDefault(),
+                        targetAddress,
+                        port,
+                        new SqlGatewayClientMetrics(meterRegistry));
+        session = client.openSession("test_metrics_session");
+    }
+
+    @Test
+    public void testRecordRequests() throws Exception {
+        client.getSessionConfig(session.getSessionId());
+        client.getSessionConfig(session.getSessionId());
+
+        assertEquals(1, requests("open-session", "success"));
+        // Opening the session also requested its config.
+        assertEquals(3, requests("get-session-config", "success"));
+
+        assertThrows(
+                ExecutionException.class,
+                () ->
+                        client.getOperationStatus(
+                                session.getSessionId(), UUID.randomUUID().toString()));
+        assertEquals(1, requests("get-operation-status", "error"));
+    }
+
+    @Test
+    public void testRecordStatementPhases() throws Exception {
+        String operationId = client.executeStatement(session.getSessionId(), "SELECT 1", null);
+        int fetches = 0;
+        FetchResultsResponseBody response;
+        do {
+            response = client.fetchResults(session.getSessionId(), operationId, fetches++);
+        } while (response.getResultType() != ResultSet.ResultType.EOS && fetches < MAX_TOKENS);
+        client.closeOperation(session.getSessionId(), operationId);
+
+        assertEquals(1, statementLatency("submit"));
+        assertEquals(1, statementLatency("first-row"));
+        assertEquals(1, statementLatency("complete"));
+        assertEquals(fetches, polls().count());
+        assertTrue(requests("fetch-results", "success") >= polls().totalAmount());
+    }
+
+    @Test
+    public void testStopTrackingClosedStatement() throws Exception {
+        String operationId = client.executeStatement(session.getSessionId(), "SELECT 1", null);
+        client.closeOperation(session.getSessionId(), operationId);
+
+        assertEquals(1, statementLatency("submit"));
+        assertEquals(0, statementLatency("complete"));
+        assertEquals(1, requests("close-operation", "success"));
+    }
+
+    private long requests(String call, String outcome) {
+        return meterRegistry
+                .get("paimon.sql-gateway.requests")
+                .tag("call", call)
+                .tag("outcome", outcome)
+                .tag("gateway", targetAddress + ":" + port)
+                .timer()
+                .count();
+    }
+
+    private long statementLatency(String phase) {
+        return meterRegistry
+                .get("paimon.sql-gateway.statement.latency")
+                .tag("phase", phase)
+                .timer()
+                .count();
+    }
+
+    private DistributionSummary polls() {
+        return meterRegistry.get("paimon.sql-gateway.fetch.polls").summary();
+    }
+}
@@ -27,12 +27,18 @@ import org.apache.flink.table.gateway.rest.message.statement.FetchResultsRespons
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /** Test for {@link SqlGatewayClient}. */
@@ -86,6 +92,38 @@ public class SqlGatewayClientTest extends TestBase {
         assertEquals("EOS", fetchResultsResponseBodyNext.getResultType().name());
     }
 
+    @Test
+    public void testFetchResultsAsync() throws Exception {
+        String operationHandle = client.executeStatement(session.getSessionId(), "SELECT 1", null);
+        FetchResultsResponseBody fetchResultsResponseBody =
+                client.fetchResultsAsync(
+                                session.getSessionId(), operationHandle, 0, Duration.ofMinutes(1))
+                        .get();
+        assertNotNull(fetchResultsResponseBody);
+        assertEquals("PAYLOAD", fetchResultsResponseBody.getResultType().name());
+    }
+
+    @Test
+    public void testCancelFetchResultsAsync() throws Exception {
+        String operationHandle = client.executeStatement(session.getSessionId(), "SELECT 1", null);
+        CompletableFuture<FetchResultsResponseBody> future =
+                client.fetchResultsAsync(session.getSessionId(), operationHandle, 0, null);
+        future.cancel(false);
+        assertTrue(future.isDone());
+        assertThrows(CancellationException.class, future::get);
+    }
+
+    @Test
+    public void testFetchResultsAsyncFailsOnRequestError() {
+        // Building the request throws before anything is sent, the future must still complete.
+        CompletableFuture<FetchResultsResponseBody> future =
+                client.fetchResultsAsync(
+                        session.getSessionId(), "not-an-operation-id", 0, Duration.ofSeconds(10));
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
     @Test
     public void testGetOperationStatus() throws Exception {
         String operationHandle = client.executeStatement(session.getSessionId(), "SELECT 1", null);
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gataway.client;
+
+import org.apache.paimon.web.engine.flink.common.executor.Executor;
+import org.apache.paimon.web.engine.flink.sql.gataway.TestBase;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayLoadBalancer;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
+import org.apache.paimon.web.engine.flink.sql.gateway.executor.FlinkSqlGatewayExecutorFactory;
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.gateway.rest.SqlGatewayRestEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** Test for {@link SqlGatewayLoadBalancer}, with a second rest endpoint as stub gateway. */
+public class SqlGatewayLoadBalancerTest extends TestBase {
+
+    private static final long HEALTH_CHECK_WAIT_MILLIS = 30_000;
+
+    SqlGatewayRestEndpoint stubEndpoint;
+    InetSocketAddress stubAddress;
+    SqlGatewayLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void before() throws Exception {
+        stubEndpoint = startRestEndpoint();
+        stubAddress =
+                InetSocketAddress.createUnresolved(
+                        stubEndpoint.getServerAddress().getHostName(),
+                        stubEndpoint.getServerAddress().getPort());
+    }
+
+    @AfterEach
+    void after() throws Exception {
+        if (loadBalancer != null) {
+            loadBalancer.close();
+        }
+        stubEndpoint.close();
+    }
+
+    @Test
+    public void testOpenSessionsOnLeastLoadedEndpoint() throws Exception {
+        loadBalancer = createLoadBalancer(Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            loadBalancer.openSession(null);
+        }
+        assertEquals(2, loadBalancer.getSessions(targetAddress, port));
+        assertEquals(
+                2, loadBalancer.getSessions(stubAddress.getHostString(), stubAddress.getPort()));
+
+        SessionEntity session = loadBalancer.openSession(null);
+        loadBalancer.closeSession(session);
+        assertEquals(4, sessions());
+    }
+
+    @Test
+    public void testFailoverFromDeadEndpoint() throws Exception {
+        loadBalancer = createLoadBalancer(Duration.ofMillis(100));
+        FlinkSqlGatewayExecutorFactory factory =
+                new FlinkSqlGatewayExecutorFactory(loadBalancer, null);
+        SessionEntity session = factory.getSessionEntity();
+        assertEquals(stubAddress.getPort(), session.getPort());
+
+        stubEndpoint.close();
+        waitForHealthyEndpoints(1);
+
+        SessionEntity newSession = factory.getSessionEntity();
+        assertNotEquals(session.getSessionId(), newSession.getSessionId());
+        assertEquals(port, newSession.getPort());
+        Executor executor = factory.createExecutor();
+        assertNotNull(executor.executeSql("SHOW DATABASES"));
+
+        // New sessions go to the remaining endpoint.
+        assertEquals(port, loadBalancer.openSession(null).getPort());
+    }
+
+    @Test
+    public void testFailoverReplaysUserSettings() throws Exception {
+        loadBalancer = createLoadBalancer(Duration.ofMillis(100));
+        FlinkSqlGatewayExecutorFactory factory =
+                new FlinkSqlGatewayExecutorFactory(loadBalancer, null);
+        Executor executor = factory.createExecutor();
+        executor.executeSql("SET 'table.exec.resource.default-parallelism' = '3'");
+        executor.executeSql("SET 'pipeline.name' = 'it''s a job'");
+        executor.executeSql("RESET 'table.exec.resource.default-parallelism'");
+        SessionEntity session = factory.getSessionEntity();
+
+        stubEndpoint.close();
+        waitForHealthyEndpoints(1);
+
+        SessionEntity newSession = factory.getSessionEntity();
+        assertNotEquals(session.getSessionId(), newSession.getSessionId());
+        assertEquals("it's a job", newSession.getProperties().get("pipeline.name"));
+        assertNotEquals(
+                "3", newSession.getProperties().get("table.exec.resource.default-parallelism"));
+        assertNotEquals(
+                String.valueOf(stubAddress.getPort()), newSession.getProperties().get("rest.port"));
+    }
+
+    @Test
+    public void testNoHealthyEndpoint() throws Exception {
+        loadBalancer =
+                new SqlGatewayLoadBalancer(
+                        SqlGatewayRestClientPool.getDefault(),
+                        Collections.singletonList(stubAddress),
+                        new Configuration());
+        stubEndpoint.close();
+
+        assertThrows(IllegalStateException.class, () -> loadBalancer.openSession(null));
+        assertEquals(0, loadBalancer.getHealthyEndpoints().size());
+    }
+
+    private SqlGatewayLoadBalancer createLoadBalancer(Duration healthCheckInterval)
+            throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(SqlGatewayLoadBalancer.HEALTH_CHECK_INTERVAL, healthCheckInterval);
+        // The stub endpoint comes first, it is chosen when the load is equal.
+        return new SqlGatewayLoadBalancer(
+                SqlGatewayRestClientPool.getDefault(),
+                Arrays.asList(stubAddress, InetSocketAddress.createUnresolved(targetAddress, port)),
+                configuration);
+    }
+
+    private int sessions() {
+        return loadBalancer.getSessions(targetAddress, port)
+                + loadBalancer.getSessions(stubAddress.getHostString(), stubAddress.getPort());
+    }
+
+    private void waitForHealthyEndpoints(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + HEALTH_CHECK_WAIT_MILLIS;
+        while (loadBalancer.getHealthyEndpoints().size() != expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, loadBalancer.getHealthyEndpoints().size());
+    }
+}
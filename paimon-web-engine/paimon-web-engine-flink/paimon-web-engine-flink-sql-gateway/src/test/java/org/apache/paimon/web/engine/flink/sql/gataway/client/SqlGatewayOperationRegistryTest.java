@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gataway.client;
+
+import org.apache.paimon.web.engine.flink.common.result.ExecutionResult;
+import org.apache.paimon.web.engine.flink.sql.gataway.TestBase;
+import org.apache.paimon.web.engine.flink.sql.gataway.executor.StatementsConstant;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClient;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayOperationRegistry;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
+import org.apache.paimon.web.engine.flink.sql.gateway.executor.FlinkSqlGatewayExecutor;
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+
+import org.apache.flink.configuration.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link SqlGatewayOperationRegistry}. */
+public class SqlGatewayOperationRegistryTest extends TestBase {
+
+    private static final long WAIT_MILLIS = 30_000;
+
+    SqlGatewayClient client;
+    SessionEntity session;
+    SqlGatewayOperationRegistry registry;
+
+    @BeforeEach
+    void before() throws Exception {
+        client = new SqlGatewayClient(targetAddress, port);
+        session = client.openSession("test_operation_registry");
+    }
+
+    @AfterEach
+    void after() throws Exception {
+        if (registry != null) {
+            registry.close();
+        }
+        client.closeSession(session.getSessionId());
+    }
+
+    @Test
+    public void testCloseFinishedOperations() throws Exception {
+        registry = new SqlGatewayOperationRegistry(client, new Configuration());
+        FlinkSqlGatewayExecutor executor =
+                new FlinkSqlGatewayExecutor(
+                        session, SqlGatewayRestClientPool.getDefault(), registry);
+
+        executor.executeSql(StatementsConstant.createStatement + "SHOW TABLES;");
+
+        waitUntil(() -> registry.getClosedOperations() == 2);
+        assertEquals(2, registry.getRegisteredOperations());
+        assertEquals(0, registry.getOpenOperations(session.getSessionId()));
+    }
+
+    @Test
+    public void testCloseFetchedOperation() throws Exception {
+        registry = new SqlGatewayOperationRegistry(client, new Configuration());
+        FlinkSqlGatewayExecutor executor =
+                new FlinkSqlGatewayExecutor(
+                        session, SqlGatewayRestClientPool.getDefault(), registry);
+
+        ExecutionResult executionResult = executor.executeSql(StatementsConstant.selectStatement);
+        assertTrue(executionResult.shouldFetchResult());
+        assertEquals(1, registry.getOpenOperations(session.getSessionId()));
+
+        executor.closeOperation(executionResult.getSubmitId());
+        assertEquals(0, registry.getOpenOperations());
+        assertEquals(0, registry.getFailedCloses());
+    }
+
+    @Test
+    public void testCancelIdleOperation() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(SqlGatewayOperationRegistry.IDLE_TIMEOUT, Duration.ofMillis(200));
+        configuration.set(SqlGatewayOperationRegistry.CHECK_INTERVAL, Duration.ofMillis(100));
+        registry = new SqlGatewayOperationRegistry(client, configuration);
+
+        client.executeStatement(session.getSessionId(), StatementsConstant.createStatement, null);
+        String operationId =
+                client.executeStatement(session.getSessionId(), "SELECT * FROM t_order", null);
+        registry.register(session.getSessionId(), operationId);
+        assertEquals(1, registry.getOpenOperations());
+
+        waitUntil(() -> registry.getClosedOperations() == 1);
+        assertEquals(1, registry.getCancelledOperations());
+        assertEquals(0, registry.getOpenOperations());
+    }
+
+    @Test
+    public void testReleaseIdleOperation() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(SqlGatewayOperationRegistry.IDLE_TIMEOUT, Duration.ofMillis(200));
+        configuration.set(SqlGatewayOperationRegistry.CHECK_INTERVAL, Duration.ofMillis(100));
+        registry = new SqlGatewayOperationRegistry(client, configuration);
+
+        client.executeStatement(session.getSessionId(), StatementsConstant.createStatement, null);
+        String operationId =
+                client.executeStatement(session.getSessionId(), "SELECT * FROM t_order", null);
+        registry.register(session.getSessionId(), operationId);
+        AtomicInteger released = new AtomicInteger();
+        registry.whenReleased(session.getSessionId(), operationId, released::incrementAndGet);
+        assertEquals(0, released.get());
+
+        waitUntil(() -> released.get() == 1);
+        assertEquals(1, registry.getCancelledOperations());
+        // Operations that are not tracked are released right away.
+        registry.whenReleased(session.getSessionId(), operationId, released::incrementAndGet);
+        assertEquals(2, released.get());
+    }
+
+    @Test
+    public void testTouchOnBufferedFetch() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.set(SqlGatewayOperationRegistry.IDLE_TIMEOUT, Duration.ofSeconds(5));
+        configuration.set(SqlGatewayOperationRegistry.CHECK_INTERVAL, Duration.ofMillis(100));
+        registry = new SqlGatewayOperationRegistry(client, configuration);
+        FlinkSqlGatewayExecutor executor =
+                new FlinkSqlGatewayExecutor(
+                        session, SqlGatewayRestClientPool.getDefault(), registry);
+
+        ExecutionResult executionResult = executor.executeSql(StatementsConstant.selectStatement);
+        long deadline = System.currentTimeMillis() + 7_500;
+        while (System.currentTimeMillis() < deadline) {
+            executor.fetchBufferedResults(executionResult.getSubmitId(), 0, 10);
+            Thread.sleep(200);
+        }
+
+        assertEquals(0, registry.getCancelledOperations());
+        executor.closeOperation(executionResult.getSubmitId());
+    }
+
+    @Test
+    public void testCloseDefaults() throws Exception {
+        SqlGatewayOperationRegistry defaultRegistry =
+                SqlGatewayOperationRegistry.getDefault(client);
+        assertSame(defaultRegistry, SqlGatewayOperationRegistry.getDefault(client));
+
+        SqlGatewayOperationRegistry.closeDefaults();
+        assertNotSame(defaultRegistry, SqlGatewayOperationRegistry.getDefault(client));
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gataway.client;
+
+import org.apache.paimon.web.engine.flink.sql.gataway.TestBase;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClient;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+import org.apache.paimon.web.engine.flink.sql.gateway.utils.SqlGateWayRestClient;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.rest.messages.EmptyRequestBody;
+import org.apache.flink.table.gateway.api.session.SessionHandle;
+import org.apache.flink.table.gateway.rest.header.session.GetSessionConfigHeaders;
+import org.apache.flink.table.gateway.rest.message.session.GetSessionConfigResponseBody;
+import org.apache.flink.table.gateway.rest.message.session.SessionMessageParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link SqlGatewayRestClientPool}. */
+public class SqlGatewayRestClientPoolTest extends TestBase {
+
+    private static final String SESSION_NAME = "test_session";
+    private static final int REQUEST_COUNT = 8;
+
+    SqlGatewayRestClientPool pool;
+
+    @BeforeEach
+    void before() {
+        Configuration configuration = new Configuration();
+        configuration.set(SqlGatewayRestClientPool.MAX_CONCURRENT_REQUESTS, 1);
+        configuration.set(SqlGatewayRestClientPool.RESPONSE_THREADS, 2);
+        pool = new SqlGatewayRestClientPool(configuration);
+    }
+
+    @AfterEach
+    void after() throws Exception {
+        pool.close();
+    }
+
+    @Test
+    public void testShareRestClientPerEndpoint() throws Exception {
+        SqlGatewayClient first = new SqlGatewayClient(pool, targetAddress, port);
+        SqlGatewayClient second = new SqlGatewayClient(pool, targetAddress, port);
+        first.openSession(SESSION_NAME);
+        second.openSession(SESSION_NAME);
+
+        assertEquals(1, pool.getRestClients().size());
+        assertSame(
+                pool.getRestClient(targetAddress, port), pool.getRestClients().iterator().next());
+    }
+
+    @Test
+    public void testQueueRequestsAboveLimit() throws Exception {
+        SessionEntity session = new SqlGatewayClient(pool, targetAddress, port).openSession(null);
+        SqlGateWayRestClient restClient = pool.getRestClient(targetAddress, port);
+        long completedBefore = restClient.getCompletedRequests();
+
+        List<CompletableFuture<GetSessionConfigResponseBody>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            futures.add(
+                    restClient.sendRequest(
+                            GetSessionConfigHeaders.getInstance(),
+                            new SessionMessageParameters(
+                                    new SessionHandle(UUID.fromString(session.getSessionId()))),
+                            EmptyRequestBody.getInstance()));
+        }
+        assertTrue(restClient.getInFlightRequests() <= 1);
+
+        for (CompletableFuture<GetSessionConfigResponseBody> future : futures) {
+            assertFalse(future.get(1, TimeUnit.MINUTES).getProperties().isEmpty());
+        }
+        assertEquals(REQUEST_COUNT, restClient.getCompletedRequests() - completedBefore);
+        assertEquals(0, restClient.getQueuedRequests());
+        assertEquals(0, restClient.getFailedRequests());
+    }
+
+    @Test
+    public void testClosedPool() throws Exception {
+        pool.getRestClient(targetAddress, port);
+        pool.close();
+
+        assertTrue(pool.getRestClients().isEmpty());
+        assertThrows(IllegalStateException.class, () -> pool.getRestClient(targetAddress, port));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.engine.flink.sql.gataway.client;
+
+import org.apache.paimon.web.engine.flink.common.result.QueryResultCache;
+import org.apache.paimon.web.engine.flink.sql.gataway.TestBase;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClient;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewaySessionPool;
+import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
+
+import org.apache.flink.configuration.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Test for {@link SqlGatewaySessionPool}. */
+public class SqlGatewaySessionPoolTest extends TestBase {
+
+    private static final String PARALLELISM_KEY = "table.exec.resource.default-parallelism";
+    private static final long EVICTION_WAIT_MILLIS = 30_000;
+
+    SqlGatewayClient client;
+    SqlGatewaySessionPool pool;
+
+    @BeforeEach
+    void before() throws Exception {
+        client = new SqlGatewayClient(targetAddress, port);
+    }
+
+    @AfterEach
+    void after() throws Exception {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testPreOpenSessions() throws Exception {
+        pool = new SqlGatewaySessionPool(client, new Configuration());
+        assertEquals(2, pool.getIdleSessions());
+
+        pool.borrowSession();
+        assertEquals(1, pool.getIdleSessions());
+        assertEquals(1, pool.getBorrowedSessions());
+    }
+
+    @Test
+    public void testReuseSession() throws Exception {
+        pool = new SqlGatewaySessionPool(client, poolConfig(0));
+        SessionEntity first = pool.borrowSession();
+        pool.returnSession(first);
+        SessionEntity second = pool.borrowSession();
+
+        assertEquals(first.getSessionId(), second.getSessionId());
+    }
+
+    @Test
+    public void testReapplySessionConfigOnReuse() throws Exception {
+        pool = new SqlGatewaySessionPool(client, poolConfig(0));
+        SessionEntity first = pool.borrowSession(Collections.singletonMap(PARALLELISM_KEY, "3"));
+        assertEquals("3", first.getProperties().get(PARALLELISM_KEY));
+        client.configureSession(first.getSessionId(), "SET 'pipeline.name' = 'leaked'", null);
+        pool.returnSession(first);
+
+        SessionEntity second = pool.borrowSession();
+        assertEquals(first.getSessionId(), second.getSessionId());
+        assertNotEquals("3", second.getProperties().get(PARALLELISM_KEY));
+        assertNotEquals("leaked", second.getProperties().get("pipeline.name"));
+    }
+
+    @Test
+    public void testRestoreCurrentDatabaseOnReuse() throws Exception {
+        pool = new SqlGatewaySessionPool(client, poolConfig(0));
+        SessionEntity first = pool.borrowSession();
+        client.configureSession(first.getSessionId(), "CREATE DATABASE pool_db", null);
+        client.configureSession(first.getSessionId(), "USE pool_db", null);
+        pool.returnSession(first);
+
+        SessionEntity second = pool.borrowSession();
+        assertEquals(first.getSessionId(), second.getSessionId());
+        // The current database cannot be dropped, so this only passes after switching back.
+        assertDoesNotThrow(
+                () ->
+                        client.configureSession(
+                                second.getSessionId(), "DROP DATABASE pool_db", null));
+    }
+
+    @Test
+    public void testChangeCachedContextOnReset() throws Exception {
+        QueryResultCache resultCache = QueryResultCache.builder().build();
+        pool = new SqlGatewaySessionPool(client, poolConfig(0), resultCache);
+        SessionEntity first = pool.borrowSession();
+        long generation = resultCache.contextGeneration(first.getSessionId());
+        pool.returnSession(first);
+
+        SessionEntity second = pool.borrowSession();
+        assertEquals(first.getSessionId(), second.getSessionId());
+        assertNotEquals(generation, resultCache.contextGeneration(second.getSessionId()));
+    }
+
+    @Test
+    public void testCloseSessionWithTemporaryObjects() throws Exception {
+        pool = new SqlGatewaySessionPool(client, poolConfig(0));
+        SessionEntity first = pool.borrowSession();
+        String statement = "CREATE TEMPORARY VIEW pool_view AS SELECT 1";
+        client.configureSession(first.getSessionId(), statement, null);
+        List<String> statements = Collections.singletonList(statement);
+        pool.returnSession(first, statements);
+
+        assertEquals(0, pool.getIdleSessions());
+        SessionEntity second = pool.borrowSession();
+        assertNotEquals(first.getSessionId(), second.getSessionId());
+    }
+
+    @Test
+    public void testSessionStateStatement() {
+        assertTrue(
+                SqlGatewaySessionPool.isSessionStateStatement(
+                        "create temporary function f AS 'F'"));
+        assertTrue(SqlGatewaySessionPool.isSessionStateStatement("LOAD MODULE hive"));
+        assertTrue(SqlGatewaySessionPool.isSessionStateStatement("CREATE CATALOG c WITH ()"));
+        assertFalse(SqlGatewaySessionPool.isSessionStateStatement("CREATE TABLE t (a INT)"));
+    }
+
+    @Test
+    public void testValidateOnBorrow() throws Exception {
+        pool = new SqlGatewaySessionPool(client, poolConfig(0));
+        SessionEntity first = pool.borrowSession();
+        pool.returnSession(first);
+        client.closeSession(first.getSessionId());
+
+        SessionEntity second = pool.borrowSession();
+        assertNotEquals(first.getSessionId(), second.getSessionId());
+    }
+
+    @Test
+    public void testEvictIdleSessions() throws Exception {
+        Configuration configuration = poolConfig(0);
+        configuration.set(SqlGatewaySessionPool.IDLE_TIMEOUT, Duration.ofMillis(100));
+        configuration.set(SqlGatewaySessionPool.HEARTBEAT_INTERVAL, Duration.ofMillis(100));
+        pool = new SqlGatewaySessionPool(client, configuration);
+        SessionEntity first = pool.borrowSession();
+        SessionEntity second = pool.borrowSession();
+        pool.returnSession(first);
+        pool.returnSession(second);
+        assertEquals(2, pool.getIdleSessions());
+
+        long deadline = System.currentTimeMillis() + EVICTION_WAIT_MILLIS;
+        while (pool.getIdleSessions() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, pool.getIdleSessions());
+    }
+
+    @Test
+    public void testBorrowFromClosedPool() throws Exception {
+        pool = new SqlGatewaySessionPool(client, poolConfig(0));
+        pool.close();
+        assertThrows(IllegalStateException.class, () -> pool.borrowSession());
+    }
+
+    private Configuration poolConfig(int minIdle) {
+        Configuration configuration = new Configuration();
+        configuration.set(SqlGatewaySessionPool.MIN_IDLE, minIdle);
+        return configuration;
+    }
+}
@@ -18,16 +18,31 @@
 
 package org.apache.paimon.web.engine.flink.sql.gataway.executor;
 
+import org.apache.paimon.web.engine.flink.common.executor.ExecutionListener;
 import org.apache.paimon.web.engine.flink.common.result.ExecutionResult;
 import org.apache.paimon.web.engine.flink.common.result.FetchResultParams;
+import org.apache.paimon.web.engine.flink.common.result.QueryResultCache;
+import org.apache.paimon.web.engine.flink.common.result.ResultColumn;
+import org.apache.paimon.web.engine.flink.common.result.ResultFormat;
 import org.apache.paimon.web.engine.flink.sql.gataway.TestBase;
 import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayClient;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayOperationRegistry;
+import org.apache.paimon.web.engine.flink.sql.gateway.client.SqlGatewayRestClientPool;
 import org.apache.paimon.web.engine.flink.sql.gateway.executor.FlinkSqlGatewayExecutor;
 import org.apache.paimon.web.engine.flink.sql.gateway.model.SessionEntity;
 
+import org.apache.flink.configuration.Configuration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -42,6 +57,9 @@ public class FlinkSqlGatewayExecutorTest extends TestBase {
     FlinkSqlGatewayExecutor executor;
 
     private static final String SESSION_NAME = "test_session";
+    private static final long MAX_FETCH_TOKEN = 50;
+    private static final long FETCH_INTERVAL_MILLIS = 200;
+    private static final long END_OF_STREAM_WAIT_MILLIS = 60_000;
 
     @BeforeEach
     void before() throws Exception {
@@ -55,6 +73,8 @@ public class FlinkSqlGatewayExecutorTest extends TestBase {
         ExecutionResult executionResult = executor.executeSql(StatementsConstant.statement);
         assertNotNull(executionResult);
         assertNotNull(executionResult.getJobId());
+        // Stop the unbounded job, which holds a slot of the cluster otherwise.
+        executor.stop(executionResult.getJobId(), false);
     }
 
     @Test
@@ -62,6 +82,50 @@ public class FlinkSqlGatewayExecutorTest extends TestBase {
         ExecutionResult executionResult = executor.executeSql(StatementsConstant.statementSetSql);
         assertNotNull(executionResult);
         assertNotNull(executionResult.getJobId());
+        executor.stop(executionResult.getJobId(), false);
+    }
+
+    @Test
+    public void testExecuteSqlAsync() throws Exception {
+        List<Integer> submitted = new CopyOnWriteArrayList<>();
+        List<Integer> completed = new CopyOnWriteArrayList<>();
+        ExecutionResult executionResult =
+                executor.executeSqlAsync(
+                                StatementsConstant.statement,
+                                new ExecutionListener() {
+                                    @Override
+                                    public void onStatementSubmitted(
+                                            int index, int total, String statement) {
+                                        assertEquals(3, total);
+                                        submitted.add(index);
+                                    }
+
+                                    @Override
+                                    public void onStatementCompleted(
+                                            int index, int total, String statement) {
+                                        completed.add(index);
+                                    }
+                                })
+                        .get();
+        assertNotNull(executionResult.getJobId());
+        assertEquals(Arrays.asList(0, 1, 2), submitted);
+        assertEquals(3, completed.size());
+        assertTrue(completed.containsAll(submitted));
+        executor.stop(executionResult.getJobId(), false);
+    }
+
+    @Test
+    public void testExecuteSqlAsyncWithFailedStatement() {
+        ExecutionException exception =
+                assertThrows(
+                        ExecutionException.class,
+                        () ->
+                                executor.executeSqlAsync(
+                                                "DROP TABLE t_not_exists;\n"
+                                                        + StatementsConstant.createStatement,
+                                                ExecutionListener.NOOP)
+                                        .get());
+        assertTrue(exception.getCause().getMessage().contains("t_not_exists"));
     }
 
     @Test
@@ -104,13 +168,142 @@ public class FlinkSqlGatewayExecutorTest extends TestBase {
         assertNotNull(executionResult.getJobId());
         assertNotNull(executionResult.getSubmitId());
         assertTrue(executionResult.shouldFetchResult());
-        FetchResultParams params =
-                FetchResultParams.builder()
-                        .sessionId(session.getSessionId())
-                        .submitId(executionResult.getSubmitId())
-                        .token(1L)
-                        .build();
-        ExecutionResult fetchResult = executor.fetchResults(params);
+        ExecutionResult fetchResult = fetchFirstRows(executionResult);
         assertFalse(fetchResult.getData().isEmpty());
+        executor.closeOperation(executionResult.getSubmitId());
+    }
+
+    @Test
+    public void testFetchBufferedResults() throws Exception {
+        ExecutionResult executionResult = executor.executeSql(StatementsConstant.selectStatement);
+        ExecutionResult fetchResult = fetchFirstRows(executionResult);
+
+        ExecutionResult bufferedResult =
+                executor.fetchBufferedResults(executionResult.getSubmitId(), 0, 100);
+        assertTrue(bufferedResult.getData().containsAll(fetchResult.getData()));
+
+        executor.closeOperation(executionResult.getSubmitId());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> executor.fetchBufferedResults(executionResult.getSubmitId(), 0, 100));
+    }
+
+    @Test
+    public void testReleaseBufferedResultsAtEndOfStream() throws Exception {
+        ExecutionResult executionResult = executor.executeSql("SELECT 1 AS id");
+        ExecutionResult fetchResult = null;
+        long deadline = System.currentTimeMillis() + END_OF_STREAM_WAIT_MILLIS;
+        for (long token = 1; System.currentTimeMillis() < deadline; token++) {
+            fetchResult =
+                    executor.fetchResults(
+                            FetchResultParams.builder()
+                                    .sessionId(session.getSessionId())
+                                    .submitId(executionResult.getSubmitId())
+                                    .token(token)
+                                    .build());
+            if (!fetchResult.shouldFetchResult()) {
+                break;
+            }
+            Thread.sleep(FETCH_INTERVAL_MILLIS);
+        }
+
+        assertNotNull(fetchResult);
+        assertFalse(fetchResult.shouldFetchResult());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> executor.fetchBufferedResults(executionResult.getSubmitId(), 0, 100));
+    }
+
+    @Test
+    public void testFetchCompactResults() throws Exception {
+        ExecutionResult executionResult =
+                executor.executeSql(
+                        "SELECT 1 AS id, 'paimon' AS name, CAST(1.5 AS DECIMAL(3, 1)) AS price,"
+                                + " DATE '2024-01-01' AS dt");
+        ExecutionResult fetchResult = null;
+        for (long token = 0; token <= MAX_FETCH_TOKEN; token++) {
+            fetchResult =
+                    executor.fetchResults(
+                            FetchResultParams.builder()
+                                    .sessionId(session.getSessionId())
+                                    .submitId(executionResult.getSubmitId())
+                                    .token(token)
+                                    .resultFormat(ResultFormat.COMPACT)
+                                    .build());
+            if (!fetchResult.getRows().isEmpty() || !fetchResult.shouldFetchResult()) {
+                break;
+            }
+            Thread.sleep(FETCH_INTERVAL_MILLIS);
+        }
+
+        assertNotNull(fetchResult);
+        assertTrue(fetchResult.getData().isEmpty());
+        assertEquals(
+                Arrays.asList("id", "name", "price", "dt"),
+                fetchResult.getColumns().stream()
+                        .map(ResultColumn::getName)
+                        .collect(Collectors.toList()));
+        assertEquals(
+                Arrays.asList(1, "paimon", new BigDecimal("1.5"), "2024-01-01"),
+                fetchResult.getRows().get(0));
+        executor.closeOperation(executionResult.getSubmitId());
+    }
+
+    @Test
+    public void testResultCache() throws Exception {
+        QueryResultCache resultCache = QueryResultCache.builder().build();
+        try (SqlGatewayOperationRegistry registry =
+                new SqlGatewayOperationRegistry(client, new Configuration())) {
+            FlinkSqlGatewayExecutor cachingExecutor =
+                    new FlinkSqlGatewayExecutor(
+                            session, SqlGatewayRestClientPool.getDefault(), registry, resultCache);
+            cachingExecutor.executeSql(StatementsConstant.createStatement);
+
+            ExecutionResult first = cachingExecutor.executeSql("SHOW TABLES");
+            ExecutionResult second = cachingExecutor.executeSql("SHOW\n  TABLES;");
+            assertEquals(first.getData(), second.getData());
+            assertThrows(UnsupportedOperationException.class, () -> second.getData().clear());
+            assertEquals(1, resultCache.getHits());
+            assertEquals(2, registry.getRegisteredOperations());
+
+            // Another executor of the session changes the context of both.
+            FlinkSqlGatewayExecutor otherExecutor =
+                    new FlinkSqlGatewayExecutor(
+                            session, SqlGatewayRestClientPool.getDefault(), registry, resultCache);
+            otherExecutor.executeSql("SET 'table.exec.resource.default-parallelism' = '2'");
+            cachingExecutor.executeSql("SHOW TABLES");
+            assertEquals(1, resultCache.getHits());
+            assertEquals(2, resultCache.size());
+
+            // Switching the database makes the current database part of the context.
+            cachingExecutor.executeSql("USE default_database");
+            cachingExecutor.executeSql("SHOW TABLES");
+            cachingExecutor.executeSql("SHOW TABLES");
+            assertEquals(2, resultCache.getHits());
+            assertEquals(3, resultCache.size());
+
+            cachingExecutor.executeSql("DROP TABLE t_order");
+            assertEquals(0, resultCache.size());
+        }
+    }
+
+    private ExecutionResult fetchFirstRows(ExecutionResult executionResult) throws Exception {
+        // The source emits one row per second, pages fetched before that are empty.
+        ExecutionResult fetchResult = null;
+        for (long token = 1; token <= MAX_FETCH_TOKEN; token++) {
+            FetchResultParams params =
+                    FetchResultParams.builder()
+                            .sessionId(session.getSessionId())
+                            .submitId(executionResult.getSubmitId())
+                            .token(token)
+                            .build();
+            fetchResult = executor.fetchResults(params);
+            if (!fetchResult.getData().isEmpty()) {
+                break;
+            }
+            Thread.sleep(FETCH_INTERVAL_MILLIS);
+        }
+        assertNotNull(fetchResult);
+        return fetchResult;
     }
 }
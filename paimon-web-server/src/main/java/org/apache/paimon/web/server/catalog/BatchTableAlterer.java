@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.api.exception.TableException;
+import org.apache.paimon.web.api.table.TableChange;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Alters several tables concurrently.
+ *
+ * <p>All changes of a table are applied by a single {@link PaimonService#alterTable} call, so every
+ * table is altered by one schema commit. Tables are altered on a bounded pool shared by all
+ * requests. A table that failed is reported with an error instead of failing the other tables, and
+ * a request waits until every table of the batch was altered or failed.
+ */
+@Slf4j
+@Component
+public class BatchTableAlterer implements DisposableBean {
+
+    private final CatalogRegistry catalogRegistry;
+
+    private final ExecutorService executor;
+
+    public BatchTableAlterer(
+            CatalogRegistry catalogRegistry,
+            @Value("${paimon.table.batch-alter.threads:4}") int threads) {
+        Preconditions.checkArgument(threads > 0, "Batch alter threads must be positive.");
+        this.catalogRegistry = catalogRegistry;
+        this.executor =
+                Executors.newFixedThreadPool(
+                        threads,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("table-alterer-%d")
+                                .setDaemon(true)
+                                .build());
+    }
+
+    /**
+     * Alters the given tables.
+     *
+     * @param alterations The changes of every table, at most one alteration per table.
+     * @return The result of every alteration, in the order of the alterations.
+     */
+    public List<AlteredTable> alterTables(List<TableAlteration> alterations) {
+        List<CompletableFuture<AlteredTable>> futures = new ArrayList<>(alterations.size());
+        for (TableAlteration alteration : alterations) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> alter(alteration), executor));
+            } catch (RejectedExecutionException e) {
+                futures.add(
+                        CompletableFuture.completedFuture(
+                                new AlteredTable(alteration, 0, "Table alterer is shut down.")));
+            }
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private AlteredTable alter(TableAlteration alteration) {
+        long start = System.nanoTime();
+        try {
+            PaimonService service = catalogRegistry.getPaimonService(alteration.catalog);
+            // The catalog checks the existence, the cached listings may be stale.
+            service.alterTable(alteration.databaseName, alteration.tableName, alteration.changes);
+            return new AlteredTable(alteration, elapsedMillis(start), null);
+        } catch (TableException.TableNotExistException e) {
+            return new AlteredTable(
+                    alteration,
+                    elapsedMillis(start),
+                    String.format(
+                            "The table '%s' does not exist in the database '%s'.",
+                            alteration.tableName, alteration.databaseName));
+        } catch (Exception e) {
+            log.warn(
+                    "Exception with altering table [{}.{}] of catalog [{}].",
+                    alteration.databaseName,
+                    alteration.tableName,
+                    alteration.catalog.getCatalogName(),
+                    e);
+            return new AlteredTable(
+                    alteration, elapsedMillis(start), String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /** The changes of a table that are applied in one schema commit. */
+    @Getter
+    public static class TableAlteration {
+
+        private final CatalogInfo catalog;
+
+        private final String databaseName;
+
+        private final String tableName;
+
+        private final List<TableChange> changes;
+
+        public TableAlteration(
+                CatalogInfo catalog,
+                String databaseName,
+                String tableName,
+                List<TableChange> changes) {
+            this.catalog = catalog;
+            this.databaseName = databaseName;
+            this.tableName = tableName;
+            this.changes = changes;
+        }
+    }
+
+    /** The result of a {@link TableAlteration}. */
+    @Getter
+    public static class AlteredTable {
+
+        private final TableAlteration alteration;
+
+        /** Time spent altering the table, in milliseconds. */
+        private final long latencyMillis;
+
+        /** Error of altering the table, null when the table was altered. */
+        private final String error;
+
+        private AlteredTable(TableAlteration alteration, long latencyMillis, String error) {
+            this.alteration = alteration;
+            this.latencyMillis = latencyMillis;
+            this.error = error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
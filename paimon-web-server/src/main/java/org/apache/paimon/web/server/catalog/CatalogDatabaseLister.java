@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Lists the databases of several catalogs concurrently.
+ *
+ * <p>Every catalog is listed on a bounded pool shared by all requests, and a request waits at most
+ * {@code paimon.catalog.list.timeout-millis} for all of them. A catalog that failed or did not
+ * answer in time is reported with an error instead of failing the whole request. A listing that
+ * timed out keeps running in the background and is not submitted again while it runs, so a hanging
+ * catalog occupies at most one thread. The lister caches nothing itself, the services of the {@link
+ * CatalogRegistry} cache the listings for {@code paimon.catalog.cache.ttl-millis}.
+ */
+@Slf4j
+@Component
+public class CatalogDatabaseLister implements DisposableBean {
+
+    private final CatalogRegistry catalogRegistry;
+
+    private final ExecutorService executor;
+
+    private final long timeoutMillis;
+
+    private final ConcurrentMap<Integer, CompletableFuture<CatalogDatabases>> listings =
+            new ConcurrentHashMap<>();
+
+    public CatalogDatabaseLister(
+            CatalogRegistry catalogRegistry,
+            @Value("${paimon.catalog.list.threads:8}") int threads,
+            @Value("${paimon.catalog.list.timeout-millis:5000}") long timeoutMillis) {
+        Preconditions.checkArgument(threads > 0, "Listing threads must be positive.");
+        Preconditions.checkArgument(timeoutMillis > 0, "Listing timeout must be positive.");
+        this.catalogRegistry = catalogRegistry;
+        this.executor =
+                Executors.newFixedThreadPool(
+                        threads,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("catalog-lister-%d")
+                                .setDaemon(true)
+                                .build());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Lists the databases of the given catalogs.
+     *
+     * @param catalogs The catalogs to list.
+     * @return The databases of every catalog, in the order of the catalogs.
+     */
+    public List<CatalogDatabases> listDatabases(List<CatalogInfo> catalogs) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<CatalogInfo, CompletableFuture<CatalogDatabases>> futures = new LinkedHashMap<>();
+        for (CatalogInfo catalog : catalogs) {
+            futures.put(catalog, list(catalog));
+        }
+
+        List<CatalogDatabases> result = new ArrayList<>(catalogs.size());
+        futures.forEach(
+                (catalog, future) -> {
+                    try {
+                        long remaining = Math.max(0, deadline - System.nanoTime());
+                        result.add(future.get(remaining, TimeUnit.NANOSECONDS));
+                    } catch (TimeoutException e) {
+                        log.warn(
+                                "Listing databases of catalog [{}] timed out.",
+                                catalog.getCatalogName());
+                        result.add(
+                                CatalogDatabases.failed(
+                                        catalog,
+                                        elapsedMillis(start),
+                                        "Listing databases timed out after "
+                                                + timeoutMillis
+                                                + " ms."));
+                    } catch (ExecutionException e) {
+                        log.warn(
+                                "Exception with listing databases of catalog [{}].",
+                                catalog.getCatalogName(),
+                                e.getCause());
+                        result.add(
+                                CatalogDatabases.failed(
+                                        catalog,
+                                        elapsedMillis(start),
+                                        String.valueOf(e.getCause().getMessage())));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        result.add(
+                                CatalogDatabases.failed(
+                                        catalog, elapsedMillis(start), "Listing interrupted."));
+                    }
+                });
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<CatalogDatabases> list(CatalogInfo catalog) {
+        CompletableFuture<CatalogDatabases> future = new CompletableFuture<>();
+        CompletableFuture<CatalogDatabases> running = listings.putIfAbsent(catalog.getId(), future);
+        if (running != null) {
+            return running;
+        }
+        executor.execute(
+                () -> {
+                    try {
+                        CatalogDatabases databases = doList(catalog);
+                        listings.remove(catalog.getId(), future);
+                        future.complete(databases);
+                    } catch (Throwable t) {
+                        listings.remove(catalog.getId(), future);
+                        future.completeExceptionally(t);
+                    }
+                });
+        return future;
+    }
+
+    private CatalogDatabases doList(CatalogInfo catalog) {
+        long start = System.nanoTime();
+        List<String> databases = catalogRegistry.getPaimonService(catalog).listDatabases();
+        return new CatalogDatabases(catalog, databases, elapsedMillis(start), null);
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /** The databases of a catalog, or the error of listing them. */
+    @Getter
+    public static class CatalogDatabases {
+
+        private final CatalogInfo catalog;
+
+        private final List<String> databases;
+
+        /** Time spent listing the databases, in milliseconds. */
+        private final long latencyMillis;
+
+        /** Error of listing the databases, null when the listing succeeded. */
+        private final String error;
+
+        private CatalogDatabases(
+                CatalogInfo catalog, List<String> databases, long latencyMillis, String error) {
+            this.catalog = catalog;
+            this.databases = databases;
+            this.latencyMillis = latencyMillis;
+            this.error = error;
+        }
+
+        private static CatalogDatabases failed(
+                CatalogInfo catalog, long latencyMillis, String error) {
+            return new CatalogDatabases(catalog, Collections.emptyList(), latencyMillis, error);
+        }
+    }
+}
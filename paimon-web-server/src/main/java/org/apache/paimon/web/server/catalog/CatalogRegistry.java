@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.api.catalog.CachingPaimonService;
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+import org.apache.paimon.web.server.util.PaimonServiceUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of long-lived {@link PaimonService} instances keyed by catalog id.
+ *
+ * <p>Building a Paimon catalog creates a new file io and, for hive catalogs, a new metastore
+ * client. The registry builds one service per catalog and shares it across requests. A cached
+ * service is rebuilt only when the definition of its {@link CatalogInfo} changes. A replaced or
+ * removed service may still be in use by requests that looked it up before, so it is closed only
+ * after {@code paimon.catalog.close-delay-millis}.
+ *
+ * <p>The services cache the listings and tables of their catalog for {@code
+ * paimon.catalog.cache.ttl-millis}, see {@link CachingPaimonService}.
+ */
+@Slf4j
+@Component
+public class CatalogRegistry implements DisposableBean {
+
+    private static final String METRIC_PREFIX = "paimon.catalog.registry";
+
+    private final ConcurrentMap<Integer, CatalogEntry> catalogs = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer buildTimer;
+
+    private final Duration cacheTtl;
+
+    private final long cacheMaxSize;
+
+    private final Duration tableRevalidateInterval;
+
+    private final long closeDelayMillis;
+
+    private final ScheduledExecutorService closer;
+
+    /** Replaced or removed services waiting to be closed. */
+    private final Set<PaimonService> closing = ConcurrentHashMap.newKeySet();
+
+    public CatalogRegistry(MeterRegistry meterRegistry) {
+        this(meterRegistry, 30_000, 10_000, 1_000, 60_000);
+    }
+
+    @Autowired
+    public CatalogRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${paimon.catalog.cache.ttl-millis:30000}") long cacheTtlMillis,
+            @Value("${paimon.catalog.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${paimon.catalog.cache.table-revalidate-interval-millis:1000}")
+                    long tableRevalidateIntervalMillis,
+            @Value("${paimon.catalog.close-delay-millis:60000}") long closeDelayMillis) {
+        Preconditions.checkArgument(closeDelayMillis >= 0, "Close delay cannot be negative.");
+        this.closeDelayMillis = closeDelayMillis;
+        this.closer =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("catalog-closer-%d")
+                                .setDaemon(true)
+                                .build());
+        this.cacheTtl = Duration.ofMillis(cacheTtlMillis);
+        this.cacheMaxSize = cacheMaxSize;
+        this.tableRevalidateInterval = Duration.ofMillis(tableRevalidateIntervalMillis);
+        this.hitCounter =
+                Counter.builder(METRIC_PREFIX + ".requests")
+                        .tag("result", "hit")
+                        .description("Number of catalog lookups served by a cached catalog.")
+                        .register(meterRegistry);
+        this.missCounter =
+                Counter.builder(METRIC_PREFIX + ".requests")
+                        .tag("result", "miss")
+                        .description("Number of catalog lookups that had to build a catalog.")
+                        .register(meterRegistry);
+        this.buildTimer =
+                Timer.builder(METRIC_PREFIX + ".build")
+                        .description("Time spent building a catalog.")
+                        .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", catalogs, Map::size)
+                .description("Number of cached catalogs.")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the shared {@link PaimonService} of the given catalog, building it on the first
+     * access or when the catalog definition changed since the service was built.
+     *
+     * @param catalogInfo The persisted catalog information.
+     * @return The cached PaimonService object.
+     */
+    public PaimonService getPaimonService(CatalogInfo catalogInfo) {
+        Objects.requireNonNull(catalogInfo, "Catalog info cannot be null.");
+        Integer catalogId =
+                Objects.requireNonNull(catalogInfo.getId(), "Catalog id cannot be null.");
+        CatalogDefinition definition = new CatalogDefinition(catalogInfo);
+
+        CatalogEntry entry = catalogs.get(catalogId);
+        if (entry != null && entry.definition.equals(definition)) {
+            hitCounter.increment();
+            return entry.service;
+        }
+
+        // Building a catalog may connect to a metastore, so it is built outside of the map and
+        // installed afterwards. Concurrent first lookups may build the same catalog twice, the
+        // service that lost the race was never handed out and is closed right away.
+        PaimonService service = buildTimer.record(() -> buildPaimonService(catalogInfo));
+        missCounter.increment();
+        CatalogEntry built = new CatalogEntry(definition, service);
+        while (true) {
+            CatalogEntry existing = catalogs.get(catalogId);
+            if (existing != null && existing.definition.equals(definition)) {
+                closeQuietly(catalogId, service);
+                return existing.service;
+            }
+            if (existing == null) {
+                if (catalogs.putIfAbsent(catalogId, built) == null) {
+                    return service;
+                }
+            } else if (catalogs.replace(catalogId, existing, built)) {
+                log.info("Catalog [{}] definition changed, rebuilding catalog.", catalogId);
+                closeLater(catalogId, existing.service);
+                return service;
+            }
+        }
+    }
+
+    /**
+     * Removes the cached service of the given catalog and closes it once the requests that may
+     * still use it are done.
+     *
+     * @param catalogId The catalog id.
+     */
+    public void invalidate(Integer catalogId) {
+        if (catalogId == null) {
+            return;
+        }
+        CatalogEntry entry = catalogs.remove(catalogId);
+        if (entry != null) {
+            closeLater(catalogId, entry.service);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        closer.shutdownNow();
+        catalogs.forEach((catalogId, entry) -> closeQuietly(catalogId, entry.service));
+        catalogs.clear();
+        closing.forEach(service -> closeQuietly(null, service));
+        closing.clear();
+    }
+
+    PaimonService buildPaimonService(CatalogInfo catalogInfo) {
+        return new CachingPaimonService(
+                PaimonServiceUtils.getPaimonService(catalogInfo),
+                cacheTtl,
+                cacheMaxSize,
+                tableRevalidateInterval);
+    }
+
+    private void closeLater(Integer catalogId, PaimonService service) {
+        closing.add(service);
+        try {
+            closer.schedule(
+                    () -> {
+                        if (closing.remove(service)) {
+                            closeQuietly(catalogId, service);
+                        }
+                    },
+                    closeDelayMillis,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The registry is being destroyed and closes the remaining services itself.
+            if (closing.remove(service)) {
+                closeQuietly(catalogId, service);
+            }
+        }
+    }
+
+    private void closeQuietly(Integer catalogId, PaimonService service) {
+        try {
+            service.close();
+        } catch (Exception e) {
+            log.warn("Exception with closing catalog [{}].", catalogId, e);
+        }
+    }
+
+    /** A cached service together with the catalog definition it was built from. */
+    private static class CatalogEntry {
+
+        private final CatalogDefinition definition;
+        private final PaimonService service;
+
+        private CatalogEntry(CatalogDefinition definition, PaimonService service) {
+            this.definition = definition;
+            this.service = service;
+        }
+    }
+
+    /** The fields of a {@link CatalogInfo} that the built catalog depends on. */
+    private static class CatalogDefinition {
+
+        private final String catalogType;
+        private final String catalogName;
+        private final String warehouse;
+        private final Map<String, String> options;
+
+        private CatalogDefinition(CatalogInfo catalogInfo) {
+            this.catalogType = catalogInfo.getCatalogType();
+            this.catalogName = catalogInfo.getCatalogName();
+            this.warehouse = catalogInfo.getWarehouse();
+            this.options =
+                    catalogInfo.getOptions() == null
+                            ? new HashMap<>()
+                            : new HashMap<>(catalogInfo.getOptions());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CatalogDefinition that = (CatalogDefinition) o;
+            return Objects.equals(catalogType, that.catalogType)
+                    && Objects.equals(catalogName, that.catalogName)
+                    && Objects.equals(warehouse, that.warehouse)
+                    && Objects.equals(options, that.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogType, catalogName, warehouse, options);
+        }
+    }
+}
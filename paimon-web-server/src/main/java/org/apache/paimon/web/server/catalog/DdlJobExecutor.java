@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs DDL jobs off the servlet threads.
+ *
+ * <p>Jobs run on a bounded pool shared by all catalogs, and at most {@code
+ * paimon.ddl-job.catalog-concurrency} jobs of the same catalog run at a time. The other jobs of
+ * that catalog wait in a queue of the catalog without occupying a thread, so a slow catalog does
+ * not hold back the jobs of the other catalogs. Jobs still queued when the executor shuts down are
+ * rejected, which their submitters are told about.
+ */
+@Slf4j
+@Component
+public class DdlJobExecutor implements DisposableBean {
+
+    private final ExecutorService executor;
+
+    private final int catalogConcurrency;
+
+    /** The jobs of every catalog that has queued or running jobs, guarded by this executor. */
+    private final Map<Integer, CatalogJobs> catalogJobs = new HashMap<>();
+
+    public DdlJobExecutor(
+            @Value("${paimon.ddl-job.threads:4}") int threads,
+            @Value("${paimon.ddl-job.catalog-concurrency:1}") int catalogConcurrency) {
+        Preconditions.checkArgument(threads > 0, "DDL job threads must be positive.");
+        Preconditions.checkArgument(
+                catalogConcurrency > 0, "DDL job concurrency of a catalog must be positive.");
+        this.executor =
+                Executors.newFixedThreadPool(
+                        threads,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("ddl-job-%d")
+                                .setDaemon(true)
+                                .build());
+        this.catalogConcurrency = catalogConcurrency;
+    }
+
+    /**
+     * Submits a job of the given catalog. The job runs once fewer than the allowed number of jobs
+     * of the catalog are running.
+     *
+     * @param catalogId The id of the catalog the job alters.
+     * @param job The job, which reports its own failures.
+     * @param onRejected Called instead of the job when the executor shut down before the job
+     *     started.
+     * @throws RejectedExecutionException If the executor is shut down.
+     */
+    public synchronized void submit(
+            Integer catalogId, Runnable job, Consumer<RejectedExecutionException> onRejected) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("DDL job executor is shut down.");
+        }
+        CatalogJobs jobs = catalogJobs.computeIfAbsent(catalogId, id -> new CatalogJobs());
+        jobs.queued.add(new QueuedJob(job, onRejected));
+        schedule(catalogId, jobs);
+    }
+
+    /**
+     * Returns the number of queued and running jobs of the given catalog.
+     *
+     * @param catalogId The catalog id.
+     * @return The number of unfinished jobs.
+     */
+    public synchronized int unfinishedJobs(Integer catalogId) {
+        CatalogJobs jobs = catalogJobs.get(catalogId);
+        return jobs == null ? 0 : jobs.running + jobs.queued.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private synchronized void schedule(Integer catalogId, CatalogJobs jobs) {
+        while (jobs.running < catalogConcurrency && !jobs.queued.isEmpty()) {
+            QueuedJob job = jobs.queued.poll();
+            try {
+                executor.execute(() -> run(catalogId, job.job));
+                jobs.running++;
+            } catch (RejectedExecutionException e) {
+                log.warn("DDL jobs of catalog [{}] rejected, executor is shut down.", catalogId);
+                reject(catalogId, job, e);
+                while (!jobs.queued.isEmpty()) {
+                    reject(catalogId, jobs.queued.poll(), e);
+                }
+            }
+        }
+        if (jobs.running == 0 && jobs.queued.isEmpty()) {
+            catalogJobs.remove(catalogId);
+        }
+    }
+
+    private void run(Integer catalogId, Runnable job) {
+        try {
+            job.run();
+        } catch (Throwable t) {
+            log.error("Exception with running DDL job of catalog [{}].", catalogId, t);
+        } finally {
+            synchronized (this) {
+                CatalogJobs jobs = catalogJobs.get(catalogId);
+                jobs.running--;
+                schedule(catalogId, jobs);
+            }
+        }
+    }
+
+    private void reject(Integer catalogId, QueuedJob job, RejectedExecutionException e) {
+        try {
+            job.onRejected.accept(e);
+        } catch (Throwable t) {
+            log.error("Exception with rejecting DDL job of catalog [{}].", catalogId, t);
+        }
+    }
+
+    /** The queued and running jobs of a catalog. */
+    private static class CatalogJobs {
+
+        private final Queue<QueuedJob> queued = new ArrayDeque<>();
+
+        private int running;
+    }
+
+    /** A job waiting for its catalog. */
+    private static class QueuedJob {
+
+        private final Runnable job;
+
+        private final Consumer<RejectedExecutionException> onRejected;
+
+        private QueuedJob(Runnable job, Consumer<RejectedExecutionException> onRejected) {
+            this.job = job;
+            this.onRejected = onRejected;
+        }
+    }
+}
@@ -0,0 +1,457 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+import org.apache.paimon.web.server.service.CatalogService;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of the table names of all catalogs, which answers table searches without listing
+ * the databases and tables of every catalog.
+ *
+ * <p>Table names are indexed by their lower case trigrams. A keyword of at least three characters
+ * only verifies the tables that contain all of its trigrams, shorter keywords scan the indexed
+ * names. Tables that contain the keyword are ranked by exact, prefix and substring matches,
+ * followed by fuzzy matches that contain most of the trigrams of the keyword, which tolerates
+ * typos.
+ *
+ * <p>The index of a catalog is built on its first search and refreshed every {@code
+ * paimon.table-index.refresh-interval-millis} in the background. DDL done through the web server
+ * updates the index immediately. The index only keeps the catalog ids, callers resolve the current
+ * catalog names.
+ */
+@Slf4j
+@Component
+public class TableNameIndex implements DisposableBean {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /** Min fraction of the keyword trigrams a fuzzy match contains. */
+    private static final double MIN_FUZZY_SIMILARITY = 0.7;
+
+    /** Max number of listings of a refresh that are outdated by DDL before it gives up. */
+    private static final int MAX_REFRESH_ATTEMPTS = 3;
+
+    private final CatalogService catalogService;
+
+    private final CatalogRegistry catalogRegistry;
+
+    private final ScheduledExecutorService refresher;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The indexed tables of every indexed catalog, guarded by the lock. */
+    private final Map<Integer, Set<IndexedTable>> catalogs = new HashMap<>();
+
+    /** The tables whose name contains a trigram, guarded by the lock. */
+    private final Map<String, Set<IndexedTable>> grams = new HashMap<>();
+
+    /** Number of changes applied to every catalog by DDL, guarded by the lock. */
+    private final Map<Integer, Long> versions = new HashMap<>();
+
+    public TableNameIndex(
+            CatalogService catalogService,
+            CatalogRegistry catalogRegistry,
+            @Value("${paimon.table-index.refresh-interval-millis:300000}")
+                    long refreshIntervalMillis) {
+        this.catalogService = catalogService;
+        this.catalogRegistry = catalogRegistry;
+        if (refreshIntervalMillis > 0) {
+            this.refresher =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ThreadFactoryBuilder()
+                                    .setNameFormat("table-index-refresher")
+                                    .setDaemon(true)
+                                    .build());
+            this.refresher.scheduleWithFixedDelay(
+                    this::refreshAll,
+                    refreshIntervalMillis,
+                    refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.refresher = null;
+        }
+    }
+
+    /**
+     * Searches the tables whose name matches the keyword, ignoring case.
+     *
+     * @param keyword The keyword.
+     * @return The matched tables, best matches first.
+     */
+    public List<IndexedTable> search(String keyword) {
+        String key = keyword.toLowerCase(Locale.ROOT);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (key.length() < GRAM_LENGTH) {
+                catalogs.values().forEach(tables -> tables.forEach(t -> match(key, t, matches)));
+            } else {
+                Set<String> keyGrams = grams(key);
+                Map<IndexedTable, Integer> shared = new HashMap<>();
+                for (String gram : keyGrams) {
+                    for (IndexedTable table : grams.getOrDefault(gram, Collections.emptySet())) {
+                        shared.merge(table, 1, Integer::sum);
+                    }
+                }
+                shared.forEach(
+                        (table, count) -> {
+                            if (count == keyGrams.size() && match(key, table, matches)) {
+                                return;
+                            }
+                            double similarity = (double) count / keyGrams.size();
+                            if (similarity >= MIN_FUZZY_SIMILARITY) {
+                                matches.add(new Match(table, 3, similarity));
+                            }
+                        });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches.stream()
+                .sorted(
+                        Comparator.comparingInt((Match m) -> m.rank)
+                                .thenComparing(m -> -m.similarity)
+                                .thenComparingInt(m -> m.table.tableName.length())
+                                .thenComparing(m -> m.table.catalogId)
+                                .thenComparing(m -> m.table.databaseName)
+                                .thenComparing(m -> m.table.tableName))
+                .map(m -> m.table)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Whether the tables of the catalog are indexed.
+     *
+     * @param catalogId The catalog id.
+     * @return True if the catalog is indexed.
+     */
+    public boolean isIndexed(Integer catalogId) {
+        lock.readLock().lock();
+        try {
+            return catalogs.containsKey(catalogId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists all tables of the catalog and updates its index with the tables that were created or
+     * dropped since the last refresh. A listing during which DDL changed the index may miss that
+     * DDL, it is discarded and the catalog listed again. The index is left as it is when DDL keeps
+     * changing it, the next refresh retries.
+     *
+     * @param catalog The catalog.
+     */
+    public void refresh(CatalogInfo catalog) {
+        PaimonService service = catalogRegistry.getPaimonService(catalog);
+        for (int attempt = 0; attempt < MAX_REFRESH_ATTEMPTS; attempt++) {
+            long version = version(catalog.getId());
+            Set<IndexedTable> listed = new HashSet<>();
+            for (String database : service.listDatabases()) {
+                for (String table : service.listTables(database)) {
+                    listed.add(new IndexedTable(catalog.getId(), database, table));
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (version == versions.getOrDefault(catalog.getId(), 0L)) {
+                    Set<IndexedTable> indexed =
+                            catalogs.computeIfAbsent(catalog.getId(), id -> new HashSet<>());
+                    indexed.stream()
+                            .filter(t -> !listed.contains(t))
+                            .collect(Collectors.toList())
+                            .forEach(this::remove);
+                    listed.stream().filter(t -> !indexed.contains(t)).forEach(this::add);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info(
+                "Tables of catalog [{}] changed during every listing, skipped the refresh.",
+                catalog.getCatalogName());
+    }
+
+    /** Refreshes the index of all catalogs and drops the catalogs that were removed. */
+    public void refreshAll() {
+        try {
+            List<CatalogInfo> catalogInfos = catalogService.list();
+            Set<Integer> catalogIds =
+                    catalogInfos.stream().map(CatalogInfo::getId).collect(Collectors.toSet());
+            lock.writeLock().lock();
+            try {
+                catalogs.keySet().stream()
+                        .filter(id -> !catalogIds.contains(id))
+                        .collect(Collectors.toList())
+                        .forEach(this::removeCatalogUnlocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            for (CatalogInfo catalog : catalogInfos) {
+                try {
+                    refresh(catalog);
+                } catch (Exception e) {
+                    log.warn(
+                            "Exception with indexing tables of catalog [{}].",
+                            catalog.getCatalogName(),
+                            e);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Exception with refreshing the table index.", e);
+        }
+    }
+
+    /**
+     * Adds a created table to the index of its catalog.
+     *
+     * @param catalogId The catalog id.
+     * @param databaseName The database name.
+     * @param tableName The table name.
+     */
+    public void addTable(Integer catalogId, String databaseName, String tableName) {
+        update(
+                catalogId,
+                indexed -> {
+                    IndexedTable table = new IndexedTable(catalogId, databaseName, tableName);
+                    if (!indexed.contains(table)) {
+                        add(table);
+                    }
+                });
+    }
+
+    /**
+     * Removes a dropped table from the index of its catalog.
+     *
+     * @param catalogId The catalog id.
+     * @param databaseName The database name.
+     * @param tableName The table name.
+     */
+    public void removeTable(Integer catalogId, String databaseName, String tableName) {
+        update(
+                catalogId,
+                indexed ->
+                        indexed.stream()
+                                .filter(
+                                        t ->
+                                                t.databaseName.equals(databaseName)
+                                                        && t.tableName.equals(tableName))
+                                .collect(Collectors.toList())
+                                .forEach(this::remove));
+    }
+
+    /**
+     * Removes the tables of a dropped database from the index of its catalog.
+     *
+     * @param catalogId The catalog id.
+     * @param databaseName The database name.
+     */
+    public void removeDatabase(Integer catalogId, String databaseName) {
+        update(
+                catalogId,
+                indexed ->
+                        indexed.stream()
+                                .filter(t -> t.databaseName.equals(databaseName))
+                                .collect(Collectors.toList())
+                                .forEach(this::remove));
+    }
+
+    /**
+     * Removes the index of a removed catalog.
+     *
+     * @param catalogId The catalog id.
+     */
+    public void removeCatalog(Integer catalogId) {
+        lock.writeLock().lock();
+        try {
+            removeCatalogUnlocked(catalogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void update(Integer catalogId, Consumer<Set<IndexedTable>> change) {
+        lock.writeLock().lock();
+        try {
+            versions.merge(catalogId, 1L, Long::sum);
+            Set<IndexedTable> indexed = catalogs.get(catalogId);
+            // A catalog that is not indexed yet picks up the change when it is built.
+            if (indexed != null) {
+                change.accept(indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long version(Integer catalogId) {
+        lock.readLock().lock();
+        try {
+            return versions.getOrDefault(catalogId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeCatalogUnlocked(Integer catalogId) {
+        Set<IndexedTable> indexed = catalogs.get(catalogId);
+        if (indexed != null) {
+            new ArrayList<>(indexed).forEach(this::remove);
+            catalogs.remove(catalogId);
+        }
+        versions.remove(catalogId);
+    }
+
+    private void add(IndexedTable table) {
+        catalogs.computeIfAbsent(table.catalogId, id -> new HashSet<>()).add(table);
+        for (String gram : grams(table.lowerCaseName)) {
+            grams.computeIfAbsent(gram, g -> new HashSet<>()).add(table);
+        }
+    }
+
+    private void remove(IndexedTable table) {
+        Set<IndexedTable> indexed = catalogs.get(table.catalogId);
+        if (indexed != null) {
+            indexed.remove(table);
+        }
+        for (String gram : grams(table.lowerCaseName)) {
+            Set<IndexedTable> tables = grams.get(gram);
+            if (tables != null) {
+                tables.remove(table);
+                if (tables.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static boolean match(String key, IndexedTable table, List<Match> matches) {
+        String name = table.lowerCaseName;
+        if (name.equals(key)) {
+            matches.add(new Match(table, 0, 1));
+        } else if (name.startsWith(key)) {
+            matches.add(new Match(table, 1, 1));
+        } else if (name.contains(key)) {
+            matches.add(new Match(table, 2, 1));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Set<String> grams(String name) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            result.add(name.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    /** A table of the index. */
+    @Getter
+    public static class IndexedTable {
+
+        private final Integer catalogId;
+
+        private final String databaseName;
+
+        private final String tableName;
+
+        @Getter(AccessLevel.NONE)
+        private final String lowerCaseName;
+
+        private IndexedTable(Integer catalogId, String databaseName, String tableName) {
+            this.catalogId = catalogId;
+            this.databaseName = databaseName;
+            this.tableName = tableName;
+            this.lowerCaseName = tableName.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            IndexedTable that = (IndexedTable) o;
+            return Objects.equals(catalogId, that.catalogId)
+                    && Objects.equals(databaseName, that.databaseName)
+                    && Objects.equals(tableName, that.tableName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(catalogId, databaseName, tableName);
+        }
+    }
+
+    /** A matched table with its rank, lower ranks are better matches. */
+    private static class Match {
+
+        private final IndexedTable table;
+        private final int rank;
+        private final double similarity;
+
+        private Match(IndexedTable table, int rank, double similarity) {
+            this.table = table;
+            this.rank = rank;
+            this.similarity = similarity;
+        }
+    }
+}
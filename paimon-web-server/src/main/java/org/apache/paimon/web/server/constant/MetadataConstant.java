@@ -28,4 +28,10 @@ public class MetadataConstant {
     public static final String CONSUMER = "consumers";
     public static final String TAGS = "tags";
     public static final String METADATA_TABLE_FORMAT = "%s$%s";
+
+    public static final String PARTITION = "partition";
+    public static final String BUCKET = "bucket";
+    public static final String LEVEL = "level";
+    public static final String SCHEMA_ID = "schema_id";
+    public static final String SNAPSHOT_ID = "snapshot_id";
 }
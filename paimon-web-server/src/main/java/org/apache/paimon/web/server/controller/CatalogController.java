@@ -18,6 +18,8 @@
 
 package org.apache.paimon.web.server.controller;
 
+import org.apache.paimon.web.server.catalog.CatalogRegistry;
+import org.apache.paimon.web.server.catalog.TableNameIndex;
 import org.apache.paimon.web.server.data.dto.CatalogDTO;
 import org.apache.paimon.web.server.data.model.CatalogInfo;
 import org.apache.paimon.web.server.data.result.R;
@@ -43,8 +45,17 @@ public class CatalogController {
 
     private final CatalogService catalogService;
 
-    public CatalogController(CatalogService catalogService) {
+    private final CatalogRegistry catalogRegistry;
+
+    private final TableNameIndex tableNameIndex;
+
+    public CatalogController(
+            CatalogService catalogService,
+            CatalogRegistry catalogRegistry,
+            TableNameIndex tableNameIndex) {
         this.catalogService = catalogService;
+        this.catalogRegistry = catalogRegistry;
+        this.tableNameIndex = tableNameIndex;
     }
 
     /**
@@ -82,18 +93,23 @@ public class CatalogController {
      */
     @PostMapping("/remove")
     public R<Void> removeCatalog(@RequestBody CatalogDTO catalogDTO) {
-        boolean remove;
+        CatalogInfo catalogInfo;
         if (StringUtils.isNotBlank(catalogDTO.getName())) {
-            remove =
-                    catalogService.remove(
+            catalogInfo =
+                    catalogService.getOne(
                             Wrappers.lambdaQuery(CatalogInfo.class)
                                     .eq(CatalogInfo::getCatalogName, catalogDTO.getName()));
         } else {
-            remove =
-                    catalogService.remove(
+            catalogInfo =
+                    catalogService.getOne(
                             Wrappers.lambdaQuery(CatalogInfo.class)
                                     .eq(CatalogInfo::getId, catalogDTO.getId()));
         }
-        return remove ? R.succeed() : R.failed(Status.CATALOG_REMOVE_ERROR);
+        if (catalogInfo == null || !catalogService.removeById(catalogInfo.getId())) {
+            return R.failed(Status.CATALOG_REMOVE_ERROR);
+        }
+        catalogRegistry.invalidate(catalogInfo.getId());
+        tableNameIndex.removeCatalog(catalogInfo.getId());
+        return R.succeed();
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.controller;
+
+import org.apache.paimon.web.server.data.dto.DatabaseDTO;
+import org.apache.paimon.web.server.data.dto.TableDTO;
+import org.apache.paimon.web.server.data.model.DdlJob;
+import org.apache.paimon.web.server.data.result.R;
+import org.apache.paimon.web.server.service.DdlJobService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** DDL job api controller, running long DDL operations asynchronously. */
+@Slf4j
+@RestController
+@RequestMapping("/api/ddl-job")
+public class DdlJobController {
+
+    private final DdlJobService ddlJobService;
+
+    public DdlJobController(DdlJobService ddlJobService) {
+        this.ddlJobService = ddlJobService;
+    }
+
+    /**
+     * Submits a job dropping a database.
+     *
+     * @param databaseDTO The database to drop.
+     * @return The submitted job, whose id is used to poll its status.
+     */
+    @PostMapping("/database/drop")
+    public R<DdlJob> dropDatabase(@RequestBody DatabaseDTO databaseDTO) {
+        return ddlJobService.submitDropDatabase(databaseDTO);
+    }
+
+    /**
+     * Submits a job creating a table.
+     *
+     * @param tableDTO The table to create.
+     * @return The submitted job, whose id is used to poll its status.
+     */
+    @PostMapping("/table/create")
+    public R<DdlJob> createTable(@RequestBody TableDTO tableDTO) {
+        return ddlJobService.submitCreateTable(tableDTO);
+    }
+
+    /**
+     * Gets the status and progress of a job.
+     *
+     * @param id The job id.
+     * @return The job.
+     */
+    @GetMapping("/{id}")
+    public R<DdlJob> getJob(@PathVariable Integer id) {
+        return ddlJobService.getJob(id);
+    }
+}
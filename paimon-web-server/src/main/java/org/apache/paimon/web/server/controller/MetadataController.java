@@ -27,13 +27,22 @@ import org.apache.paimon.web.server.data.vo.SchemaVO;
 import org.apache.paimon.web.server.data.vo.SnapshotVO;
 import org.apache.paimon.web.server.service.MetadataService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 /** Metadata api controller. */
 @Slf4j
@@ -43,8 +52,11 @@ public class MetadataController {
 
     private final MetadataService metadataService;
 
-    public MetadataController(MetadataService metadataService) {
+    private final ObjectMapper objectMapper;
+
+    public MetadataController(MetadataService metadataService, ObjectMapper objectMapper) {
         this.metadataService = metadataService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/schema")
@@ -71,4 +83,55 @@ public class MetadataController {
     public R<List<OptionVO>> getOptionInfo(@RequestBody MetadataDTO dto) {
         return R.succeed(metadataService.getOption(dto));
     }
+
+    @PostMapping("/schema/stream")
+    public void streamSchemaInfo(@RequestBody MetadataDTO dto, HttpServletResponse response)
+            throws IOException {
+        writeNdjson(response, consumer -> metadataService.streamSchema(dto, consumer));
+    }
+
+    @PostMapping("/snapshot/stream")
+    public void streamSnapshotInfo(@RequestBody MetadataDTO dto, HttpServletResponse response)
+            throws IOException {
+        writeNdjson(response, consumer -> metadataService.streamSnapshot(dto, consumer));
+    }
+
+    @PostMapping("/manifest/stream")
+    public void streamManifestInfo(@RequestBody MetadataDTO dto, HttpServletResponse response)
+            throws IOException {
+        writeNdjson(response, consumer -> metadataService.streamManifest(dto, consumer));
+    }
+
+    @PostMapping("/dataFile/stream")
+    public void streamDataFileInfo(@RequestBody MetadataDTO dto, HttpServletResponse response)
+            throws IOException {
+        writeNdjson(response, consumer -> metadataService.streamDataFile(dto, consumer));
+    }
+
+    @PostMapping("/options/stream")
+    public void streamOptionInfo(@RequestBody MetadataDTO dto, HttpServletResponse response)
+            throws IOException {
+        writeNdjson(response, consumer -> metadataService.streamOption(dto, consumer));
+    }
+
+    /**
+     * Writes every row produced by the reader to the response as one JSON line. The rows are not
+     * collected, so a failing or disconnected client stops the underlying read.
+     */
+    private void writeNdjson(HttpServletResponse response, Consumer<Consumer<Object>> reader)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        reader.accept(
+                row -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(row));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        out.flush();
+    }
 }
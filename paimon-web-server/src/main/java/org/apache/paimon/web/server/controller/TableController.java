@@ -19,9 +19,11 @@
 package org.apache.paimon.web.server.controller;
 
 import org.apache.paimon.web.server.data.dto.AlterTableDTO;
+import org.apache.paimon.web.server.data.dto.TableChangeDTO;
 import org.apache.paimon.web.server.data.dto.TableDTO;
 import org.apache.paimon.web.server.data.result.R;
 import org.apache.paimon.web.server.data.result.enums.Status;
+import org.apache.paimon.web.server.data.vo.AlterTableResultVO;
 import org.apache.paimon.web.server.data.vo.TableVO;
 import org.apache.paimon.web.server.service.TableService;
 
@@ -121,6 +123,19 @@ public class TableController {
         return tableService.alterTable(alterTableDTO);
     }
 
+    /**
+     * Applies the changes of several tables in one request. The changes of every table are applied
+     * in one schema commit.
+     *
+     * @param tableChanges The changes to apply, each naming the catalog, database and table.
+     * @return A response containing the result of every table.
+     */
+    @PostMapping("/batch")
+    public R<List<AlterTableResultVO>> batchAlterTables(
+            @RequestBody List<TableChangeDTO> tableChanges) {
+        return tableService.batchAlterTables(tableChanges);
+    }
+
     /**
      * Adds options to a table.
      *
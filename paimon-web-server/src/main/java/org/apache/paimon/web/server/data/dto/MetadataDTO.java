@@ -20,6 +20,8 @@ package org.apache.paimon.web.server.data.dto;
 
 import lombok.Data;
 
+import java.util.List;
+
 /** DTO of metadata. */
 @Data
 public class MetadataDTO {
@@ -29,4 +31,34 @@ public class MetadataDTO {
     private String databaseName;
 
     private String tableName;
+
+    /** The number of rows to skip before the first returned row, defaults to 0. */
+    private Long offset;
+
+    /** The maximum number of rows to return, all remaining rows are returned when absent. */
+    private Integer limit;
+
+    /** The system table columns to read, such as file_path, all columns are read when absent. */
+    private List<String> columns;
+
+    /** Only rows of this partition, as rendered in the partition column, e.g. [2023-12-04]. */
+    private String partition;
+
+    private Integer bucket;
+
+    private Integer level;
+
+    private Long schemaId;
+
+    /** The first snapshot id to return, inclusive. */
+    private Long startSnapshotId;
+
+    /** The last snapshot id to return, inclusive. */
+    private Long endSnapshotId;
+
+    /** The number of splits read concurrently, capped by the server and defaults to the cap. */
+    private Integer parallelism;
+
+    /** Whether rows keep the order of the splits, defaults to true. */
+    private Boolean ordered;
 }
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.data.dto;
+
+import org.apache.paimon.web.server.data.model.TableColumn;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** DTO of a single change of a table, used to alter several tables in one request. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableChangeDTO {
+
+    private String catalogName;
+
+    private String databaseName;
+
+    private String tableName;
+
+    private Type type;
+
+    /** The column to add, used by {@link Type#ADD_COLUMN}. */
+    private TableColumn column;
+
+    /** The column to change, used by the column changes other than {@link Type#ADD_COLUMN}. */
+    private String columnName;
+
+    /** The new name of the column, used by {@link Type#RENAME_COLUMN}. */
+    private String newColumnName;
+
+    /** The new comment of the column, used by {@link Type#UPDATE_COLUMN_COMMENT}. */
+    private String comment;
+
+    /** The key of the option, used by {@link Type#SET_OPTION} and {@link Type#REMOVE_OPTION}. */
+    private String key;
+
+    /** The value of the option, used by {@link Type#SET_OPTION}. */
+    private String value;
+
+    /** Type of the table change. */
+    public enum Type {
+        ADD_COLUMN,
+        DROP_COLUMN,
+        RENAME_COLUMN,
+        UPDATE_COLUMN_COMMENT,
+        SET_OPTION,
+        REMOVE_OPTION
+    }
+}
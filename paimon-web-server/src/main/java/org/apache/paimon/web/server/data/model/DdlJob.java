@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.data.model;
+
+import org.apache.paimon.web.server.data.enums.DdlJobStatus;
+import org.apache.paimon.web.server.data.enums.DdlJobType;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/** Model of ddl_job. */
+@TableName(value = "ddl_job")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Builder
+public class DdlJob extends BaseModel implements Serializable {
+
+    private Integer catalogId;
+
+    private String catalogName;
+
+    private DdlJobType jobType;
+
+    private String databaseName;
+
+    private String tableName;
+
+    /** The request of the job in json. */
+    private String content;
+
+    private DdlJobStatus status;
+
+    /** Number of finished steps, such as the tables dropped so far. */
+    private Integer progress;
+
+    /** Number of steps of the job, known once the job started. */
+    private Integer total;
+
+    /** Error of a failed job. */
+    private String message;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+}
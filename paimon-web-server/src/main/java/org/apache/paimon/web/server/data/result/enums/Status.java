@@ -76,7 +76,11 @@ public enum Status {
     TABLE_RENAME_ERROR(10511, "table.rename.error"),
 
     CDC_JOB_EXIST_ERROR(10601, "cdc.job.exist.error"),
-    CDC_JOB_NO_EXIST_ERROR(10602, "cdc.job.not.exist.error");
+    CDC_JOB_NO_EXIST_ERROR(10602, "cdc.job.not.exist.error"),
+
+    /** ------------ddl job-----------------. */
+    DDL_JOB_SUBMIT_ERROR(10701, "ddl.job.submit.error"),
+    DDL_JOB_NOT_EXIST_ERROR(10702, "ddl.job.not.exist.error");
 
     private final int code;
     private final String msg;
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.data.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** VO of the result of altering one table in a batch. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlterTableResultVO {
+
+    private String catalogName;
+
+    private String databaseName;
+
+    private String tableName;
+
+    /** Number of requested changes of the table, applied in one schema commit. */
+    private Integer changes;
+
+    private Boolean success;
+
+    /** Time spent altering the table, in milliseconds. */
+    private Long latencyMillis;
+
+    /** Error of altering the table, null when the table was altered. */
+    private String error;
+}
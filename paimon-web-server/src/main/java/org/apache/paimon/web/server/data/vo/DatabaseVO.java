@@ -37,4 +37,13 @@ public class DatabaseVO {
     private String catalogName;
 
     private String description;
+
+    /** Time spent listing the databases of the catalog, set when listing all catalogs. */
+    private Long latencyMillis;
+
+    /**
+     * Error of listing the databases of the catalog. A catalog that failed is reported by a single
+     * entry without name that carries the error.
+     */
+    private String error;
 }
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.metadata;
+
+import org.apache.paimon.data.InternalRow;
+import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.table.source.ReadBuilder;
+import org.apache.paimon.table.source.Split;
+import org.apache.paimon.utils.CloseableIterator;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Reads the splits of a metadata table scan, concurrently when the scan planned more than one
+ * split.
+ *
+ * <p>All requests share one bounded pool of reader threads. A single request never runs more than
+ * {@code paimon.metadata.read.max-parallelism} split readers at a time, so one heavy request cannot
+ * occupy the whole pool. Every split reader hands its rows to the request thread through a bounded
+ * queue, which keeps the memory of a request bounded when its consumer is slow.
+ *
+ * <p>A reader blocked on a full queue gives up once the consumer did not take a row from any queue
+ * for {@code paimon.metadata.read.consumer-timeout-millis}. A consumer that keeps draining one
+ * split while the readers of the next splits wait is not stalled. The read is then stopped as if
+ * the iterator had been closed, so a stalled or abandoned request releases its reader threads, and
+ * the consumer fails if it comes back.
+ */
+@Slf4j
+@Component
+public class MetadataSplitReader implements DisposableBean {
+
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final long WAIT_INTERVAL_MILLIS = 100;
+
+    private static final Object END = new Object();
+
+    private final ExecutorService executor;
+
+    private final int maxParallelism;
+
+    private final long consumerTimeoutMillis;
+
+    private final int queueCapacity;
+
+    public MetadataSplitReader(int threads, int maxParallelism) {
+        this(threads, maxParallelism, 60_000);
+    }
+
+    @Autowired
+    public MetadataSplitReader(
+            @Value("${paimon.metadata.read.threads:8}") int threads,
+            @Value("${paimon.metadata.read.max-parallelism:4}") int maxParallelism,
+            @Value("${paimon.metadata.read.consumer-timeout-millis:60000}")
+                    long consumerTimeoutMillis) {
+        this(threads, maxParallelism, consumerTimeoutMillis, QUEUE_CAPACITY);
+    }
+
+    MetadataSplitReader(
+            int threads, int maxParallelism, long consumerTimeoutMillis, int queueCapacity) {
+        Preconditions.checkArgument(threads > 0, "Reader threads must be positive.");
+        Preconditions.checkArgument(maxParallelism > 0, "Max parallelism must be positive.");
+        Preconditions.checkArgument(
+                consumerTimeoutMillis > 0, "Consumer timeout must be positive.");
+        this.consumerTimeoutMillis = consumerTimeoutMillis;
+        this.queueCapacity = queueCapacity;
+        this.executor =
+                Executors.newFixedThreadPool(
+                        threads,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("metadata-reader-%d")
+                                .setDaemon(true)
+                                .build());
+        this.maxParallelism = maxParallelism;
+    }
+
+    /**
+     * Reads the given splits and maps every row with the mapper. Rows mapped to null are dropped.
+     * The mapper runs on the reader threads, it must not keep the row, which is reused by the
+     * underlying reader.
+     *
+     * @param readBuilder The read builder the splits were planned with.
+     * @param splits The splits to read.
+     * @param parallelism The requested number of concurrent split readers, capped by the configured
+     *     max parallelism. Null means the max parallelism.
+     * @param ordered Whether the rows keep the order of the splits.
+     * @param mapper The mapper of the rows.
+     * @return An iterator of the mapped rows, closing it stops all split readers.
+     */
+    public <T> CloseableIterator<T> read(
+            ReadBuilder readBuilder,
+            List<Split> splits,
+            Integer parallelism,
+            boolean ordered,
+            Function<InternalRow, T> mapper) {
+        int readers =
+                Math.min(
+                        splits.size(),
+                        parallelism == null
+                                ? maxParallelism
+                                : Math.min(parallelism, maxParallelism));
+        try {
+            if (readers <= 1) {
+                return new SplitIterator<>(readBuilder.newRead().createReader(splits), mapper);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ordered
+                ? new OrderedIterator<>(readBuilder, splits, readers, mapper)
+                : new UnorderedIterator<>(readBuilder, splits, readers, mapper);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** Pulls the mapped rows of a record reader batch by batch. */
+    private static class SplitIterator<T> implements CloseableIterator<T> {
+
+        private final RecordReader<InternalRow> reader;
+        private final Function<InternalRow, T> mapper;
+
+        private RecordReader.RecordIterator<InternalRow> batch;
+        private T next;
+        private boolean end;
+
+        private SplitIterator(RecordReader<InternalRow> reader, Function<InternalRow, T> mapper) {
+            this.reader = reader;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !end) {
+                    if (batch == null) {
+                        batch = reader.readBatch();
+                        end = batch == null;
+                        continue;
+                    }
+                    InternalRow row = batch.next();
+                    if (row == null) {
+                        batch.releaseBatch();
+                        batch = null;
+                    } else {
+                        next = mapper.apply(row);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (batch != null) {
+                batch.releaseBatch();
+                batch = null;
+            }
+            reader.close();
+        }
+    }
+
+    /** The base of the iterators that read splits on the reader threads. */
+    private abstract class ConcurrentIterator<T> implements CloseableIterator<T> {
+
+        private final ReadBuilder readBuilder;
+        private final Function<InternalRow, T> mapper;
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private volatile boolean closed;
+        private volatile boolean timedOut;
+        private volatile long lastTakeNanos = System.nanoTime();
+        private T next;
+
+        private ConcurrentIterator(ReadBuilder readBuilder, Function<InternalRow, T> mapper) {
+            this.readBuilder = readBuilder;
+            this.mapper = mapper;
+        }
+
+        /** Returns the next element of the reader threads, or null when all splits are read. */
+        protected abstract Object poll() throws InterruptedException;
+
+        protected void submit(Runnable task) {
+            synchronized (futures) {
+                if (!closed) {
+                    futures.add(executor.submit(task));
+                }
+            }
+        }
+
+        /** Reads one split into the queue, stops early when this iterator is closed. */
+        protected void readSplit(Split split, BlockingQueue<Object> queue)
+                throws InterruptedException {
+            try (SplitIterator<T> rows =
+                    new SplitIterator<>(readBuilder.newRead().createReader(split), mapper)) {
+                while (!closed && rows.hasNext()) {
+                    offer(queue, rows.next());
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable t) {
+                offer(queue, new Failure(t));
+            }
+        }
+
+        protected boolean isClosed() {
+            return closed;
+        }
+
+        /** Offers an element, stops the read when the consumer did not take rows in time. */
+        protected void offer(BlockingQueue<Object> queue, Object element)
+                throws InterruptedException {
+            long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(consumerTimeoutMillis);
+            while (!closed && !queue.offer(element, WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (System.nanoTime() - lastTakeNanos > timeoutNanos) {
+                    log.warn(
+                            "Stopping metadata read, the consumer took no rows for {} ms.",
+                            consumerTimeoutMillis);
+                    timedOut = true;
+                    close();
+                    return;
+                }
+            }
+        }
+
+        /** Takes an element of the reader threads, fails when the read was stopped meanwhile. */
+        protected Object take(BlockingQueue<Object> queue) throws InterruptedException {
+            while (true) {
+                Object element = queue.poll(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (element != null) {
+                    lastTakeNanos = System.nanoTime();
+                    return element;
+                }
+                if (timedOut) {
+                    throw new IllegalStateException(
+                            "Metadata read was stopped, the consumer took no rows for "
+                                    + consumerTimeoutMillis
+                                    + " ms.");
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            Object element;
+            try {
+                element = poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            if (element instanceof Failure) {
+                Throwable cause = ((Failure) element).cause;
+                throw cause instanceof RuntimeException
+                        ? (RuntimeException) cause
+                        : new RuntimeException(cause);
+            }
+            next = (T) element;
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            synchronized (futures) {
+                closed = true;
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+    }
+
+    /**
+     * Keeps the order of the splits. Split {@code i + readers} starts once split {@code i} was
+     * consumed, so at most {@code readers} splits are read and buffered at a time.
+     */
+    private class OrderedIterator<T> extends ConcurrentIterator<T> {
+
+        private final List<Split> splits;
+        private final int readers;
+        private final List<BlockingQueue<Object>> queues;
+
+        private int current;
+
+        private OrderedIterator(
+                ReadBuilder readBuilder,
+                List<Split> splits,
+                int readers,
+                Function<InternalRow, T> mapper) {
+            super(readBuilder, mapper);
+            this.splits = splits;
+            this.readers = readers;
+            this.queues = new ArrayList<>(splits.size());
+            for (int i = 0; i < splits.size(); i++) {
+                queues.add(new LinkedBlockingQueue<>(queueCapacity));
+            }
+            for (int i = 0; i < readers; i++) {
+                submitSplit(i);
+            }
+        }
+
+        private void submitSplit(int index) {
+            BlockingQueue<Object> queue = queues.get(index);
+            submit(
+                    () -> {
+                        try {
+                            readSplit(splits.get(index), queue);
+                            offer(queue, END);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+        }
+
+        @Override
+        protected Object poll() throws InterruptedException {
+            while (current < splits.size()) {
+                Object element = take(queues.get(current));
+                if (element != END) {
+                    return element;
+                }
+                queues.set(current, null);
+                if (current + readers < splits.size()) {
+                    submitSplit(current + readers);
+                }
+                current++;
+            }
+            return null;
+        }
+    }
+
+    /** Hands out the rows in the order they were read, the readers share one queue. */
+    private class UnorderedIterator<T> extends ConcurrentIterator<T> {
+
+        private final List<Split> splits;
+        private final int readers;
+        private final AtomicInteger nextSplit = new AtomicInteger();
+        private final BlockingQueue<Object> queue;
+
+        private int finishedReaders;
+
+        private UnorderedIterator(
+                ReadBuilder readBuilder,
+                List<Split> splits,
+                int readers,
+                Function<InternalRow, T> mapper) {
+            super(readBuilder, mapper);
+            this.splits = splits;
+            this.readers = readers;
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+            for (int i = 0; i < readers; i++) {
+                submit(this::readSplits);
+            }
+        }
+
+        private void readSplits() {
+            try {
+                int index;
+                while (!isClosed() && (index = nextSplit.getAndIncrement()) < splits.size()) {
+                    readSplit(splits.get(index), queue);
+                }
+                offer(queue, END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        protected Object poll() throws InterruptedException {
+            while (finishedReaders < readers) {
+                Object element = take(queue);
+                if (element != END) {
+                    return element;
+                }
+                finishedReaders++;
+            }
+            return null;
+        }
+    }
+
+    /** The failure of a split reader, rethrown on the request thread. */
+    private static class Failure {
+
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.service;
+
+import org.apache.paimon.web.server.data.dto.DatabaseDTO;
+import org.apache.paimon.web.server.data.dto.TableDTO;
+import org.apache.paimon.web.server.data.model.DdlJob;
+import org.apache.paimon.web.server.data.result.R;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+
+/** Service of the DDL operations that run as asynchronous jobs. */
+public interface DdlJobService extends IService<DdlJob> {
+
+    /**
+     * Submits a job dropping a database. A cascading drop drops the tables of the database one by
+     * one and reports the number of tables dropped so far as the progress of the job.
+     *
+     * @param databaseDTO The database to drop, naming its catalog by id or name.
+     * @return A response containing the pending job, or a failed response if the job could not be
+     *     submitted.
+     */
+    R<DdlJob> submitDropDatabase(DatabaseDTO databaseDTO);
+
+    /**
+     * Submits a job creating a table.
+     *
+     * @param tableDTO The table to create, as accepted by {@link TableService#createTable}.
+     * @return A response containing the pending job, or a failed response if the job could not be
+     *     submitted.
+     */
+    R<DdlJob> submitCreateTable(TableDTO tableDTO);
+
+    /**
+     * Gets a job to poll its status and progress.
+     *
+     * @param id The job id.
+     * @return A response containing the job, or a failed response if the job does not exist.
+     */
+    R<DdlJob> getJob(Integer id);
+}
@@ -26,6 +26,7 @@ import org.apache.paimon.web.server.data.vo.SchemaVO;
 import org.apache.paimon.web.server.data.vo.SnapshotVO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /** Metadata service includes the service interfaces of metadata. */
 public interface MetadataService {
@@ -69,4 +70,44 @@ public interface MetadataService {
      * @return a list of table option objects
      */
     List<OptionVO> getOption(MetadataDTO dto);
+
+    /**
+     * Reads Metadata schema row by row and hands each row to the consumer.
+     *
+     * @param dto query metadata info
+     * @param consumer the consumer of schema objects
+     */
+    void streamSchema(MetadataDTO dto, Consumer<? super SchemaVO> consumer);
+
+    /**
+     * Reads Metadata snapshot row by row and hands each row to the consumer.
+     *
+     * @param dto query metadata info
+     * @param consumer the consumer of snapshot objects
+     */
+    void streamSnapshot(MetadataDTO dto, Consumer<? super SnapshotVO> consumer);
+
+    /**
+     * Reads Metadata manifest row by row and hands each row to the consumer.
+     *
+     * @param dto query metadata info
+     * @param consumer the consumer of manifest info objects
+     */
+    void streamManifest(MetadataDTO dto, Consumer<? super ManifestsVO> consumer);
+
+    /**
+     * Reads Metadata data file row by row and hands each row to the consumer.
+     *
+     * @param dto query metadata info
+     * @param consumer the consumer of data file objects
+     */
+    void streamDataFile(MetadataDTO dto, Consumer<? super DataFileVO> consumer);
+
+    /**
+     * Reads Metadata table option row by row and hands each row to the consumer.
+     *
+     * @param dto query metadata info
+     * @param consumer the consumer of table option objects
+     */
+    void streamOption(MetadataDTO dto, Consumer<? super OptionVO> consumer);
 }
@@ -19,9 +19,11 @@
 package org.apache.paimon.web.server.service;
 
 import org.apache.paimon.web.server.data.dto.AlterTableDTO;
+import org.apache.paimon.web.server.data.dto.TableChangeDTO;
 import org.apache.paimon.web.server.data.dto.TableDTO;
 import org.apache.paimon.web.server.data.result.R;
 import org.apache.paimon.web.server.data.result.enums.Status;
+import org.apache.paimon.web.server.data.vo.AlterTableResultVO;
 import org.apache.paimon.web.server.data.vo.TableVO;
 
 import java.util.List;
@@ -66,6 +68,16 @@ public interface TableService {
      */
     R<Void> alterTable(AlterTableDTO alterTableDTO);
 
+    /**
+     * Applies the changes of several tables, grouping the changes of every table into one schema
+     * commit and altering different tables concurrently.
+     *
+     * @param tableChanges The changes to apply, in the order they are applied to each table.
+     * @return A response containing the result of every table, in the order the tables first appear
+     *     in the changes. A table that failed does not fail the other tables.
+     */
+    R<List<AlterTableResultVO>> batchAlterTables(List<TableChangeDTO> tableChanges);
+
     /**
      * Adds options to a table.
      *
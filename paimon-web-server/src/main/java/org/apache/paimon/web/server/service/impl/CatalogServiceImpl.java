@@ -18,6 +18,7 @@
 
 package org.apache.paimon.web.server.service.impl;
 
+import org.apache.paimon.web.api.catalog.PaimonService;
 import org.apache.paimon.web.api.catalog.PaimonServiceFactory;
 import org.apache.paimon.web.server.data.dto.CatalogDTO;
 import org.apache.paimon.web.server.data.enums.CatalogMode;
@@ -50,23 +51,35 @@ public class CatalogServiceImpl extends ServiceImpl<CatalogMapper, CatalogInfo>
             return R.failed(Status.CATALOG_NAME_IS_EXIST, catalogDTO.getName());
         }
 
-        if (catalogDTO.getType().equalsIgnoreCase(CatalogMode.FILESYSTEM.getMode())) {
-            PaimonServiceFactory.createFileSystemCatalogService(
-                    catalogDTO.getName(), catalogDTO.getWarehouse(), catalogDTO.getOptions());
-        } else if (catalogDTO.getType().equalsIgnoreCase(CatalogMode.HIVE.getMode())) {
-            if (StringUtils.isNotBlank(catalogDTO.getHiveConfDir())) {
-                PaimonServiceFactory.createHiveCatalogService(
-                        catalogDTO.getName(),
-                        catalogDTO.getWarehouse(),
-                        catalogDTO.getHiveUri(),
-                        catalogDTO.getHiveConfDir());
-            } else {
-                PaimonServiceFactory.createHiveCatalogService(
-                        catalogDTO.getName(),
-                        catalogDTO.getWarehouse(),
-                        catalogDTO.getHiveUri(),
-                        null);
+        PaimonService service = null;
+        try {
+            if (catalogDTO.getType().equalsIgnoreCase(CatalogMode.FILESYSTEM.getMode())) {
+                service =
+                        PaimonServiceFactory.createFileSystemCatalogService(
+                                catalogDTO.getName(),
+                                catalogDTO.getWarehouse(),
+                                catalogDTO.getOptions());
+            } else if (catalogDTO.getType().equalsIgnoreCase(CatalogMode.HIVE.getMode())) {
+                if (StringUtils.isNotBlank(catalogDTO.getHiveConfDir())) {
+                    service =
+                            PaimonServiceFactory.createHiveCatalogService(
+                                    catalogDTO.getName(),
+                                    catalogDTO.getWarehouse(),
+                                    catalogDTO.getHiveUri(),
+                                    catalogDTO.getHiveConfDir());
+                } else {
+                    service =
+                            PaimonServiceFactory.createHiveCatalogService(
+                                    catalogDTO.getName(),
+                                    catalogDTO.getWarehouse(),
+                                    catalogDTO.getHiveUri(),
+                                    null);
+                }
             }
+        } finally {
+            // The catalog is only built to validate the definition, the shared instance is
+            // built later by the CatalogRegistry.
+            closeQuietly(service);
         }
 
         CatalogInfo catalog =
@@ -80,4 +93,15 @@ public class CatalogServiceImpl extends ServiceImpl<CatalogMapper, CatalogInfo>
 
         return this.save(catalog) ? R.succeed() : R.failed();
     }
+
+    private void closeQuietly(PaimonService service) {
+        if (service == null) {
+            return;
+        }
+        try {
+            service.close();
+        } catch (Exception e) {
+            log.error("Exception with closing catalog.", e);
+        }
+    }
 }
@@ -19,6 +19,10 @@
 package org.apache.paimon.web.server.service.impl;
 
 import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.catalog.CatalogDatabaseLister;
+import org.apache.paimon.web.server.catalog.CatalogDatabaseLister.CatalogDatabases;
+import org.apache.paimon.web.server.catalog.CatalogRegistry;
+import org.apache.paimon.web.server.catalog.TableNameIndex;
 import org.apache.paimon.web.server.data.dto.DatabaseDTO;
 import org.apache.paimon.web.server.data.model.CatalogInfo;
 import org.apache.paimon.web.server.data.result.R;
@@ -27,7 +31,6 @@ import org.apache.paimon.web.server.data.vo.DatabaseVO;
 import org.apache.paimon.web.server.mapper.DatabaseMapper;
 import org.apache.paimon.web.server.service.CatalogService;
 import org.apache.paimon.web.server.service.DatabaseService;
-import org.apache.paimon.web.server.util.PaimonServiceUtils;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
@@ -46,8 +49,21 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseMapper, DatabaseVO>
 
     private final CatalogService catalogService;
 
-    public DatabaseServiceImpl(CatalogService catalogService) {
+    private final CatalogRegistry catalogRegistry;
+
+    private final CatalogDatabaseLister catalogDatabaseLister;
+
+    private final TableNameIndex tableNameIndex;
+
+    public DatabaseServiceImpl(
+            CatalogService catalogService,
+            CatalogRegistry catalogRegistry,
+            CatalogDatabaseLister catalogDatabaseLister,
+            TableNameIndex tableNameIndex) {
         this.catalogService = catalogService;
+        this.catalogRegistry = catalogRegistry;
+        this.catalogDatabaseLister = catalogDatabaseLister;
+        this.tableNameIndex = tableNameIndex;
     }
 
     @Override
@@ -59,7 +75,7 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseMapper, DatabaseVO>
     public R<Void> createDatabase(DatabaseDTO databaseDTO) {
         try {
             CatalogInfo catalogInfo = getCatalogInfo(databaseDTO);
-            PaimonService service = PaimonServiceUtils.getPaimonService(catalogInfo);
+            PaimonService service = catalogRegistry.getPaimonService(catalogInfo);
             if (service.databaseExists(databaseDTO.getName())) {
                 return R.failed(Status.DATABASE_NAME_IS_EXIST, databaseDTO.getName());
             }
@@ -78,7 +94,7 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseMapper, DatabaseVO>
         List<DatabaseVO> resultList = new LinkedList<>();
         if (Objects.nonNull(catalogId)) {
             CatalogInfo catalog = catalogService.getById(catalogId);
-            PaimonService service = PaimonServiceUtils.getPaimonService(catalog);
+            PaimonService service = catalogRegistry.getPaimonService(catalog);
             List<String> databases = service.listDatabases();
             databases.forEach(
                     databaseName -> {
@@ -93,21 +109,36 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseMapper, DatabaseVO>
         } else {
             List<CatalogInfo> catalogInfoList = catalogService.list();
             if (!CollectionUtils.isEmpty(catalogInfoList)) {
-                catalogInfoList.forEach(
+                List<CatalogDatabases> catalogDatabases =
+                        catalogDatabaseLister.listDatabases(catalogInfoList);
+                catalogDatabases.forEach(
                         item -> {
-                            PaimonService service = PaimonServiceUtils.getPaimonService(item);
-                            List<String> list = service.listDatabases();
-                            list.forEach(
-                                    databaseName -> {
-                                        DatabaseVO info =
-                                                DatabaseVO.builder()
-                                                        .name(databaseName)
-                                                        .catalogId(item.getId())
-                                                        .catalogName(item.getCatalogName())
-                                                        .description("")
-                                                        .build();
-                                        resultList.add(info);
-                                    });
+                            CatalogInfo catalog = item.getCatalog();
+                            if (item.getError() != null) {
+                                resultList.add(
+                                        DatabaseVO.builder()
+                                                .catalogId(catalog.getId())
+                                                .catalogName(catalog.getCatalogName())
+                                                .latencyMillis(item.getLatencyMillis())
+                                                .error(item.getError())
+                                                .build());
+                                return;
+                            }
+                            item.getDatabases()
+                                    .forEach(
+                                            databaseName -> {
+                                                DatabaseVO info =
+                                                        DatabaseVO.builder()
+                                                                .name(databaseName)
+                                                                .catalogId(catalog.getId())
+                                                                .catalogName(
+                                                                        catalog.getCatalogName())
+                                                                .description("")
+                                                                .latencyMillis(
+                                                                        item.getLatencyMillis())
+                                                                .build();
+                                                resultList.add(info);
+                                            });
                         });
             }
             return R.succeed(resultList);
@@ -118,11 +149,12 @@ public class DatabaseServiceImpl extends ServiceImpl<DatabaseMapper, DatabaseVO>
     public R<Void> dropDatabase(DatabaseDTO databaseDTO) {
         try {
             CatalogInfo catalogInfo = getCatalogInfo(databaseDTO);
-            PaimonService service = PaimonServiceUtils.getPaimonService(catalogInfo);
+            PaimonService service = catalogRegistry.getPaimonService(catalogInfo);
             service.dropDatabase(
                     databaseDTO.getName(),
                     BooleanUtils.toBooleanDefaultIfNull(databaseDTO.isIgnoreIfExists(), false),
                     BooleanUtils.toBooleanDefaultIfNull(databaseDTO.isCascade(), true));
+            tableNameIndex.removeDatabase(catalogInfo.getId(), databaseDTO.getName());
             return R.succeed();
         } catch (Exception e) {
             log.error("Exception with dropping database.", e);
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.service.impl;
+
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.catalog.CatalogRegistry;
+import org.apache.paimon.web.server.catalog.DdlJobExecutor;
+import org.apache.paimon.web.server.data.dto.DatabaseDTO;
+import org.apache.paimon.web.server.data.dto.TableDTO;
+import org.apache.paimon.web.server.data.enums.DdlJobStatus;
+import org.apache.paimon.web.server.data.enums.DdlJobType;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+import org.apache.paimon.web.server.data.model.DdlJob;
+import org.apache.paimon.web.server.data.result.R;
+import org.apache.paimon.web.server.data.result.enums.Status;
+import org.apache.paimon.web.server.mapper.DdlJobMapper;
+import org.apache.paimon.web.server.service.CatalogService;
+import org.apache.paimon.web.server.service.DatabaseService;
+import org.apache.paimon.web.server.service.DdlJobService;
+import org.apache.paimon.web.server.service.TableService;
+import org.apache.paimon.web.server.util.ObjectMapperUtils;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * The implementation of {@link DdlJobService}.
+ *
+ * <p>The jobs only run in the server that accepted them. Jobs left pending or running by a stopped
+ * server never finish, they are failed when the server starts.
+ */
+@Slf4j
+@Service
+public class DdlJobServiceImpl extends ServiceImpl<DdlJobMapper, DdlJob> implements DdlJobService {
+
+    private final CatalogService catalogService;
+
+    private final CatalogRegistry catalogRegistry;
+
+    private final DatabaseService databaseService;
+
+    private final TableService tableService;
+
+    private final DdlJobExecutor ddlJobExecutor;
+
+    public DdlJobServiceImpl(
+            CatalogService catalogService,
+            CatalogRegistry catalogRegistry,
+            DatabaseService databaseService,
+            TableService tableService,
+            DdlJobExecutor ddlJobExecutor) {
+        this.catalogService = catalogService;
+        this.catalogRegistry = catalogRegistry;
+        this.databaseService = databaseService;
+        this.tableService = tableService;
+        this.ddlJobExecutor = ddlJobExecutor;
+    }
+
+    /** Fails the jobs left pending or running by the last run of the server. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failUnfinishedJobs() {
+        int failed =
+                baseMapper.update(
+                        DdlJob.builder()
+                                .status(DdlJobStatus.FAILED)
+                                .message("The server stopped before the job finished.")
+                                .endTime(LocalDateTime.now())
+                                .build(),
+                        Wrappers.lambdaUpdate(DdlJob.class)
+                                .in(DdlJob::getStatus, DdlJobStatus.PENDING, DdlJobStatus.RUNNING));
+        if (failed > 0) {
+            log.warn("Failed [{}] DDL jobs left unfinished by the last run of the server.", failed);
+        }
+    }
+
+    @Override
+    public R<DdlJob> submitDropDatabase(DatabaseDTO databaseDTO) {
+        try {
+            CatalogInfo catalogInfo =
+                    getCatalogInfo(databaseDTO.getCatalogId(), databaseDTO.getCatalogName());
+            DdlJob job =
+                    newJob(catalogInfo, DdlJobType.DROP_DATABASE, databaseDTO.getName(), null)
+                            .content(ObjectMapperUtils.toJSON(databaseDTO))
+                            .build();
+            return R.succeed(submit(job, jobId -> dropDatabase(jobId, catalogInfo, databaseDTO)));
+        } catch (Exception e) {
+            log.error("Exception with submitting drop database job.", e);
+            return R.failed(Status.DDL_JOB_SUBMIT_ERROR);
+        }
+    }
+
+    @Override
+    public R<DdlJob> submitCreateTable(TableDTO tableDTO) {
+        try {
+            CatalogInfo catalogInfo = getCatalogInfo(null, tableDTO.getCatalogName());
+            DdlJob job =
+                    newJob(
+                                    catalogInfo,
+                                    DdlJobType.CREATE_TABLE,
+                                    tableDTO.getDatabaseName(),
+                                    tableDTO.getName())
+                            .content(ObjectMapperUtils.toJSON(tableDTO))
+                            .build();
+            return R.succeed(submit(job, jobId -> createTable(tableDTO)));
+        } catch (Exception e) {
+            log.error("Exception with submitting create table job.", e);
+            return R.failed(Status.DDL_JOB_SUBMIT_ERROR);
+        }
+    }
+
+    @Override
+    public R<DdlJob> getJob(Integer id) {
+        DdlJob job = baseMapper.selectById(id);
+        if (job == null) {
+            return R.failed(Status.DDL_JOB_NOT_EXIST_ERROR, id);
+        }
+        return R.succeed(job);
+    }
+
+    private DdlJob.DdlJobBuilder newJob(
+            CatalogInfo catalogInfo, DdlJobType jobType, String databaseName, String tableName) {
+        Objects.requireNonNull(databaseName, "Database name cannot be null.");
+        return DdlJob.builder()
+                .catalogId(catalogInfo.getId())
+                .catalogName(catalogInfo.getCatalogName())
+                .jobType(jobType)
+                .databaseName(databaseName)
+                .tableName(tableName)
+                .status(DdlJobStatus.PENDING)
+                .progress(0)
+                .total(0);
+    }
+
+    private DdlJob submit(DdlJob job, Consumer<Integer> action) {
+        baseMapper.insert(job);
+        Integer jobId = job.getId();
+        try {
+            ddlJobExecutor.submit(
+                    job.getCatalogId(), () -> run(jobId, action), e -> reject(jobId, e));
+        } catch (RejectedExecutionException e) {
+            reject(jobId, e);
+            throw e;
+        }
+        return job;
+    }
+
+    private void reject(Integer jobId, RejectedExecutionException e) {
+        updateJob(
+                jobId,
+                DdlJob.builder()
+                        .status(DdlJobStatus.FAILED)
+                        .message(e.getMessage())
+                        .endTime(LocalDateTime.now()));
+    }
+
+    private void run(Integer jobId, Consumer<Integer> action) {
+        updateJob(
+                jobId,
+                DdlJob.builder().status(DdlJobStatus.RUNNING).startTime(LocalDateTime.now()));
+        try {
+            action.accept(jobId);
+            updateJob(
+                    jobId,
+                    DdlJob.builder().status(DdlJobStatus.SUCCEEDED).endTime(LocalDateTime.now()));
+        } catch (Exception e) {
+            log.error("Exception with running DDL job [{}].", jobId, e);
+            updateJob(
+                    jobId,
+                    DdlJob.builder()
+                            .status(DdlJobStatus.FAILED)
+                            .message(String.valueOf(e.getMessage()))
+                            .endTime(LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Drops a database. A cascading drop drops the tables one by one to report the progress, and
+     * finally drops the database with cascade to also drop the tables created meanwhile. The drops
+     * go through the table and database services, which keep the caches and the table name index up
+     * to date.
+     */
+    private void dropDatabase(Integer jobId, CatalogInfo catalogInfo, DatabaseDTO databaseDTO) {
+        PaimonService service = catalogRegistry.getPaimonService(catalogInfo);
+        String databaseName = databaseDTO.getName();
+        List<String> tables =
+                databaseDTO.isCascade() && service.databaseExists(databaseName)
+                        ? service.listTables(databaseName)
+                        : Collections.emptyList();
+        updateJob(jobId, DdlJob.builder().total(tables.size()));
+
+        int dropped = 0;
+        for (String table : tables) {
+            R<Void> result =
+                    tableService.dropTable(catalogInfo.getCatalogName(), databaseName, table);
+            if (result.getCode() != Status.SUCCESS.getCode()) {
+                if (service.tableExists(databaseName, table)) {
+                    throw new IllegalStateException(result.getMsg());
+                }
+                log.info("Table [{}.{}] was dropped meanwhile.", databaseName, table);
+            }
+            updateJob(jobId, DdlJob.builder().progress(++dropped));
+        }
+        checkSucceeded(databaseService.dropDatabase(databaseDTO));
+    }
+
+    private void createTable(TableDTO tableDTO) {
+        checkSucceeded(tableService.createTable(tableDTO));
+    }
+
+    private static void checkSucceeded(R<Void> result) {
+        if (result.getCode() != Status.SUCCESS.getCode()) {
+            throw new IllegalStateException(result.getMsg());
+        }
+    }
+
+    private void updateJob(Integer jobId, DdlJob.DdlJobBuilder changes) {
+        DdlJob job = changes.build();
+        job.setId(jobId);
+        baseMapper.updateById(job);
+    }
+
+    /**
+     * Retrieves the catalog of a job by id, or by name if no id is given.
+     *
+     * @param catalogId The catalog id.
+     * @param catalogName The catalog name.
+     * @return The associated CatalogInfo object.
+     */
+    private CatalogInfo getCatalogInfo(Integer catalogId, String catalogName) {
+        CatalogInfo catalogInfo =
+                catalogId != null
+                        ? catalogService.getById(catalogId)
+                        : catalogService.getOne(
+                                Wrappers.lambdaQuery(CatalogInfo.class)
+                                        .eq(CatalogInfo::getCatalogName, catalogName));
+        Objects.requireNonNull(
+                catalogInfo, String.format("Catalog: [%s] is not found.", catalogName));
+        return catalogInfo;
+    }
+}
@@ -18,11 +18,18 @@
 
 package org.apache.paimon.web.server.service.impl;
 
+import org.apache.paimon.data.BinaryString;
 import org.apache.paimon.data.InternalRow;
-import org.apache.paimon.reader.RecordReader;
+import org.apache.paimon.predicate.Predicate;
+import org.apache.paimon.predicate.PredicateBuilder;
 import org.apache.paimon.table.Table;
 import org.apache.paimon.table.source.ReadBuilder;
+import org.apache.paimon.table.source.Split;
+import org.apache.paimon.types.RowType;
+import org.apache.paimon.utils.CloseableIterator;
+import org.apache.paimon.utils.ProjectedRow;
 import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.catalog.CatalogRegistry;
 import org.apache.paimon.web.server.constant.MetadataConstant;
 import org.apache.paimon.web.server.data.dto.MetadataDTO;
 import org.apache.paimon.web.server.data.model.CatalogInfo;
@@ -33,21 +40,27 @@ import org.apache.paimon.web.server.data.vo.ManifestsVO;
 import org.apache.paimon.web.server.data.vo.OptionVO;
 import org.apache.paimon.web.server.data.vo.SchemaVO;
 import org.apache.paimon.web.server.data.vo.SnapshotVO;
+import org.apache.paimon.web.server.metadata.MetadataSplitReader;
 import org.apache.paimon.web.server.service.CatalogService;
 import org.apache.paimon.web.server.service.MetadataService;
-import org.apache.paimon.web.server.util.PaimonServiceUtils;
 
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.google.common.base.Preconditions;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /** The implementation of {@link MetadataService}. */
 @Service
@@ -56,180 +69,318 @@ public class MetadataServiceImpl implements MetadataService {
 
     private final CatalogService catalogService;
 
-    public MetadataServiceImpl(CatalogService catalogService) {
+    private final CatalogRegistry catalogRegistry;
+
+    private final MetadataSplitReader splitReader;
+
+    public MetadataServiceImpl(
+            CatalogService catalogService,
+            CatalogRegistry catalogRegistry,
+            MetadataSplitReader splitReader) {
         this.catalogService = catalogService;
+        this.catalogRegistry = catalogRegistry;
+        this.splitReader = splitReader;
     }
 
-    private RecordReader<InternalRow> reader;
-
     @Override
     public List<SchemaVO> getSchema(MetadataDTO dto) {
+        return readMetadata(dto, MetadataConstant.SCHEMAS, this::toSchemaVO);
+    }
 
-        initEnvironment(dto, MetadataConstant.SCHEMAS);
-
-        List<SchemaVO> result = new LinkedList<>();
-        try {
-            reader.forEachRemaining(
-                    internalRow -> {
-                        SchemaVO schemaVo =
-                                SchemaVO.builder()
-                                        .schemaId(internalRow.getLong(0))
-                                        .fields(
-                                                new Gson()
-                                                        .fromJson(
-                                                                internalRow.getString(1).toString(),
-                                                                new TypeToken<
-                                                                        LinkedList<
-                                                                                MetadataFieldsModel>>() {}))
-                                        .partitionKeys(getSafeString(internalRow, 2))
-                                        .primaryKeys(getSafeString(internalRow, 3))
-                                        .option(formatOptions(getSafeString(internalRow, 4)))
-                                        .comment(getSafeString(internalRow, 5))
-                                        .updateTime(getSafeLocalDateTime(internalRow, 6))
-                                        .build();
-                        result.add(schemaVo);
-                    });
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    @Override
+    public List<SnapshotVO> getSnapshot(MetadataDTO dto) {
+        return readMetadata(dto, MetadataConstant.SNAPSHOTS, this::toSnapshotVO);
+    }
 
-        return result;
+    @Override
+    public List<ManifestsVO> getManifest(MetadataDTO dto) {
+        return readMetadata(dto, MetadataConstant.MANIFESTS, this::toManifestsVO);
     }
 
     @Override
-    public List<SnapshotVO> getSnapshot(MetadataDTO dto) {
+    public List<DataFileVO> getDataFile(MetadataDTO dto) {
+        return readMetadata(dto, MetadataConstant.FILES, this::toDataFileVO);
+    }
 
-        initEnvironment(dto, MetadataConstant.SNAPSHOTS);
-
-        List<SnapshotVO> result = new LinkedList<>();
-
-        try {
-            reader.forEachRemaining(
-                    internalRow -> {
-                        SnapshotVO build =
-                                SnapshotVO.builder()
-                                        .snapshotId(internalRow.getLong(0))
-                                        .schemaId(internalRow.getLong(1))
-                                        .commitUser(getSafeString(internalRow, 2))
-                                        .commitIdentifier(internalRow.getLong(3))
-                                        .commitKind(getSafeString(internalRow, 4))
-                                        .commitTime(getSafeLocalDateTime(internalRow, 5))
-                                        .baseManifestList(getSafeString(internalRow, 6))
-                                        .deltaManifestList(getSafeString(internalRow, 7))
-                                        .changelogManifestList(getSafeString(internalRow, 8))
-                                        .totalRecordCount(internalRow.getLong(9))
-                                        .deltaRecordCount(internalRow.getLong(10))
-                                        .changelogRecordCount(internalRow.getLong(11))
-                                        .addedFileCount(internalRow.getInt(12))
-                                        .deletedFileCount(internalRow.getInt(13))
-                                        .watermark(getSafeLong(internalRow, 14))
-                                        .build();
-                        result.add(build);
-                    });
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    @Override
+    public List<OptionVO> getOption(MetadataDTO dto) {
+        return readMetadata(dto, MetadataConstant.OPTIONS, this::toOptionVO);
+    }
 
-        return result;
+    @Override
+    public void streamSchema(MetadataDTO dto, Consumer<? super SchemaVO> consumer) {
+        readMetadata(dto, MetadataConstant.SCHEMAS, this::toSchemaVO, consumer);
     }
 
     @Override
-    public List<ManifestsVO> getManifest(MetadataDTO dto) {
-        initEnvironment(dto, MetadataConstant.MANIFESTS);
-
-        List<ManifestsVO> result = new LinkedList<>();
-
-        try {
-            reader.forEachRemaining(
-                    internalRow -> {
-                        ManifestsVO manifestsVo =
-                                ManifestsVO.builder()
-                                        .fileName(getSafeString(internalRow, 0))
-                                        .fileSize(internalRow.getLong(1))
-                                        .numAddedFiles(internalRow.getLong(2))
-                                        .numDeletedFiles(internalRow.getLong(3))
-                                        .schemaId(internalRow.getLong(4))
-                                        .build();
-                        result.add(manifestsVo);
-                    });
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    public void streamSnapshot(MetadataDTO dto, Consumer<? super SnapshotVO> consumer) {
+        readMetadata(dto, MetadataConstant.SNAPSHOTS, this::toSnapshotVO, consumer);
+    }
 
-        return result;
+    @Override
+    public void streamManifest(MetadataDTO dto, Consumer<? super ManifestsVO> consumer) {
+        readMetadata(dto, MetadataConstant.MANIFESTS, this::toManifestsVO, consumer);
     }
 
     @Override
-    public List<DataFileVO> getDataFile(MetadataDTO dto) {
+    public void streamDataFile(MetadataDTO dto, Consumer<? super DataFileVO> consumer) {
+        readMetadata(dto, MetadataConstant.FILES, this::toDataFileVO, consumer);
+    }
 
-        initEnvironment(dto, MetadataConstant.FILES);
-
-        List<DataFileVO> result = new LinkedList<>();
-
-        try {
-            reader.forEachRemaining(
-                    internalRow -> {
-                        DataFileVO dataFileVO =
-                                DataFileVO.builder()
-                                        .partition(getSafeString(internalRow, 0))
-                                        .bucket(internalRow.getInt(1))
-                                        .filePath(getSafeString(internalRow, 2))
-                                        .fileFormat(getSafeString(internalRow, 3))
-                                        .schemaId(internalRow.getLong(4))
-                                        .level(internalRow.getInt(5))
-                                        .recordCount(internalRow.getLong(6))
-                                        .fileSizeInBytes(internalRow.getLong(7))
-                                        .minKey(getSafeString(internalRow, 8))
-                                        .maxKey(getSafeString(internalRow, 9))
-                                        .nullValueCounts(getSafeString(internalRow, 10))
-                                        .minValueStats(getSafeString(internalRow, 11))
-                                        .maxValueStats(getSafeString(internalRow, 12))
-                                        .minSequenceNumber(internalRow.getLong(13))
-                                        .maxSequenceNumber(internalRow.getLong(14))
-                                        .creationTime(getSafeLocalDateTime(internalRow, 15))
-                                        .build();
-                        result.add(dataFileVO);
-                    });
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    @Override
+    public void streamOption(MetadataDTO dto, Consumer<? super OptionVO> consumer) {
+        readMetadata(dto, MetadataConstant.OPTIONS, this::toOptionVO, consumer);
+    }
+
+    private <T> List<T> readMetadata(
+            MetadataDTO dto, String metadataConstantType, Function<InternalRow, T> converter) {
+        List<T> result = new ArrayList<>();
+        readMetadata(dto, metadataConstantType, converter, result::add);
         return result;
     }
 
-    @Override
-    public List<OptionVO> getOption(MetadataDTO dto) {
-        initEnvironment(dto, MetadataConstant.OPTIONS);
-
-        List<OptionVO> result = new LinkedList<>();
-
-        try {
-            reader.forEachRemaining(
-                    internalRow -> {
-                        OptionVO optionVo = new OptionVO();
-                        optionVo.setKey(internalRow.getString(0).toString());
-                        optionVo.setValue(internalRow.getString(1).toString());
-                        result.add(optionVo);
-                    });
-        } catch (IOException e) {
+    /**
+     * Pulls the rows of the system table lazily, skips the first {@code offset} rows and stops
+     * reading as soon as {@code limit} rows were handed to the consumer, so only the rows buffered
+     * by the split readers are held in memory.
+     *
+     * <p>The requested columns and filters are pushed into the {@link ReadBuilder}. System tables
+     * may ignore the filter, so it is evaluated again on every row.
+     */
+    private <T> void readMetadata(
+            MetadataDTO dto,
+            String metadataConstantType,
+            Function<InternalRow, T> converter,
+            Consumer<? super T> consumer) {
+        long offset = dto.getOffset() == null ? 0 : dto.getOffset();
+        long limit = dto.getLimit() == null ? Long.MAX_VALUE : dto.getLimit();
+        Preconditions.checkArgument(offset >= 0, "Offset must not be negative.");
+        Preconditions.checkArgument(limit > 0, "Limit must be positive.");
+
+        Table table = getTable(dto, metadataConstantType);
+        RowType rowType = table.rowType();
+        ReadBuilder readBuilder = table.newReadBuilder();
+
+        Set<Integer> filterFields = new LinkedHashSet<>();
+        List<Predicate> filters = buildFilters(rowType, dto, filterFields);
+        Predicate predicate = filters.isEmpty() ? null : PredicateBuilder.and(filters);
+        if (predicate != null) {
+            readBuilder.withFilter(predicate);
+        }
+
+        // Projected rows are viewed through the full row type, so that the converters can keep
+        // using the column positions of the system table. Columns not read are null.
+        int[] projection = buildProjection(rowType, dto.getColumns(), filterFields);
+        int[] mapping = null;
+        if (projection != null) {
+            readBuilder.withProjection(projection);
+            mapping = new int[rowType.getFieldCount()];
+            Arrays.fill(mapping, -1);
+            for (int i = 0; i < projection.length; i++) {
+                mapping[projection[i]] = i;
+            }
+        }
+        int[] fullRowMapping = mapping;
+        Function<InternalRow, T> mapper =
+                internalRow -> {
+                    InternalRow row =
+                            fullRowMapping == null
+                                    ? internalRow
+                                    : ProjectedRow.from(fullRowMapping).replaceRow(internalRow);
+                    return predicate == null || predicate.test(row) ? converter.apply(row) : null;
+                };
+
+        boolean ordered = dto.getOrdered() == null || dto.getOrdered();
+        List<Split> splits = readBuilder.newScan().plan().splits();
+        try (CloseableIterator<T> rows =
+                splitReader.read(readBuilder, splits, dto.getParallelism(), ordered, mapper)) {
+            long skipped = 0;
+            long emitted = 0;
+            while (emitted < limit && rows.hasNext()) {
+                T row = rows.next();
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                consumer.accept(row);
+                emitted++;
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
             throw new RuntimeException(e);
         }
-        return result;
     }
 
-    private void initEnvironment(MetadataDTO dto, String metadataConstantType) {
-        dto.setTableName(
+    /**
+     * Builds the filters of the dto on the columns of the system table. A filter on a column the
+     * system table does not have, such as a bucket filter on the snapshots table, is ignored.
+     */
+    private static List<Predicate> buildFilters(
+            RowType rowType, MetadataDTO dto, Set<Integer> filterFields) {
+        PredicateBuilder builder = new PredicateBuilder(rowType);
+        List<Predicate> filters = new ArrayList<>();
+
+        int partition =
+                filterField(rowType, MetadataConstant.PARTITION, dto.getPartition(), filterFields);
+        if (partition >= 0) {
+            filters.add(builder.equal(partition, BinaryString.fromString(dto.getPartition())));
+        }
+        int bucket = filterField(rowType, MetadataConstant.BUCKET, dto.getBucket(), filterFields);
+        if (bucket >= 0) {
+            filters.add(builder.equal(bucket, dto.getBucket()));
+        }
+        int level = filterField(rowType, MetadataConstant.LEVEL, dto.getLevel(), filterFields);
+        if (level >= 0) {
+            filters.add(builder.equal(level, dto.getLevel()));
+        }
+        int schemaId =
+                filterField(rowType, MetadataConstant.SCHEMA_ID, dto.getSchemaId(), filterFields);
+        if (schemaId >= 0) {
+            filters.add(builder.equal(schemaId, dto.getSchemaId()));
+        }
+        int startSnapshotId =
+                filterField(
+                        rowType,
+                        MetadataConstant.SNAPSHOT_ID,
+                        dto.getStartSnapshotId(),
+                        filterFields);
+        if (startSnapshotId >= 0) {
+            filters.add(builder.greaterOrEqual(startSnapshotId, dto.getStartSnapshotId()));
+        }
+        int endSnapshotId =
+                filterField(
+                        rowType,
+                        MetadataConstant.SNAPSHOT_ID,
+                        dto.getEndSnapshotId(),
+                        filterFields);
+        if (endSnapshotId >= 0) {
+            filters.add(builder.lessOrEqual(endSnapshotId, dto.getEndSnapshotId()));
+        }
+        return filters;
+    }
+
+    private static int filterField(
+            RowType rowType, String fieldName, Object value, Set<Integer> filterFields) {
+        int index = value == null ? -1 : rowType.getFieldIndex(fieldName);
+        if (index >= 0) {
+            filterFields.add(index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the system table positions of the requested columns followed by the filtered columns,
+     * or null to read all columns.
+     */
+    private static int[] buildProjection(
+            RowType rowType, List<String> columns, Set<Integer> filterFields) {
+        if (columns == null || columns.isEmpty()) {
+            return null;
+        }
+        Set<Integer> fields = new LinkedHashSet<>();
+        for (String column : columns) {
+            int index = rowType.getFieldIndex(column);
+            Preconditions.checkArgument(index >= 0, "Unknown metadata column: %s.", column);
+            fields.add(index);
+        }
+        fields.addAll(filterFields);
+        return fields.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Table getTable(MetadataDTO dto, String metadataConstantType) {
+        String tableName =
                 String.format(
                         MetadataConstant.METADATA_TABLE_FORMAT,
                         dto.getTableName(),
-                        metadataConstantType));
+                        metadataConstantType);
         CatalogInfo catalogInfo =
                 catalogService.getOne(
                         Wrappers.lambdaQuery(CatalogInfo.class)
                                 .eq(CatalogInfo::getId, dto.getCatalogId())
                                 .select(i -> true));
-        PaimonService paimonService = PaimonServiceUtils.getPaimonService(catalogInfo);
-        Table table = paimonService.getTable(dto.getDatabaseName(), dto.getTableName());
-        this.reader = getReader(table);
+        PaimonService paimonService = catalogRegistry.getPaimonService(catalogInfo);
+        return paimonService.getTable(dto.getDatabaseName(), tableName);
+    }
+
+    private SchemaVO toSchemaVO(InternalRow internalRow) {
+        return SchemaVO.builder()
+                .schemaId(getSafeLong(internalRow, 0))
+                .fields(
+                        internalRow.isNullAt(1)
+                                ? null
+                                : new Gson()
+                                        .fromJson(
+                                                internalRow.getString(1).toString(),
+                                                new TypeToken<
+                                                        LinkedList<MetadataFieldsModel>>() {}))
+                .partitionKeys(getSafeString(internalRow, 2))
+                .primaryKeys(getSafeString(internalRow, 3))
+                .option(
+                        internalRow.isNullAt(4)
+                                ? null
+                                : formatOptions(getSafeString(internalRow, 4)))
+                .comment(getSafeString(internalRow, 5))
+                .updateTime(getSafeLocalDateTime(internalRow, 6))
+                .build();
+    }
+
+    private SnapshotVO toSnapshotVO(InternalRow internalRow) {
+        return SnapshotVO.builder()
+                .snapshotId(getSafeLong(internalRow, 0))
+                .schemaId(getSafeLong(internalRow, 1))
+                .commitUser(getSafeString(internalRow, 2))
+                .commitIdentifier(getSafeLong(internalRow, 3))
+                .commitKind(getSafeString(internalRow, 4))
+                .commitTime(getSafeLocalDateTime(internalRow, 5))
+                .baseManifestList(getSafeString(internalRow, 6))
+                .deltaManifestList(getSafeString(internalRow, 7))
+                .changelogManifestList(getSafeString(internalRow, 8))
+                .totalRecordCount(getSafeLong(internalRow, 9))
+                .deltaRecordCount(getSafeLong(internalRow, 10))
+                .changelogRecordCount(getSafeLong(internalRow, 11))
+                .addedFileCount(getSafeInt(internalRow, 12))
+                .deletedFileCount(getSafeInt(internalRow, 13))
+                .watermark(getSafeLong(internalRow, 14))
+                .build();
+    }
+
+    private ManifestsVO toManifestsVO(InternalRow internalRow) {
+        return ManifestsVO.builder()
+                .fileName(getSafeString(internalRow, 0))
+                .fileSize(getSafeLong(internalRow, 1))
+                .numAddedFiles(getSafeLong(internalRow, 2))
+                .numDeletedFiles(getSafeLong(internalRow, 3))
+                .schemaId(getSafeLong(internalRow, 4))
+                .build();
+    }
+
+    private DataFileVO toDataFileVO(InternalRow internalRow) {
+        return DataFileVO.builder()
+                .partition(getSafeString(internalRow, 0))
+                .bucket(getSafeInt(internalRow, 1))
+                .filePath(getSafeString(internalRow, 2))
+                .fileFormat(getSafeString(internalRow, 3))
+                .schemaId(getSafeLong(internalRow, 4))
+                .level(getSafeInt(internalRow, 5))
+                .recordCount(getSafeLong(internalRow, 6))
+                .fileSizeInBytes(getSafeLong(internalRow, 7))
+                .minKey(getSafeString(internalRow, 8))
+                .maxKey(getSafeString(internalRow, 9))
+                .nullValueCounts(getSafeString(internalRow, 10))
+                .minValueStats(getSafeString(internalRow, 11))
+                .maxValueStats(getSafeString(internalRow, 12))
+                .minSequenceNumber(getSafeLong(internalRow, 13))
+                .maxSequenceNumber(getSafeLong(internalRow, 14))
+                .creationTime(getSafeLocalDateTime(internalRow, 15))
+                .build();
+    }
+
+    private OptionVO toOptionVO(InternalRow internalRow) {
+        OptionVO optionVo = new OptionVO();
+        optionVo.setKey(getSafeString(internalRow, 0));
+        optionVo.setValue(getSafeString(internalRow, 1));
+        return optionVo;
     }
 
     private List<MetadataOptionModel> formatOptions(String jsonOption) {
@@ -243,22 +394,16 @@ public class MetadataServiceImpl implements MetadataService {
         return result;
     }
 
-    private static RecordReader<InternalRow> getReader(Table table) {
-        ReadBuilder readBuilder = table.newReadBuilder();
-        try (RecordReader<InternalRow> reader =
-                readBuilder.newRead().createReader(readBuilder.newScan().plan())) {
-            return reader;
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     private String getSafeString(InternalRow internalRow, int index) {
         return internalRow.isNullAt(index) ? "" : internalRow.getString(index).toString();
     }
 
     private Long getSafeLong(InternalRow internalRow, int index) {
-        return internalRow.isNullAt(index) ? null : internalRow.getLong(14);
+        return internalRow.isNullAt(index) ? null : internalRow.getLong(index);
+    }
+
+    private Integer getSafeInt(InternalRow internalRow, int index) {
+        return internalRow.isNullAt(index) ? null : internalRow.getInt(index);
     }
 
     private LocalDateTime getSafeLocalDateTime(InternalRow internalRow, int index) {
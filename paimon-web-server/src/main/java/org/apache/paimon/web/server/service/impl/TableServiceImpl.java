@@ -24,27 +24,37 @@ import org.apache.paimon.web.api.catalog.PaimonService;
 import org.apache.paimon.web.api.table.TableChange;
 import org.apache.paimon.web.api.table.metadata.ColumnMetadata;
 import org.apache.paimon.web.api.table.metadata.TableMetadata;
+import org.apache.paimon.web.server.catalog.BatchTableAlterer;
+import org.apache.paimon.web.server.catalog.BatchTableAlterer.AlteredTable;
+import org.apache.paimon.web.server.catalog.BatchTableAlterer.TableAlteration;
+import org.apache.paimon.web.server.catalog.CatalogRegistry;
+import org.apache.paimon.web.server.catalog.TableNameIndex;
 import org.apache.paimon.web.server.data.dto.AlterTableDTO;
+import org.apache.paimon.web.server.data.dto.TableChangeDTO;
 import org.apache.paimon.web.server.data.dto.TableDTO;
 import org.apache.paimon.web.server.data.model.CatalogInfo;
 import org.apache.paimon.web.server.data.model.TableColumn;
 import org.apache.paimon.web.server.data.result.R;
 import org.apache.paimon.web.server.data.result.enums.Status;
+import org.apache.paimon.web.server.data.vo.AlterTableResultVO;
 import org.apache.paimon.web.server.data.vo.TableVO;
 import org.apache.paimon.web.server.service.CatalogService;
 import org.apache.paimon.web.server.service.TableService;
 import org.apache.paimon.web.server.util.DataTypeConvertUtils;
 import org.apache.paimon.web.server.util.PaimonDataType;
-import org.apache.paimon.web.server.util.PaimonServiceUtils;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -63,15 +73,28 @@ public class TableServiceImpl implements TableService {
 
     private final CatalogService catalogService;
 
-    public TableServiceImpl(CatalogService catalogService) {
+    private final CatalogRegistry catalogRegistry;
+
+    private final TableNameIndex tableNameIndex;
+
+    private final BatchTableAlterer batchTableAlterer;
+
+    public TableServiceImpl(
+            CatalogService catalogService,
+            CatalogRegistry catalogRegistry,
+            TableNameIndex tableNameIndex,
+            BatchTableAlterer batchTableAlterer) {
         this.catalogService = catalogService;
+        this.catalogRegistry = catalogRegistry;
+        this.tableNameIndex = tableNameIndex;
+        this.batchTableAlterer = batchTableAlterer;
     }
 
     @Override
     public R<Void> createTable(TableDTO tableDTO) {
         try {
-            PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(tableDTO.getCatalogName()));
+            CatalogInfo catalogInfo = getCatalogInfo(tableDTO.getCatalogName());
+            PaimonService service = catalogRegistry.getPaimonService(catalogInfo);
             List<String> partitionKeys = tableDTO.getPartitionKey();
 
             Map<String, String> tableOptions = tableDTO.getTableOptions();
@@ -103,6 +126,8 @@ public class TableServiceImpl implements TableService {
                 return R.failed(Status.TABLE_NAME_IS_EXIST, tableDTO.getName());
             }
             service.createTable(tableDTO.getDatabaseName(), tableDTO.getName(), tableMetadata);
+            tableNameIndex.addTable(
+                    catalogInfo.getId(), tableDTO.getDatabaseName(), tableDTO.getName());
             return R.succeed();
         } catch (Exception e) {
             log.error("Exception with creating table.", e);
@@ -114,7 +139,7 @@ public class TableServiceImpl implements TableService {
     public R<Void> addColumn(TableDTO tableDTO) {
         try {
             PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(tableDTO.getCatalogName()));
+                    catalogRegistry.getPaimonService(getCatalogInfo(tableDTO.getCatalogName()));
             List<TableColumn> tableColumns = tableDTO.getTableColumns();
             List<TableChange> tableChanges = new ArrayList<>();
             Map<String, String> options = new HashMap<>();
@@ -129,17 +154,7 @@ public class TableServiceImpl implements TableService {
                                     + DEFAULT_VALUE_SUFFIX,
                             tableColumn.getDefaultValue());
                 }
-                ColumnMetadata columnMetadata =
-                        new ColumnMetadata(
-                                tableColumn.getField(),
-                                DataTypeConvertUtils.convert(
-                                        new PaimonDataType(
-                                                tableColumn.getDataType().getType(),
-                                                true,
-                                                tableColumn.getDataType().getPrecision(),
-                                                tableColumn.getDataType().getScale())),
-                                tableColumn.getComment());
-                TableChange.AddColumn add = TableChange.add(columnMetadata);
+                TableChange.AddColumn add = TableChange.add(buildAddedColumn(tableColumn));
                 tableChanges.add(add);
             }
 
@@ -162,8 +177,7 @@ public class TableServiceImpl implements TableService {
     public R<Void> dropColumn(
             String catalogName, String databaseName, String tableName, String columnName) {
         try {
-            PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(catalogName));
+            PaimonService service = catalogRegistry.getPaimonService(getCatalogInfo(catalogName));
             List<TableChange> tableChanges = new ArrayList<>();
             TableChange.DropColumn dropColumn = TableChange.dropColumn(columnName);
             tableChanges.add(dropColumn);
@@ -181,7 +195,7 @@ public class TableServiceImpl implements TableService {
             String databaseName = alterTableDTO.getDatabaseName();
             String tableName = alterTableDTO.getTableName();
             PaimonService service =
-                    PaimonServiceUtils.getPaimonService(
+                    catalogRegistry.getPaimonService(
                             getCatalogInfo(alterTableDTO.getCatalogName()));
 
             Table table = service.getTable(databaseName, tableName);
@@ -222,12 +236,75 @@ public class TableServiceImpl implements TableService {
         }
     }
 
+    @Override
+    public R<List<AlterTableResultVO>> batchAlterTables(List<TableChangeDTO> tableChanges) {
+        Map<List<String>, List<TableChangeDTO>> changesByTable = new LinkedHashMap<>();
+        for (TableChangeDTO tableChange : tableChanges) {
+            changesByTable
+                    .computeIfAbsent(
+                            Arrays.asList(
+                                    tableChange.getCatalogName(),
+                                    tableChange.getDatabaseName(),
+                                    tableChange.getTableName()),
+                            table -> new ArrayList<>())
+                    .add(tableChange);
+        }
+
+        Map<String, CatalogInfo> catalogs = new HashMap<>();
+        List<AlterTableResultVO> results = new ArrayList<>(changesByTable.size());
+        List<TableAlteration> alterations = new ArrayList<>();
+        List<AlterTableResultVO> alterationResults = new ArrayList<>();
+        for (Map.Entry<List<String>, List<TableChangeDTO>> entry : changesByTable.entrySet()) {
+            String catalogName = entry.getKey().get(0);
+            String databaseName = entry.getKey().get(1);
+            String tableName = entry.getKey().get(2);
+            AlterTableResultVO result =
+                    AlterTableResultVO.builder()
+                            .catalogName(catalogName)
+                            .databaseName(databaseName)
+                            .tableName(tableName)
+                            .changes(entry.getValue().size())
+                            .build();
+            results.add(result);
+            try {
+                CatalogInfo catalogInfo =
+                        catalogs.computeIfAbsent(catalogName, this::getCatalogInfo);
+                Preconditions.checkArgument(
+                        catalogInfo != null, "The catalog '%s' does not exist.", catalogName);
+                List<TableChange> changes = new ArrayList<>();
+                for (TableChangeDTO tableChange : entry.getValue()) {
+                    changes.addAll(buildTableChanges(tableChange));
+                }
+                alterations.add(new TableAlteration(catalogInfo, databaseName, tableName, changes));
+                alterationResults.add(result);
+            } catch (Exception e) {
+                log.warn(
+                        "Exception with building changes of table [{}.{}].",
+                        databaseName,
+                        tableName,
+                        e);
+                result.setSuccess(false);
+                result.setError(String.valueOf(e.getMessage()));
+            }
+        }
+
+        List<AlteredTable> alteredTables = batchTableAlterer.alterTables(alterations);
+        for (int i = 0; i < alteredTables.size(); i++) {
+            AlteredTable alteredTable = alteredTables.get(i);
+            AlterTableResultVO result = alterationResults.get(i);
+            result.setSuccess(alteredTable.isSuccess());
+            result.setLatencyMillis(alteredTable.getLatencyMillis());
+            result.setError(alteredTable.getError());
+        }
+        return R.succeed(results);
+    }
+
     @Override
     public R<Void> addOption(TableDTO tableDTO) {
         List<TableChange> tableChanges = new ArrayList<>();
         try {
             PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(tableDTO.getCatalogName()));
+                    catalogRegistry.getPaimonService(getCatalogInfo(tableDTO.getCatalogName()));
             Map<String, String> tableOptions = tableDTO.getTableOptions();
             for (Map.Entry<String, String> entry : tableOptions.entrySet()) {
                 TableChange.SetOption setOption = TableChange.set(entry.getKey(), entry.getValue());
@@ -246,8 +323,7 @@ public class TableServiceImpl implements TableService {
             String catalogName, String databaseName, String tableName, String key) {
         List<TableChange> tableChanges = new ArrayList<>();
         try {
-            PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(catalogName));
+            PaimonService service = catalogRegistry.getPaimonService(getCatalogInfo(catalogName));
             TableChange.RemoveOption removeOption = TableChange.remove(key);
             tableChanges.add(removeOption);
             service.alterTable(databaseName, tableName, tableChanges);
@@ -261,9 +337,10 @@ public class TableServiceImpl implements TableService {
     @Override
     public R<Void> dropTable(String catalogName, String databaseName, String tableName) {
         try {
-            PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(catalogName));
+            CatalogInfo catalogInfo = getCatalogInfo(catalogName);
+            PaimonService service = catalogRegistry.getPaimonService(catalogInfo);
             service.dropTable(databaseName, tableName);
+            tableNameIndex.removeTable(catalogInfo.getId(), databaseName, tableName);
             return R.succeed();
         } catch (Exception e) {
             log.error("Exception with dropping table.", e);
@@ -275,9 +352,11 @@ public class TableServiceImpl implements TableService {
     public R<Void> renameTable(
             String catalogName, String databaseName, String fromTableName, String toTableName) {
         try {
-            PaimonService service =
-                    PaimonServiceUtils.getPaimonService(getCatalogInfo(catalogName));
+            CatalogInfo catalogInfo = getCatalogInfo(catalogName);
+            PaimonService service = catalogRegistry.getPaimonService(catalogInfo);
             service.renameTable(databaseName, fromTableName, toTableName);
+            tableNameIndex.removeTable(catalogInfo.getId(), databaseName, fromTableName);
+            tableNameIndex.addTable(catalogInfo.getId(), databaseName, toTableName);
             return R.succeed();
         } catch (Exception e) {
             log.error("Exception with renaming table.", e);
@@ -294,7 +373,7 @@ public class TableServiceImpl implements TableService {
             if (Objects.nonNull(tableDTO.getCatalogId())
                     && Objects.nonNull(tableDTO.getDatabaseName())
                     && catalog.getId().equals(tableDTO.getCatalogId())) {
-                paimonService = PaimonServiceUtils.getPaimonService(catalog);
+                paimonService = catalogRegistry.getPaimonService(catalog);
                 List<String> tables = paimonService.listTables(tableDTO.getDatabaseName());
                 tables.forEach(
                         name -> {
@@ -305,34 +384,43 @@ public class TableServiceImpl implements TableService {
                             table.setDatabaseName(tableDTO.getDatabaseName());
                             resultList.add(table);
                         });
-                break;
+                return resultList;
             }
-            if (Objects.nonNull(tableDTO.getName())) {
-                paimonService = PaimonServiceUtils.getPaimonService(catalog);
-                List<String> databaseList = paimonService.listDatabases();
-                for (String database : databaseList) {
-                    List<String> tables = paimonService.listTables(database);
-                    tables.forEach(
-                            tableName -> {
-                                if (tableName.contains(tableDTO.getName())) {
-                                    TableVO table = new TableVO();
-                                    table.setCatalogId(catalog.getId());
-                                    table.setCatalogName(catalog.getCatalogName());
-                                    table.setDatabaseName(database);
-                                    table.setName(tableName);
-                                    resultList.add(table);
-                                }
-                            });
+        }
+
+        if (Objects.nonNull(tableDTO.getName())) {
+            Map<Integer, String> catalogNames = new HashMap<>();
+            for (CatalogInfo catalog : catalogInfoList) {
+                catalogNames.put(catalog.getId(), catalog.getCatalogName());
+                if (!tableNameIndex.isIndexed(catalog.getId())) {
+                    try {
+                        tableNameIndex.refresh(catalog);
+                    } catch (Exception e) {
+                        log.warn(
+                                "Exception with indexing tables of catalog [{}].",
+                                catalog.getCatalogName(),
+                                e);
+                    }
                 }
             }
+            tableNameIndex.search(tableDTO.getName()).stream()
+                    .filter(indexed -> catalogNames.containsKey(indexed.getCatalogId()))
+                    .forEach(
+                            indexed -> {
+                                TableVO table = new TableVO();
+                                table.setCatalogId(indexed.getCatalogId());
+                                table.setCatalogName(catalogNames.get(indexed.getCatalogId()));
+                                table.setDatabaseName(indexed.getDatabaseName());
+                                table.setName(indexed.getTableName());
+                                resultList.add(table);
+                            });
         }
-
         return resultList;
     }
 
     @Override
     public TableVO listColumns(String catalogName, String databaseName, String tableName) {
-        PaimonService service = PaimonServiceUtils.getPaimonService(getCatalogInfo(catalogName));
+        PaimonService service = catalogRegistry.getPaimonService(getCatalogInfo(catalogName));
         Table table = service.getTable(databaseName, tableName);
         TableVO.TableVOBuilder builder =
                 TableVO.builder()
@@ -484,6 +572,83 @@ public class TableServiceImpl implements TableService {
         return columns;
     }
 
+    private ColumnMetadata buildAddedColumn(TableColumn tableColumn) {
+        return new ColumnMetadata(
+                tableColumn.getField(),
+                DataTypeConvertUtils.convert(
+                        new PaimonDataType(
+                                tableColumn.getDataType().getType(),
+                                true,
+                                tableColumn.getDataType().getPrecision(),
+                                tableColumn.getDataType().getScale())),
+                tableColumn.getComment());
+    }
+
+    /**
+     * Converts a change of a batch to the {@link TableChange}s that apply it.
+     *
+     * @param tableChange The change of a batch.
+     * @return The table changes, adding a column also sets the default value of the column.
+     */
+    private List<TableChange> buildTableChanges(TableChangeDTO tableChange) {
+        Preconditions.checkArgument(
+                tableChange.getType() != null, "Table change type cannot be null.");
+        if (tableChange.getType() == TableChangeDTO.Type.ADD_COLUMN) {
+            TableColumn tableColumn = tableChange.getColumn();
+            Preconditions.checkArgument(tableColumn != null, "Column to add cannot be null.");
+            List<TableChange> changes = new ArrayList<>();
+            changes.add(TableChange.add(buildAddedColumn(tableColumn)));
+            if (tableColumn.getDefaultValue() != null && !tableColumn.getDefaultValue().isEmpty()) {
+                changes.add(
+                        TableChange.set(
+                                FIELDS_PREFIX
+                                        + "."
+                                        + tableColumn.getField()
+                                        + "."
+                                        + DEFAULT_VALUE_SUFFIX,
+                                tableColumn.getDefaultValue()));
+            }
+            return changes;
+        }
+
+        switch (tableChange.getType()) {
+            case DROP_COLUMN:
+                return Collections.singletonList(
+                        TableChange.dropColumn(checkColumnName(tableChange)));
+            case RENAME_COLUMN:
+                Preconditions.checkArgument(
+                        tableChange.getNewColumnName() != null, "New column name cannot be null.");
+                return Collections.singletonList(
+                        TableChange.modifyColumnName(
+                                new ColumnMetadata(checkColumnName(tableChange)),
+                                tableChange.getNewColumnName()));
+            case UPDATE_COLUMN_COMMENT:
+                return Collections.singletonList(
+                        TableChange.modifyColumnComment(
+                                new ColumnMetadata(checkColumnName(tableChange)),
+                                tableChange.getComment()));
+            case SET_OPTION:
+                return Collections.singletonList(
+                        TableChange.set(checkOptionKey(tableChange), tableChange.getValue()));
+            case REMOVE_OPTION:
+                return Collections.singletonList(TableChange.remove(checkOptionKey(tableChange)));
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported table change type: " + tableChange.getType());
+        }
+    }
+
+    private String checkColumnName(TableChangeDTO tableChange) {
+        Preconditions.checkArgument(
+                tableChange.getColumnName() != null, "Column name cannot be null.");
+        return tableChange.getColumnName();
+    }
+
+    private String checkOptionKey(TableChangeDTO tableChange) {
+        Preconditions.checkArgument(tableChange.getKey() != null, "Option key cannot be null.");
+        return tableChange.getKey();
+    }
+
     /**
      * Retrieves the associated CatalogInfo object based on the given catalog name.
      *
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.catalog.CatalogDatabaseLister.CatalogDatabases;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests for {@link CatalogDatabaseLister}. */
+public class CatalogDatabaseListerTest {
+
+    private static final long TIMEOUT_MILLIS = 500;
+
+    private final Map<Integer, Supplier<List<String>>> catalogs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger listings = new AtomicInteger();
+
+    private CatalogDatabaseLister lister;
+
+    @BeforeEach
+    public void before() {
+        CatalogRegistry catalogRegistry =
+                new CatalogRegistry(new SimpleMeterRegistry()) {
+                    @Override
+                    public PaimonService getPaimonService(CatalogInfo catalogInfo) {
+                        Supplier<List<String>> databases = catalogs.get(catalogInfo.getId());
+                        return new PaimonService(null, catalogInfo.getCatalogName()) {
+                            @Override
+                            public List<String> listDatabases() {
+                                listings.incrementAndGet();
+                                return databases.get();
+                            }
+                        };
+                    }
+                };
+        lister = new CatalogDatabaseLister(catalogRegistry, 4, TIMEOUT_MILLIS);
+    }
+
+    @AfterEach
+    public void after() {
+        lister.destroy();
+    }
+
+    @Test
+    public void testPartialResults() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        catalogs.put(1, () -> Collections.singletonList("db1"));
+        catalogs.put(2, () -> await(release, "db2"));
+        catalogs.put(
+                3,
+                () -> {
+                    throw new IllegalStateException("Metastore unavailable.");
+                });
+
+        List<CatalogDatabases> result =
+                lister.listDatabases(Arrays.asList(catalog(1), catalog(2), catalog(3)));
+
+        assertEquals(3, result.size());
+        assertNull(result.get(0).getError());
+        assertEquals(Collections.singletonList("db1"), result.get(0).getDatabases());
+        assertTrue(result.get(1).getError().contains("timed out"));
+        assertTrue(result.get(1).getDatabases().isEmpty());
+        assertTrue(result.get(1).getLatencyMillis() >= TIMEOUT_MILLIS);
+        assertEquals("Metastore unavailable.", result.get(2).getError());
+
+        // The slow listing completes in the background.
+        release.countDown();
+        waitForListing(2);
+        result = lister.listDatabases(Collections.singletonList(catalog(2)));
+        assertEquals(Collections.singletonList("db2"), result.get(0).getDatabases());
+        assertNull(result.get(0).getError());
+    }
+
+    @Test
+    public void testSlowCatalogListedOnce() {
+        CountDownLatch release = new CountDownLatch(1);
+        catalogs.put(1, () -> await(release, "db1"));
+
+        lister.listDatabases(Collections.singletonList(catalog(1)));
+        lister.listDatabases(Collections.singletonList(catalog(1)));
+
+        release.countDown();
+        assertEquals(1, listings.get());
+    }
+
+    @Test
+    public void testCompletedListingsNotCached() {
+        catalogs.put(1, () -> Collections.singletonList("db1"));
+
+        lister.listDatabases(Collections.singletonList(catalog(1)));
+        List<CatalogDatabases> result = lister.listDatabases(Collections.singletonList(catalog(1)));
+
+        // The services of the registry cache the listings, the lister asks them every time.
+        assertEquals(2, listings.get());
+        assertNotNull(result.get(0).getCatalog());
+        assertEquals(Collections.singletonList("db1"), result.get(0).getDatabases());
+    }
+
+    private void waitForListing(int catalogId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<CatalogDatabases> result =
+                    lister.listDatabases(Collections.singletonList(catalog(catalogId)));
+            if (result.get(0).getError() == null) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static List<String> await(CountDownLatch latch, String database) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Collections.singletonList(database);
+    }
+
+    private static CatalogInfo catalog(int id) {
+        CatalogInfo catalogInfo =
+                CatalogInfo.builder()
+                        .catalogName("catalog_" + id)
+                        .catalogType("filesystem")
+                        .build();
+        catalogInfo.setId(id);
+        return catalogInfo;
+    }
+}
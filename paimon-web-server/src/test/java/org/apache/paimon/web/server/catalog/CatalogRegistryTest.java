@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests for {@link CatalogRegistry}. */
+public class CatalogRegistryTest {
+
+    @TempDir private Path tempFile;
+
+    private String warehouse;
+
+    private MeterRegistry meterRegistry;
+
+    private CatalogRegistry catalogRegistry;
+
+    @BeforeEach
+    public void before() {
+        warehouse = tempFile.toUri().toString();
+        meterRegistry = new SimpleMeterRegistry();
+        catalogRegistry = new CatalogRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    public void after() {
+        catalogRegistry.destroy();
+    }
+
+    @Test
+    public void testReuseCatalog() {
+        PaimonService first = catalogRegistry.getPaimonService(catalogInfo(warehouse));
+        PaimonService second = catalogRegistry.getPaimonService(catalogInfo(warehouse));
+
+        assertSame(first, second);
+        assertEquals(1, requests("miss"));
+        assertEquals(1, requests("hit"));
+        assertEquals(1, meterRegistry.get("paimon.catalog.registry.size").gauge().value());
+    }
+
+    @Test
+    public void testRebuildChangedCatalog() {
+        PaimonService first = catalogRegistry.getPaimonService(catalogInfo(warehouse));
+        PaimonService second = catalogRegistry.getPaimonService(catalogInfo(warehouse + "other"));
+
+        assertNotSame(first, second);
+        assertEquals(2, requests("miss"));
+        assertEquals(1, meterRegistry.get("paimon.catalog.registry.size").gauge().value());
+    }
+
+    @Test
+    public void testInvalidateCatalog() {
+        PaimonService first = catalogRegistry.getPaimonService(catalogInfo(warehouse));
+        catalogRegistry.invalidate(1);
+        PaimonService second = catalogRegistry.getPaimonService(catalogInfo(warehouse));
+
+        assertNotSame(first, second);
+        assertEquals(2, requests("miss"));
+    }
+
+    @Test
+    public void testDelayClosingReplacedCatalog() throws Exception {
+        Set<PaimonService> closed = ConcurrentHashMap.newKeySet();
+        CatalogRegistry delayedRegistry =
+                new CatalogRegistry(new SimpleMeterRegistry(), 30_000, 10_000, 1_000, 200) {
+                    @Override
+                    PaimonService buildPaimonService(CatalogInfo catalogInfo) {
+                        PaimonService service = super.buildPaimonService(catalogInfo);
+                        return new PaimonService(service.catalog(), "paimon_catalog") {
+                            @Override
+                            public void close() throws Exception {
+                                closed.add(this);
+                                super.close();
+                            }
+                        };
+                    }
+                };
+        try {
+            PaimonService first = delayedRegistry.getPaimonService(catalogInfo(warehouse));
+            delayedRegistry.invalidate(1);
+            // A request that looked the service up before may still use it.
+            assertFalse(closed.contains(first));
+            first.listDatabases();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!closed.contains(first) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(closed.contains(first));
+
+            PaimonService second = delayedRegistry.getPaimonService(catalogInfo(warehouse));
+            delayedRegistry.invalidate(1);
+            delayedRegistry.destroy();
+            assertTrue(closed.contains(second));
+        } finally {
+            delayedRegistry.destroy();
+        }
+    }
+
+    private double requests(String result) {
+        return meterRegistry
+                .get("paimon.catalog.registry.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private CatalogInfo catalogInfo(String warehouse) {
+        CatalogInfo catalogInfo =
+                CatalogInfo.builder()
+                        .catalogName("paimon_catalog")
+                        .catalogType("filesystem")
+                        .warehouse(warehouse)
+                        .build();
+        catalogInfo.setId(1);
+        return catalogInfo;
+    }
+}
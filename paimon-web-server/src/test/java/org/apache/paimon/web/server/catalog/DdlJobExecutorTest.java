@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests for {@link DdlJobExecutor}. */
+public class DdlJobExecutorTest {
+
+    private DdlJobExecutor executor;
+
+    @BeforeEach
+    public void before() {
+        executor = new DdlJobExecutor(4, 1);
+    }
+
+    @AfterEach
+    public void after() {
+        executor.destroy();
+    }
+
+    @Test
+    public void testLimitConcurrencyPerCatalog() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            executor.submit(
+                    1,
+                    () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            running.decrementAndGet();
+                            finished.countDown();
+                        }
+                    },
+                    DdlJobExecutorTest::unexpectedRejection);
+        }
+        assertEquals(3, executor.unfinishedJobs(1));
+
+        // A job of another catalog is not held back by the blocked catalog.
+        CountDownLatch otherCatalog = new CountDownLatch(1);
+        executor.submit(2, otherCatalog::countDown, DdlJobExecutorTest::unexpectedRejection);
+        assertTrue(otherCatalog.await(10, TimeUnit.SECONDS));
+
+        release.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        waitUntilFinished(1);
+        waitUntilFinished(2);
+    }
+
+    @Test
+    public void testFailedJobReleasesCatalog() throws Exception {
+        CountDownLatch next = new CountDownLatch(1);
+        executor.submit(
+                1,
+                () -> {
+                    throw new IllegalStateException("Failed job.");
+                },
+                DdlJobExecutorTest::unexpectedRejection);
+        executor.submit(1, next::countDown, DdlJobExecutorTest::unexpectedRejection);
+
+        assertTrue(next.await(10, TimeUnit.SECONDS));
+        waitUntilFinished(1);
+    }
+
+    @Test
+    public void testRejectQueuedJobsOnShutdown() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(
+                1,
+                () -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                DdlJobExecutorTest::unexpectedRejection);
+        AtomicInteger queuedRuns = new AtomicInteger();
+        CountDownLatch rejected = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(1, queuedRuns::incrementAndGet, e -> rejected.countDown());
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.destroy();
+        assertTrue(rejected.await(10, TimeUnit.SECONDS));
+        assertEquals(0, queuedRuns.get());
+        waitUntilFinished(1);
+        assertThrows(
+                RejectedExecutionException.class,
+                () -> executor.submit(1, () -> {}, DdlJobExecutorTest::unexpectedRejection));
+    }
+
+    private static void unexpectedRejection(RejectedExecutionException e) {
+        throw new AssertionError("Unexpected rejection.", e);
+    }
+
+    private void waitUntilFinished(Integer catalogId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (executor.unfinishedJobs(catalogId) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.unfinishedJobs(catalogId));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.catalog;
+
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.server.catalog.TableNameIndex.IndexedTable;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests for {@link TableNameIndex}. */
+public class TableNameIndexTest {
+
+    private final Map<String, List<String>> tables = new HashMap<>();
+
+    private int listings;
+
+    /** Runs once after the next listing of a database, before its tables are returned. */
+    private Runnable afterListing;
+
+    private CatalogInfo catalog;
+
+    private TableNameIndex index;
+
+    @BeforeEach
+    public void before() {
+        CatalogRegistry catalogRegistry =
+                new CatalogRegistry(new SimpleMeterRegistry()) {
+                    @Override
+                    public PaimonService getPaimonService(CatalogInfo catalogInfo) {
+                        return new PaimonService(null, catalogInfo.getCatalogName()) {
+                            @Override
+                            public List<String> listDatabases() {
+                                return new ArrayList<>(tables.keySet());
+                            }
+
+                            @Override
+                            public List<String> listTables(String databaseName) {
+                                listings++;
+                                List<String> listed = tables.get(databaseName);
+                                if (afterListing != null) {
+                                    Runnable action = afterListing;
+                                    afterListing = null;
+                                    action.run();
+                                }
+                                return listed;
+                            }
+                        };
+                    }
+                };
+        index = new TableNameIndex(null, catalogRegistry, 0);
+
+        catalog = CatalogInfo.builder().catalogName("paimon_catalog").build();
+        catalog.setId(1);
+        tables.put("db1", Arrays.asList("orders", "orders_archive", "user_orders", "user_events"));
+        tables.put("db2", Arrays.asList("Orders", "items"));
+    }
+
+    @AfterEach
+    public void after() {
+        index.destroy();
+    }
+
+    @Test
+    public void testSearch() {
+        assertFalse(index.isIndexed(1));
+        index.refresh(catalog);
+        assertTrue(index.isIndexed(1));
+        assertEquals(2, listings);
+
+        // Exact matches first, then prefix and substring matches.
+        assertEquals(
+                Arrays.asList("db1.orders", "db2.Orders", "db1.orders_archive", "db1.user_orders"),
+                names(index.search("orders")));
+        assertEquals(
+                Arrays.asList("db1.user_events", "db1.user_orders"), names(index.search("us")));
+        assertEquals(Collections.singletonList("db2.items"), names(index.search("ITEM")));
+        assertTrue(index.search("unknown").isEmpty());
+        assertEquals(2, listings);
+    }
+
+    @Test
+    public void testFuzzySearch() {
+        index.refresh(catalog);
+        assertEquals(
+                Collections.singletonList("db1.user_events"), names(index.search("user_evnts")));
+    }
+
+    @Test
+    public void testUpdateByDdl() {
+        index.refresh(catalog);
+
+        index.addTable(1, "db2", "order_items");
+        assertEquals(Collections.singletonList("db2.order_items"), names(index.search("order_it")));
+
+        index.removeTable(1, "db1", "user_events");
+        assertTrue(index.search("events").isEmpty());
+
+        index.removeDatabase(1, "db2");
+        assertEquals(
+                Collections.singletonList("db1.orders_archive"), names(index.search("archive")));
+        assertTrue(index.search("items").isEmpty());
+
+        index.removeCatalog(1);
+        assertFalse(index.isIndexed(1));
+        assertTrue(index.search("orders").isEmpty());
+    }
+
+    @Test
+    public void testIncrementalRefresh() {
+        index.refresh(catalog);
+        tables.put("db1", Arrays.asList("orders", "payments"));
+        index.refresh(catalog);
+
+        assertEquals(Collections.singletonList("db1.payments"), names(index.search("pay")));
+        assertTrue(index.search("user").isEmpty());
+    }
+
+    @Test
+    public void testRefreshDuringDdl() {
+        index.refresh(catalog);
+        listings = 0;
+        afterListing =
+                () -> {
+                    tables.put("db1", Arrays.asList("orders", "user_orders", "user_events"));
+                    index.removeTable(1, "db1", "orders_archive");
+                    tables.put("db2", Arrays.asList("Orders", "items", "order_items"));
+                    index.addTable(1, "db2", "order_items");
+                };
+        index.refresh(catalog);
+
+        // The outdated listing is discarded, the catalog is listed again.
+        assertEquals(4, listings);
+        assertTrue(index.search("archive").isEmpty());
+        assertEquals(Collections.singletonList("db2.order_items"), names(index.search("order_it")));
+    }
+
+    private static List<String> names(List<IndexedTable> tables) {
+        return tables.stream()
+                .map(t -> t.getDatabaseName() + "." + t.getTableName())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.controller;
+
+import org.apache.paimon.web.server.data.dto.CatalogDTO;
+import org.apache.paimon.web.server.data.dto.DatabaseDTO;
+import org.apache.paimon.web.server.data.dto.TableDTO;
+import org.apache.paimon.web.server.data.enums.DdlJobStatus;
+import org.apache.paimon.web.server.data.enums.DdlJobType;
+import org.apache.paimon.web.server.data.model.CatalogInfo;
+import org.apache.paimon.web.server.data.model.DdlJob;
+import org.apache.paimon.web.server.data.model.TableColumn;
+import org.apache.paimon.web.server.data.result.R;
+import org.apache.paimon.web.server.data.vo.DatabaseVO;
+import org.apache.paimon.web.server.service.impl.DdlJobServiceImpl;
+import org.apache.paimon.web.server.util.ObjectMapperUtils;
+import org.apache.paimon.web.server.util.PaimonDataType;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/** Test for {@link DdlJobController}. */
+public class DdlJobControllerTest extends ControllerTestBase {
+
+    private static final String catalogPath = "/api/catalog";
+    private static final String databasePath = "/api/database";
+    private static final String ddlJobPath = "/api/ddl-job";
+
+    private static final String catalogName = "ddl_job_catalog";
+
+    private static final String databaseName = "ddl_job_database";
+
+    @Autowired private DdlJobServiceImpl ddlJobService;
+
+    private Integer catalogId;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        CatalogDTO catalog = new CatalogDTO();
+        catalog.setType("filesystem");
+        catalog.setName(catalogName);
+        catalog.setWarehouse(tempFile.toUri().toString());
+        catalog.setDelete(false);
+        post(catalogPath + "/create", catalog, new TypeReference<R<Void>>() {});
+
+        String responseString =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get(catalogPath + "/list")
+                                        .cookie(cookie)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        R<List<CatalogInfo>> catalogs =
+                ObjectMapperUtils.fromJSON(
+                        responseString, new TypeReference<R<List<CatalogInfo>>>() {});
+        catalogId =
+                catalogs.getData().stream()
+                        .filter(item -> catalogName.equals(item.getCatalogName()))
+                        .findFirst()
+                        .map(CatalogInfo::getId)
+                        .orElseThrow(IllegalStateException::new);
+
+        DatabaseDTO database = new DatabaseDTO();
+        database.setCatalogId(catalogId);
+        database.setCatalogName(catalogName);
+        database.setName(databaseName);
+        post(databasePath + "/create", database, new TypeReference<R<Void>>() {});
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        CatalogDTO removeCatalog = new CatalogDTO();
+        removeCatalog.setId(catalogId);
+        removeCatalog.setName(catalogName);
+        post(catalogPath + "/remove", removeCatalog, new TypeReference<R<Void>>() {});
+    }
+
+    @Test
+    public void testCreateTablesAndDropDatabase() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            R<DdlJob> submitted =
+                    post(
+                            ddlJobPath + "/table/create",
+                            table("table_" + i),
+                            new TypeReference<R<DdlJob>>() {});
+            assertEquals(200, submitted.getCode());
+            assertEquals(DdlJobType.CREATE_TABLE, submitted.getData().getJobType());
+            assertEquals(DdlJobStatus.SUCCEEDED, awaitJob(submitted.getData().getId()).getStatus());
+        }
+
+        DatabaseDTO database = new DatabaseDTO();
+        database.setCatalogId(catalogId);
+        database.setName(databaseName);
+        database.setCascade(true);
+        R<DdlJob> submitted =
+                post(ddlJobPath + "/database/drop", database, new TypeReference<R<DdlJob>>() {});
+        assertEquals(200, submitted.getCode());
+
+        DdlJob job = awaitJob(submitted.getData().getId());
+        assertEquals(DdlJobStatus.SUCCEEDED, job.getStatus());
+        assertEquals(3, job.getTotal());
+        assertEquals(3, job.getProgress());
+        assertNotNull(job.getStartTime());
+        assertNotNull(job.getEndTime());
+        assertFalse(listDatabases().contains(databaseName));
+    }
+
+    @Test
+    public void testFailedJob() throws Exception {
+        R<DdlJob> first =
+                post(
+                        ddlJobPath + "/table/create",
+                        table("table_0"),
+                        new TypeReference<R<DdlJob>>() {});
+        assertEquals(DdlJobStatus.SUCCEEDED, awaitJob(first.getData().getId()).getStatus());
+
+        R<DdlJob> duplicate =
+                post(
+                        ddlJobPath + "/table/create",
+                        table("table_0"),
+                        new TypeReference<R<DdlJob>>() {});
+        DdlJob job = awaitJob(duplicate.getData().getId());
+        assertEquals(DdlJobStatus.FAILED, job.getStatus());
+        assertNotNull(job.getMessage());
+    }
+
+    @Test
+    public void testFailUnfinishedJobsOnStartup() throws Exception {
+        DdlJob running = unfinishedJob(DdlJobStatus.RUNNING);
+        DdlJob pending = unfinishedJob(DdlJobStatus.PENDING);
+        R<DdlJob> succeeded =
+                post(
+                        ddlJobPath + "/table/create",
+                        table("table_0"),
+                        new TypeReference<R<DdlJob>>() {});
+        assertEquals(DdlJobStatus.SUCCEEDED, awaitJob(succeeded.getData().getId()).getStatus());
+
+        ddlJobService.failUnfinishedJobs();
+
+        for (DdlJob job : Lists.newArrayList(running, pending)) {
+            DdlJob failed = awaitJob(job.getId());
+            assertEquals(DdlJobStatus.FAILED, failed.getStatus());
+            assertNotNull(failed.getMessage());
+            assertNotNull(failed.getEndTime());
+        }
+        assertEquals(DdlJobStatus.SUCCEEDED, awaitJob(succeeded.getData().getId()).getStatus());
+    }
+
+    @Test
+    public void testJobNotExist() throws Exception {
+        String responseString =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get(ddlJobPath + "/" + Integer.MAX_VALUE)
+                                        .cookie(cookie)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        R<DdlJob> r = ObjectMapperUtils.fromJSON(responseString, new TypeReference<R<DdlJob>>() {});
+        assertEquals(10702, r.getCode());
+    }
+
+    private DdlJob awaitJob(Integer id) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            String responseString =
+                    mockMvc.perform(
+                                    MockMvcRequestBuilders.get(ddlJobPath + "/" + id)
+                                            .cookie(cookie)
+                                            .accept(MediaType.APPLICATION_JSON_VALUE))
+                            .andExpect(MockMvcResultMatchers.status().isOk())
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString();
+            R<DdlJob> r =
+                    ObjectMapperUtils.fromJSON(responseString, new TypeReference<R<DdlJob>>() {});
+            assertEquals(200, r.getCode());
+            DdlJob job = r.getData();
+            if (job.getStatus().isFinished() || System.nanoTime() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private DdlJob unfinishedJob(DdlJobStatus status) {
+        DdlJob job =
+                DdlJob.builder()
+                        .catalogId(catalogId)
+                        .catalogName(catalogName)
+                        .jobType(DdlJobType.CREATE_TABLE)
+                        .databaseName(databaseName)
+                        .tableName("unfinished_table")
+                        .status(status)
+                        .progress(0)
+                        .total(0)
+                        .build();
+        ddlJobService.save(job);
+        return job;
+    }
+
+    private List<String> listDatabases() throws Exception {
+        String responseString =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get(databasePath + "/list")
+                                        .cookie(cookie)
+                                        .param("catalogId", String.valueOf(catalogId))
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        R<List<DatabaseVO>> r =
+                ObjectMapperUtils.fromJSON(
+                        responseString, new TypeReference<R<List<DatabaseVO>>>() {});
+        List<String> databases = Lists.newArrayList();
+        r.getData().forEach(database -> databases.add(database.getName()));
+        return databases;
+    }
+
+    private TableDTO table(String tableName) {
+        TableColumn id =
+                TableColumn.builder()
+                        .field("id")
+                        .dataType(PaimonDataType.builder().type("INT").build())
+                        .comment("pk")
+                        .isPk(true)
+                        .defaultValue("")
+                        .build();
+        return TableDTO.builder()
+                .catalogName(catalogName)
+                .databaseName(databaseName)
+                .name(tableName)
+                .tableColumns(Lists.newArrayList(id))
+                .partitionKey(Lists.newArrayList())
+                .tableOptions(new HashMap<>())
+                .build();
+    }
+
+    private <T> R<T> post(String path, Object body, TypeReference<R<T>> type) throws Exception {
+        String responseString =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(path)
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(body))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        return ObjectMapperUtils.fromJSON(responseString, type);
+    }
+}
@@ -54,6 +54,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -62,8 +63,14 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -514,4 +521,190 @@ public class MetadataControllerTest extends ControllerTestBase {
                         new OptionVO("FIELDS.age.default-value", "0"));
         assertEquals(expected, result.getData());
     }
+
+    @Test
+    public void testGetDataFileInfoPage() throws Exception {
+        MetadataDTO metadata = new MetadataDTO();
+        metadata.setCatalogId(catalogId);
+        metadata.setDatabaseName(databaseName);
+        metadata.setTableName(tableName);
+        metadata.setOffset(1L);
+        metadata.setLimit(1);
+
+        String response =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(METADATA_PATH + "/dataFile")
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(metadata))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andDo(MockMvcResultHandlers.print())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+
+        R<List<DataFileVO>> result =
+                ObjectMapperUtils.fromJSON(response, new TypeReference<R<List<DataFileVO>>>() {});
+        assertEquals(200, result.getCode());
+        assertEquals(1, result.getData().size());
+        assertEquals("[2023-10-11 00:00:00]", result.getData().get(0).getPartition());
+    }
+
+    @Test
+    public void testGetDataFileInfoWithProjectionAndFilter() throws Exception {
+        MetadataDTO metadata = new MetadataDTO();
+        metadata.setCatalogId(catalogId);
+        metadata.setDatabaseName(databaseName);
+        metadata.setTableName(tableName);
+        metadata.setColumns(Lists.newArrayList("file_path", "level"));
+        metadata.setPartition("[2023-10-11 00:00:00]");
+        metadata.setLevel(0);
+
+        String response =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(METADATA_PATH + "/dataFile")
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(metadata))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andDo(MockMvcResultHandlers.print())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+
+        R<List<DataFileVO>> result =
+                ObjectMapperUtils.fromJSON(response, new TypeReference<R<List<DataFileVO>>>() {});
+        assertEquals(200, result.getCode());
+        assertEquals(1, result.getData().size());
+
+        DataFileVO dataFileVO = result.getData().get(0);
+        CommitMessageImpl commitMessage = (CommitMessageImpl) messages.get(1);
+        assertEquals(
+                commitMessage.newFilesIncrement().newFiles().get(0).fileName(),
+                dataFileVO.getFilePath());
+        assertEquals(0, dataFileVO.getLevel());
+        assertEquals("[2023-10-11 00:00:00]", dataFileVO.getPartition());
+        assertNull(dataFileVO.getRecordCount());
+        assertNull(dataFileVO.getCreationTime());
+    }
+
+    @Test
+    public void testGetSnapshotInfoWithSnapshotRange() throws Exception {
+        MetadataDTO metadata = new MetadataDTO();
+        metadata.setCatalogId(catalogId);
+        metadata.setDatabaseName(databaseName);
+        metadata.setTableName(tableName);
+        metadata.setStartSnapshotId(2L);
+
+        String response =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(METADATA_PATH + "/snapshot")
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(metadata))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andDo(MockMvcResultHandlers.print())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+
+        R<List<SnapshotVO>> result =
+                ObjectMapperUtils.fromJSON(response, new TypeReference<R<List<SnapshotVO>>>() {});
+        assertEquals(200, result.getCode());
+        assertTrue(result.getData().isEmpty());
+    }
+
+    @Test
+    public void testStreamDataFileInfo() throws Exception {
+        MetadataDTO metadata = new MetadataDTO();
+        metadata.setCatalogId(catalogId);
+        metadata.setDatabaseName(databaseName);
+        metadata.setTableName(tableName);
+        metadata.setLimit(2);
+
+        MockHttpServletResponse response =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(METADATA_PATH + "/dataFile/stream")
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(metadata))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn()
+                        .getResponse();
+
+        assertTrue(
+                MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                        MediaType.parseMediaType(response.getContentType())));
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        List<String> actualPartitions = new ArrayList<>();
+        for (String line : lines) {
+            actualPartitions.add(ObjectMapperUtils.fromJSON(line, DataFileVO.class).getPartition());
+        }
+        assertEquals(
+                Lists.newArrayList("[2023-12-04 00:00:00]", "[2023-10-11 00:00:00]"),
+                actualPartitions);
+    }
+
+    @Test
+    public void testConcurrentMetadataQueries() throws Exception {
+        MetadataDTO metadata = new MetadataDTO();
+        metadata.setCatalogId(catalogId);
+        metadata.setDatabaseName(databaseName);
+        metadata.setTableName(tableName);
+        String content = ObjectMapperUtils.toJSON(metadata);
+
+        List<String> endpoints =
+                Lists.newArrayList("/schema", "/snapshot", "/manifest", "/dataFile", "/options");
+        Map<String, String> expected = new HashMap<>();
+        for (String endpoint : endpoints) {
+            expected.put(endpoint, queryMetadata(endpoint, content));
+        }
+
+        int threads = 4;
+        int rounds = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int offset = i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    start.await();
+                                    for (int j = 0; j < rounds * endpoints.size(); j++) {
+                                        String endpoint =
+                                                endpoints.get((offset + j) % endpoints.size());
+                                        assertEquals(
+                                                expected.get(endpoint),
+                                                queryMetadata(endpoint, content));
+                                    }
+                                    return null;
+                                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String queryMetadata(String endpoint, String content) throws Exception {
+        return mockMvc.perform(
+                        MockMvcRequestBuilders.post(METADATA_PATH + endpoint)
+                                .cookie(cookie)
+                                .content(content)
+                                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
 }
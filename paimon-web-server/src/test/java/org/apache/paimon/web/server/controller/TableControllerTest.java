@@ -18,13 +18,20 @@
 
 package org.apache.paimon.web.server.controller;
 
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.api.catalog.PaimonServiceFactory;
+import org.apache.paimon.web.api.table.metadata.ColumnMetadata;
+import org.apache.paimon.web.api.table.metadata.TableMetadata;
 import org.apache.paimon.web.server.data.dto.AlterTableDTO;
 import org.apache.paimon.web.server.data.dto.CatalogDTO;
 import org.apache.paimon.web.server.data.dto.DatabaseDTO;
+import org.apache.paimon.web.server.data.dto.TableChangeDTO;
 import org.apache.paimon.web.server.data.dto.TableDTO;
 import org.apache.paimon.web.server.data.model.CatalogInfo;
 import org.apache.paimon.web.server.data.model.TableColumn;
 import org.apache.paimon.web.server.data.result.R;
+import org.apache.paimon.web.server.data.vo.AlterTableResultVO;
 import org.apache.paimon.web.server.data.vo.TableVO;
 import org.apache.paimon.web.server.util.ObjectMapperUtils;
 import org.apache.paimon.web.server.util.PaimonDataType;
@@ -43,6 +50,7 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -50,6 +58,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /** Test for {@link TableController}. */
 public class TableControllerTest extends ControllerTestBase {
@@ -494,6 +506,117 @@ public class TableControllerTest extends ControllerTestBase {
         assertEquals(200, r.getCode());
     }
 
+    @Test
+    public void testBatchAlterTables() throws Exception {
+        TableColumn address =
+                TableColumn.builder()
+                        .field("address")
+                        .dataType(PaimonDataType.builder().type("STRING").build())
+                        .comment("")
+                        .defaultValue("")
+                        .build();
+        List<TableChangeDTO> tableChanges =
+                Arrays.asList(
+                        tableChange(TableChangeDTO.Type.DROP_COLUMN).columnName("name").build(),
+                        tableChange(TableChangeDTO.Type.ADD_COLUMN).column(address).build(),
+                        tableChange(TableChangeDTO.Type.RENAME_COLUMN)
+                                .columnName("age")
+                                .newColumnName("age1")
+                                .build(),
+                        tableChange(TableChangeDTO.Type.REMOVE_OPTION).key("bucket").build(),
+                        tableChange(TableChangeDTO.Type.DROP_COLUMN)
+                                .tableName("missing_table")
+                                .columnName("name")
+                                .build());
+
+        String responseString =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(tablePath + "/batch")
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(tableChanges))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andDo(MockMvcResultHandlers.print())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+
+        R<List<AlterTableResultVO>> r =
+                ObjectMapperUtils.fromJSON(
+                        responseString, new TypeReference<R<List<AlterTableResultVO>>>() {});
+        assertEquals(200, r.getCode());
+        assertEquals(2, r.getData().size());
+
+        AlterTableResultVO altered = r.getData().get(0);
+        assertEquals(tableName, altered.getTableName());
+        assertEquals(4, altered.getChanges());
+        assertTrue(altered.getSuccess());
+        assertNull(altered.getError());
+
+        AlterTableResultVO missing = r.getData().get(1);
+        assertEquals("missing_table", missing.getTableName());
+        assertFalse(missing.getSuccess());
+        assertNotNull(missing.getError());
+
+        List<String> actualColumnNames =
+                getColumns().stream().map(TableColumn::getField).collect(Collectors.toList());
+        assertEquals(Arrays.asList("id", "age1", "create_time", "address"), actualColumnNames);
+    }
+
+    @Test
+    public void testBatchAlterTableCreatedExternally() throws Exception {
+        List<TableChangeDTO> tableChanges =
+                Collections.singletonList(
+                        tableChange(TableChangeDTO.Type.SET_OPTION)
+                                .tableName("external_table")
+                                .key("snapshot.num-retained.max")
+                                .value("50")
+                                .build());
+        assertFalse(batchAlterTables(tableChanges).get(0).getSuccess());
+
+        // A cached absence of the table must not fail the alteration.
+        PaimonService externalService = createExternalService();
+        externalService.createTable(
+                databaseName,
+                "external_table",
+                TableMetadata.builder()
+                        .columns(
+                                Collections.singletonList(
+                                        new ColumnMetadata("id", DataTypes.INT())))
+                        .build());
+        AlterTableResultVO altered = batchAlterTables(tableChanges).get(0);
+        assertTrue(altered.getSuccess());
+        assertEquals(
+                "50",
+                externalService
+                        .getTable(databaseName, "external_table")
+                        .options()
+                        .get("snapshot.num-retained.max"));
+        externalService.dropTable(databaseName, "external_table");
+    }
+
+    @Test
+    public void testBatchAlterTableDroppedExternally() throws Exception {
+        List<TableChangeDTO> tableChanges =
+                Collections.singletonList(
+                        tableChange(TableChangeDTO.Type.SET_OPTION)
+                                .key("snapshot.num-retained.max")
+                                .value("50")
+                                .build());
+        assertTrue(batchAlterTables(tableChanges).get(0).getSuccess());
+
+        // A cached existence of the table must not report the alteration as succeeded.
+        createExternalService().dropTable(databaseName, tableName);
+        AlterTableResultVO missing = batchAlterTables(tableChanges).get(0);
+        assertFalse(missing.getSuccess());
+        assertEquals(
+                String.format(
+                        "The table '%s' does not exist in the database '%s'.",
+                        tableName, databaseName),
+                missing.getError());
+    }
+
     @Test
     public void testRenameTable() throws Exception {
         String responseString =
@@ -579,6 +702,40 @@ public class TableControllerTest extends ControllerTestBase {
         assertEquals(4, r.getData().getColumns().size());
     }
 
+    private TableChangeDTO.TableChangeDTOBuilder tableChange(TableChangeDTO.Type type) {
+        return TableChangeDTO.builder()
+                .catalogName(catalogName)
+                .databaseName(databaseName)
+                .tableName(tableName)
+                .type(type);
+    }
+
+    private List<AlterTableResultVO> batchAlterTables(List<TableChangeDTO> tableChanges)
+            throws Exception {
+        String responseString =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post(tablePath + "/batch")
+                                        .cookie(cookie)
+                                        .content(ObjectMapperUtils.toJSON(tableChanges))
+                                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                        .andExpect(MockMvcResultMatchers.status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        R<List<AlterTableResultVO>> r =
+                ObjectMapperUtils.fromJSON(
+                        responseString, new TypeReference<R<List<AlterTableResultVO>>>() {});
+        assertEquals(200, r.getCode());
+        return r.getData();
+    }
+
+    /** Creates a service of the catalog warehouse that bypasses the cache of the server. */
+    private PaimonService createExternalService() {
+        return PaimonServiceFactory.createFileSystemCatalogService(
+                catalogName, tempFile.toUri().toString(), new HashMap<>());
+    }
+
     private List<TableColumn> getColumns() throws Exception {
         String contentAsString =
                 mockMvc.perform(
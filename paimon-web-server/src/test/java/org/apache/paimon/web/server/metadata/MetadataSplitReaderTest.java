@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.paimon.web.server.metadata;
+
+import org.apache.paimon.data.GenericRow;
+import org.apache.paimon.table.Table;
+import org.apache.paimon.table.sink.BatchTableCommit;
+import org.apache.paimon.table.sink.BatchTableWrite;
+import org.apache.paimon.table.sink.BatchWriteBuilder;
+import org.apache.paimon.table.source.ReadBuilder;
+import org.apache.paimon.table.source.Split;
+import org.apache.paimon.types.DataTypes;
+import org.apache.paimon.utils.CloseableIterator;
+import org.apache.paimon.web.api.catalog.PaimonService;
+import org.apache.paimon.web.api.catalog.PaimonServiceFactory;
+import org.apache.paimon.web.api.table.metadata.ColumnMetadata;
+import org.apache.paimon.web.api.table.metadata.TableMetadata;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Tests for {@link MetadataSplitReader}. */
+public class MetadataSplitReaderTest {
+
+    private static final String DATABASE = "paimon_database";
+
+    private static final String TABLE = "paimon_table";
+
+    private static final int ROWS = 1000;
+
+    @TempDir private Path tempFile;
+
+    private PaimonService paimonService;
+
+    private MetadataSplitReader splitReader;
+
+    private ReadBuilder readBuilder;
+
+    private List<Split> splits;
+
+    @BeforeEach
+    public void before() throws Exception {
+        paimonService =
+                PaimonServiceFactory.createFileSystemCatalogService(
+                        "paimon", tempFile.toUri().toString(), new HashMap<>());
+        paimonService.createDatabase(DATABASE);
+        TableMetadata tableMetadata =
+                TableMetadata.builder()
+                        .columns(
+                                Lists.newArrayList(
+                                        new ColumnMetadata("id", DataTypes.INT().notNull()),
+                                        new ColumnMetadata("name", DataTypes.STRING())))
+                        .primaryKeys(Lists.newArrayList("id"))
+                        .options(ImmutableMap.of("bucket", "8"))
+                        .build();
+        paimonService.createTable(DATABASE, TABLE, tableMetadata);
+
+        Table table = paimonService.getTable(DATABASE, TABLE);
+        BatchWriteBuilder writeBuilder = table.newBatchWriteBuilder();
+        try (BatchTableWrite write = writeBuilder.newWrite();
+                BatchTableCommit commit = writeBuilder.newCommit()) {
+            for (int i = 0; i < ROWS; i++) {
+                write.write(GenericRow.of(i, null));
+            }
+            commit.commit(write.prepareCommit());
+        }
+
+        readBuilder = table.newReadBuilder();
+        splits = readBuilder.newScan().plan().splits();
+        splitReader = new MetadataSplitReader(4, 4);
+    }
+
+    @AfterEach
+    public void after() throws Exception {
+        splitReader.destroy();
+        paimonService.close();
+    }
+
+    @Test
+    public void testOrderedRead() throws Exception {
+        assertTrue(splits.size() > 1);
+
+        List<Integer> expected = readIds(1, true);
+        List<Integer> actual = readIds(4, true);
+
+        assertEquals(ROWS, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testUnorderedRead() throws Exception {
+        List<Integer> expected = readIds(1, true);
+        List<Integer> actual = readIds(4, false);
+
+        assertEquals(ROWS, actual.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+
+    @Test
+    public void testMapperDropsRows() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (CloseableIterator<Integer> rows =
+                splitReader.read(
+                        readBuilder,
+                        splits,
+                        4,
+                        false,
+                        row -> row.getInt(0) % 2 == 0 ? row.getInt(0) : null)) {
+            rows.forEachRemaining(ids::add);
+        }
+        assertEquals(ROWS / 2, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id % 2 == 0));
+    }
+
+    @Test
+    public void testCloseEarly() throws Exception {
+        for (boolean ordered : new boolean[] {true, false}) {
+            try (CloseableIterator<Integer> rows =
+                    splitReader.read(readBuilder, splits, 4, ordered, row -> row.getInt(0))) {
+                assertTrue(rows.hasNext());
+                rows.next();
+            }
+        }
+        // The pool is still usable after readers were cancelled.
+        assertEquals(ROWS, readIds(4, true).size());
+    }
+
+    @Test
+    public void testMapperFailure() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> {
+                    try (CloseableIterator<Integer> rows =
+                            splitReader.read(
+                                    readBuilder,
+                                    splits,
+                                    4,
+                                    true,
+                                    row -> {
+                                        throw new IllegalStateException("Broken row.");
+                                    })) {
+                        rows.forEachRemaining(id -> {});
+                    }
+                });
+    }
+
+    @Test
+    public void testStopStalledConsumer() throws Exception {
+        MetadataSplitReader stalledReader = new MetadataSplitReader(2, 2, 200, 4);
+        try {
+            for (boolean ordered : new boolean[] {true, false}) {
+                CloseableIterator<Integer> rows =
+                        stalledReader.read(readBuilder, splits, 2, ordered, row -> row.getInt(0));
+                assertTrue(rows.hasNext());
+                Thread.sleep(1000);
+
+                // The stalled readers released their threads, so another read completes.
+                List<Integer> ids = new ArrayList<>();
+                try (CloseableIterator<Integer> other =
+                        stalledReader.read(readBuilder, splits, 2, true, row -> row.getInt(0))) {
+                    other.forEachRemaining(ids::add);
+                }
+                assertEquals(ROWS, ids.size());
+
+                assertThrows(IllegalStateException.class, () -> rows.forEachRemaining(id -> {}));
+                rows.close();
+            }
+        } finally {
+            stalledReader.destroy();
+        }
+    }
+
+    @Test
+    public void testSlowConsumerOfOneSplitNotStopped() throws Exception {
+        MetadataSplitReader slowReader = new MetadataSplitReader(2, 2, 200, 4);
+        try {
+            List<Integer> ids = new ArrayList<>();
+            try (CloseableIterator<Integer> rows =
+                    slowReader.read(readBuilder, splits, 2, true, row -> row.getInt(0))) {
+                // Drains split 0 for longer than the timeout while the queue of split 1 is full.
+                for (int i = 0; i < 30; i++) {
+                    assertTrue(rows.hasNext());
+                    ids.add(rows.next());
+                    Thread.sleep(20);
+                }
+                rows.forEachRemaining(ids::add);
+            }
+            assertEquals(ROWS, ids.size());
+        } finally {
+            slowReader.destroy();
+        }
+    }
+
+    private List<Integer> readIds(int parallelism, boolean ordered) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        try (CloseableIterator<Integer> rows =
+                splitReader.read(readBuilder, splits, parallelism, ordered, row -> row.getInt(0))) {
+            rows.forEachRemaining(ids::add);
+        }
+        return ids;
+    }
+}
@@ -142,6 +142,27 @@ CREATE TABLE if not exists `cdc_job_definition`
     unique (`name`)
 ) engine = innodb;
 
+DROP TABLE IF EXISTS `ddl_job`;
+CREATE TABLE if not exists `ddl_job`
+(
+    id            int                                not null comment 'id'
+        primary key,
+    catalog_id    int                                not null comment 'catalog id',
+    catalog_name  varchar(100)                       null comment 'catalog name',
+    job_type      varchar(50)                        not null comment 'job type',
+    database_name varchar(100)                       not null comment 'database name',
+    table_name    varchar(100)                       null comment 'table name',
+    content       text                               null comment 'job request',
+    status        varchar(20)                        not null comment 'job status',
+    progress      int      default 0                 not null comment 'finished steps',
+    total         int      default 0                 not null comment 'total steps',
+    message       text                               null comment 'error message',
+    start_time    datetime                           null comment 'start time',
+    end_time      datetime                           null comment 'end time',
+    create_time   datetime default CURRENT_TIMESTAMP null comment 'create time',
+    update_time   datetime default CURRENT_TIMESTAMP null comment 'update time'
+) engine = innodb;
+
 INSERT INTO `user` ( id, username, password, nickname, mobile
                    , email, enabled, is_delete)
 VALUES ( 1, 'admin', '21232f297a57a5a743894a0e4a801fc3', 'Admin', 0